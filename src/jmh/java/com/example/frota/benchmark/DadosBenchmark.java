@@ -0,0 +1,87 @@
+package com.example.frota.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.example.frota.caixa.Caixa;
+import com.example.frota.caminhao.Caminhao;
+import com.example.frota.cliente.Cliente;
+import com.example.frota.transportadora.Transportadora;
+import com.example.frota.transporte.StatusEntrega;
+import com.example.frota.transporte.Transporte;
+
+/**
+ * Massa de dados determinística (semente fixa) para os benchmarks
+ */
+public final class DadosBenchmark {
+
+    private DadosBenchmark() {
+    }
+
+    public static List<Transportadora> transportadoras(int quantidade) {
+        Random random = new Random(7);
+        List<Transportadora> lista = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            lista.add(Transportadora.builder()
+                    .id((long) i + 1)
+                    .nome(String.format("Transportadora %04d", i))
+                    .cnpj(String.format("%02d.%03d.%03d/0001-%02d", i % 100, i, i, i % 100))
+                    // Algumas sem tarifa própria, para exercitar as tarifas padrão
+                    .precoKm(i % 5 == 0 ? null : 3.0 + random.nextDouble() * 4)
+                    .valorPorCaixa(i % 7 == 0 ? null : 5.0 + random.nextDouble() * 10)
+                    .valorPorKilo(0.5 + random.nextDouble())
+                    .avaliacao(i % 3 == 0 ? null : 1.0 + random.nextDouble() * 4)
+                    .ativo(true)
+                    .build());
+        }
+        return lista;
+    }
+
+    public static List<Caminhao> caminhoes(int quantidade) {
+        Random random = new Random(11);
+        List<Caminhao> lista = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Caminhao caminhao = new Caminhao();
+            caminhao.setId((long) i + 1);
+            caminhao.setModelo("Modelo " + i);
+            caminhao.setPlaca(String.format("ABC%04d", i));
+            caminhao.setCargaMaxima(500 + random.nextInt(30_000));
+            caminhao.setComprimento(2 + random.nextDouble() * 12);
+            caminhao.setLargura(1.5 + random.nextDouble());
+            caminhao.setAltura(1.5 + random.nextDouble() * 2);
+            lista.add(caminhao);
+        }
+        return lista;
+    }
+
+    public static List<Transporte> transportes(int quantidade) {
+        Random random = new Random(13);
+        Caixa caixa = new Caixa(1L, "Papelão", 50.0, true, 0.6, 0.5, 0.8);
+        Cliente cliente = new Cliente();
+        cliente.setId(1L);
+        cliente.setNome("Cliente Benchmark");
+        Transportadora transportadora = transportadoras(1).get(0);
+
+        List<Transporte> lista = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Transporte transporte = new Transporte();
+            transporte.setId((long) i + 1);
+            transporte.setProduto("Produto " + i);
+            transporte.setCaixa(caixa);
+            transporte.setCliente(cliente);
+            transporte.setTransportadora(transportadora);
+            transporte.setComprimento(0.1 + random.nextDouble() * 0.5);
+            transporte.setLargura(0.1 + random.nextDouble() * 0.4);
+            transporte.setAltura(0.1 + random.nextDouble() * 0.5);
+            transporte.setPeso(1 + random.nextDouble() * 40);
+            transporte.setQuantidade(1 + random.nextInt(5));
+            transporte.setOrigem("Rua A, " + i + " - São Paulo - SP");
+            transporte.setDestino("Rua B, " + i + " - Campinas - SP");
+            transporte.setValorFrete(100 + random.nextDouble() * 900);
+            transporte.setStatusGeral(StatusEntrega.values()[i % StatusEntrega.values().length]);
+            lista.add(transporte);
+        }
+        return lista;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.frota.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Stubs de repositórios para rodar os benchmarks sem banco de dados.
+ * Cada método configurado devolve a resposta informada; os demais falham,
+ * para que um acesso inesperado ao repositório apareça no benchmark.
+ */
+public final class Stubs {
+
+    private Stubs() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T repositorio(Class<T> tipo, Map<String, Function<Object[], Object>> respostas) {
+        return (T) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[] {tipo}, (proxy, metodo, args) -> {
+            Function<Object[], Object> resposta = respostas.get(metodo.getName());
+            if (resposta != null) {
+                return resposta.apply(args);
+            }
+            return switch (metodo.getName()) {
+                case "toString" -> "Stub(" + tipo.getSimpleName() + ")";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(
+                        tipo.getSimpleName() + "." + metodo.getName() + " não está disponível no benchmark");
+            };
+        });
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.frota.caixa;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Verificação de encaixe de produtos em uma caixa
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CaixaBenchmark {
+
+    private static final int PRODUTOS = 1024;
+
+    private Caixa caixa;
+    private double[][] produtos;
+
+    @Setup
+    public void preparar() {
+        caixa = new Caixa(1L, "Papelão", 30.0, true, 0.5, 0.4, 0.6);
+        Random random = new Random(3);
+        produtos = new double[PRODUTOS][];
+        for (int i = 0; i < PRODUTOS; i++) {
+            // Metade cabe, metade não: evita que o preditor de desvio acerte sempre
+            produtos[i] = new double[] {random.nextDouble() * 0.8, random.nextDouble() * 0.6,
+                    random.nextDouble() * 0.7, random.nextDouble() * 45};
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PRODUTOS)
+    public void cabeProduto(Blackhole bh) {
+        for (double[] p : produtos) {
+            bh.consume(caixa.cabeProduto(p[0], p[1], p[2], p[3]));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.frota.motorista;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Busca dos k motoristas disponíveis mais próximos no índice em memória, com os
+ * motoristas espalhados pelo estado de São Paulo.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndiceMotoristasBenchmark {
+
+    @Param({"10000"})
+    public int motoristas;
+
+    @Param({"5"})
+    public int k;
+
+    private IndiceMotoristasDisponiveis indice;
+    private Random random;
+
+    @Setup
+    public void preparar() {
+        indice = new IndiceMotoristasDisponiveis();
+        random = new Random(42);
+        for (long id = 1; id <= motoristas; id++) {
+            indice.marcarDisponivel(id, -25.0 + random.nextDouble() * 5, -53.0 + random.nextDouble() * 9);
+        }
+    }
+
+    @Benchmark
+    public List<IndiceMotoristasDisponiveis.Vizinho> proximos() {
+        return indice.proximos(-25.0 + random.nextDouble() * 5, -53.0 + random.nextDouble() * 9, k, 500);
+    }
+
+    @Benchmark
+    public void atualizarPosicao() {
+        long id = 1 + random.nextInt(motoristas);
+        indice.atualizarPosicao(id, -25.0 + random.nextDouble() * 5, -53.0 + random.nextDouble() * 9);
+    }
+}
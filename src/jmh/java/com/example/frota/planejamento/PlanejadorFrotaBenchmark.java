@@ -0,0 +1,59 @@
+package com.example.frota.planejamento;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.frota.benchmark.DadosBenchmark;
+import com.example.frota.caminhao.Caminhao;
+import com.example.frota.transporte.Transporte;
+
+/**
+ * Divisão de N transportes entre 50 caminhões, todos os candidatos até o fim (prazo folgado)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlanejadorFrotaBenchmark {
+
+    @Param({"100", "500"})
+    public int transportes;
+
+    private PlanejadorFrota planejador;
+    private List<Caminhao> caminhoes;
+    private List<Transporte> lote;
+
+    @Setup
+    public void preparar() {
+        caminhoes = DadosBenchmark.caminhoes(50);
+        lote = DadosBenchmark.transportes(transportes);
+        planejador = new PlanejadorFrota();
+        planejador.inicializar();
+    }
+
+    @TearDown
+    public void encerrar() {
+        planejador.encerrar();
+    }
+
+    @Benchmark
+    public PlanejadorFrota.Solucao planejar() {
+        return planejador.planejar(lote, caminhoes, caminhoes.size(), Duration.ofSeconds(30));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.frota.planejamento;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.frota.benchmark.DadosBenchmark;
+import com.example.frota.benchmark.Stubs;
+import com.example.frota.caminhao.Caminhao;
+import com.example.frota.caminhao.CaminhaoRepository;
+import com.example.frota.caminhao.IndiceCaminhoesDisponiveis;
+import com.example.frota.transporte.Transporte;
+import com.example.frota.transporte.TransporteRepository;
+import com.example.frota.transporte.TransporteService;
+
+/**
+ * Sugestão de caminhão e plano de carga (empacotamento 3D) para um lote de
+ * transportes com uma frota de N caminhões
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlanejamentoBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int caminhoes;
+
+    private PlanejamentoService planejamentoService;
+    private List<Long> transportesIds;
+
+    @Setup
+    public void preparar() {
+        List<Caminhao> frota = DadosBenchmark.caminhoes(caminhoes);
+        List<Transporte> transportes = DadosBenchmark.transportes(20);
+        transportesIds = LongStream.rangeClosed(1, transportes.size()).boxed().toList();
+
+        IndiceCaminhoesDisponiveis indiceCaminhoes = new IndiceCaminhoesDisponiveis();
+        ReflectionTestUtils.setField(indiceCaminhoes, "caminhaoRepository",
+                Stubs.repositorio(CaminhaoRepository.class, Map.of(
+                        "findDisponiveis", args -> frota,
+                        "marcarEmViagemPelasViagens", args -> 0,
+                        "liberarSemViagem", args -> 0)));
+        indiceCaminhoes.carregar();
+
+        TransporteService transporteService = new TransporteService();
+        ReflectionTestUtils.setField(transporteService, "transporteRepository",
+                Stubs.repositorio(TransporteRepository.class, Map.of("findAllByIdsWithCaixa", args -> transportes)));
+
+        planejamentoService = new PlanejamentoService();
+        ReflectionTestUtils.setField(planejamentoService, "indiceCaminhoes", indiceCaminhoes);
+        ReflectionTestUtils.setField(planejamentoService, "transporteService", transporteService);
+    }
+
+    @Benchmark
+    public Caminhao sugerirMelhorCaminhao() {
+        return planejamentoService.sugerirMelhorCaminhao(transportesIds);
+    }
+
+    @Benchmark
+    public PlanoCarga planejarCarga() {
+        return planejamentoService.planejarCarga(transportesIds);
+    }
+}
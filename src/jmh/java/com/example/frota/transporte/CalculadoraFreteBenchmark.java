@@ -0,0 +1,57 @@
+package com.example.frota.transporte;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.frota.rota.Rota;
+
+/**
+ * Custo de uma chamada do cálculo de frete. Rodar com {@code -prof gc}:
+ * o {@code gc.alloc.rate.norm} deve ficar em ~0 B/op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculadoraFreteBenchmark {
+
+    @Param({"100.0", "987.65"})
+    public double distanciaKm;
+
+    private Rota rota;
+    private TransporteService transporteService;
+    private double pesoReal;
+    private double pesoCubado;
+
+    @Setup
+    public void preparar() {
+        rota = new Rota(distanciaKm, 37.5);
+        transporteService = new TransporteService();
+        pesoReal = 12.5;
+        pesoCubado = 0.5 * 0.4 * 0.3 * 300;
+    }
+
+    @Benchmark
+    public long calcularCentavos() {
+        return CalculadoraFrete.calcularCentavos(pesoReal, pesoCubado, 3, rota.distanciaKm(), rota.pedagio(),
+                5.0, 10.0, 1.0);
+    }
+
+    @Benchmark
+    public double calcularFreteServico() {
+        return transporteService.calcularFrete(pesoReal, pesoCubado, 3, rota, 5.0, 10.0, 1.0);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.frota.transporte;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.example.frota.benchmark.DadosBenchmark;
+import com.example.frota.benchmark.Stubs;
+import com.example.frota.rota.Rota;
+import com.example.frota.rota.RotaService;
+import com.example.frota.transportadora.Transportadora;
+import com.example.frota.transportadora.TransportadoraRepository;
+
+/**
+ * Cotação de frete com N transportadoras ativas (repositório e rota em memória)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CotacaoFreteBenchmark {
+
+    @Param({"10", "40", "200"})
+    public int transportadoras;
+
+    private TransporteService transporteService;
+    private TarifarioTransportadoras tarifario;
+
+    @Setup
+    public void preparar() {
+        List<Transportadora> ativas = DadosBenchmark.transportadoras(transportadoras);
+        TransportadoraRepository repositorio = Stubs.repositorio(TransportadoraRepository.class,
+                Map.of("findAllActiveOrderByNome", args -> ativas));
+
+        tarifario = new TarifarioTransportadoras();
+        ReflectionTestUtils.setField(tarifario, "transportadoraRepository", repositorio);
+        tarifario.reconstruir();
+
+        Rota rota = new Rota(432.1, 57.3);
+        RotaService rotaService = new RotaService() {
+            @Override
+            public Rota calcular(String origem, String destino) {
+                return rota;
+            }
+        };
+
+        transporteService = new TransporteService();
+        ReflectionTestUtils.setField(transporteService, "rotaService", rotaService);
+        ReflectionTestUtils.setField(transporteService, "tarifario", tarifario);
+        ReflectionTestUtils.setField(transporteService, "metricasCotacao", new MetricasCotacao(new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    public List<TransportadoraFreteDto> procurarDisponiveis() {
+        return transporteService.procurarDisponiveis(12.5, 0.6, 0.4, 0.5, 3,
+                "Av. Paulista, 1000 - São Paulo - SP", "Rua XV de Novembro, 50 - Curitiba - PR");
+    }
+
+    @Benchmark
+    public TabelaTarifas reconstruirTarifas() {
+        return tarifario.reconstruir();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.frota.transporte;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.frota.benchmark.DadosBenchmark;
+
+/**
+ * Mapeamento em memória de entidades Transporte para DetalheTransporteDto.
+ * A comparação com a leitura por projeção está em {@link LeituraTransporteBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DetalheTransporteBenchmark {
+
+    @Param({"100", "10000"})
+    public int transportes;
+
+    private List<Transporte> lista;
+
+    @Setup
+    public void preparar() {
+        lista = DadosBenchmark.transportes(transportes);
+    }
+
+    @Benchmark
+    public DetalheTransporteDto mapearUm() {
+        return new DetalheTransporteDto(lista.get(0));
+    }
+
+    @Benchmark
+    public List<DetalheTransporteDto> mapearLista() {
+        return lista.stream().map(DetalheTransporteDto::new).toList();
+    }
+}
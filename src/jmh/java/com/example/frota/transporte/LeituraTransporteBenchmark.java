@@ -0,0 +1,123 @@
+package com.example.frota.transporte;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.frota.FrotaApplication;
+import com.example.frota.benchmark.DadosBenchmark;
+import com.example.frota.caixa.Caixa;
+import com.example.frota.caixa.CaixaRepository;
+import com.example.frota.cliente.Cliente;
+import com.example.frota.cliente.ClienteRepository;
+import com.example.frota.transportadora.Transportadora;
+import com.example.frota.transportadora.TransportadoraRepository;
+
+/**
+ * Leitura da listagem de transportes no banco (H2 em memória): entidades com
+ * JOIN FETCH mapeadas para DTO (como era) contra a projeção direta no DTO.
+ * Linhas por segundo = linhas / tempo por operação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeituraTransporteBenchmark {
+
+    @Param({"1000", "10000"})
+    public int linhas;
+
+    private ConfigurableApplicationContext contexto;
+    private TransporteRepository transporteRepository;
+    private TransactionTemplate transacao;
+
+    @Setup
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(FrotaApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:leitura;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                     "--spring.datasource.username=sa",
+                     "--spring.datasource.password=",
+                     "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                     "--spring.jpa.hibernate.ddl-auto=create-drop",
+                     "--spring.jpa.properties.hibernate.generate_statistics=false",
+                     "--google.maps.api.key=",
+                     "--frota.rota.provedor=local",
+                     "--logging.level.root=WARN");
+        transporteRepository = contexto.getBean(TransporteRepository.class);
+        transacao = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        transacao.setReadOnly(true);
+        popular();
+    }
+
+    private void popular() {
+        Caixa caixa = contexto.getBean(CaixaRepository.class)
+                .save(new Caixa(null, "Papelão", 50.0, true, 0.6, 0.5, 0.8));
+
+        List<Cliente> clientes = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Cliente cliente = new Cliente();
+            cliente.setNome("Cliente " + i);
+            cliente.setAtivo(true);
+            clientes.add(cliente);
+        }
+        clientes = contexto.getBean(ClienteRepository.class).saveAll(clientes);
+
+        List<Transportadora> transportadoras = DadosBenchmark.transportadoras(20);
+        transportadoras.forEach(t -> t.setId(null));
+        transportadoras = contexto.getBean(TransportadoraRepository.class).saveAll(transportadoras);
+
+        List<Transporte> transportes = DadosBenchmark.transportes(linhas);
+        for (int i = 0; i < transportes.size(); i++) {
+            Transporte transporte = transportes.get(i);
+            transporte.setId(null);
+            transporte.setCaixa(caixa);
+            transporte.setCliente(clientes.get(i % clientes.size()));
+            transporte.setTransportadora(transportadoras.get(i % transportadoras.size()));
+        }
+        transporteRepository.saveAll(transportes);
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<DetalheTransporteDto> listarEntidades() {
+        return transacao.execute(status -> transporteRepository.findAllWithCaixa().stream()
+                .map(DetalheTransporteDto::new)
+                .toList());
+    }
+
+    @Benchmark
+    public List<DetalheTransporteDto> listarProjecao() {
+        return transacao.execute(status -> transporteRepository.findAllDetalhes());
+    }
+
+    @Benchmark
+    public List<DetalheTransporteDto> paginaProjecao() {
+        return transacao.execute(status -> transporteRepository.findPagina(linhas / 2, null, null, null, Limit.of(50)));
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.frota.acompanhamento;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.frota.cliente.ClienteService;
+import com.example.frota.errors.RastreamentoSobrecarregadoException;
+import com.example.frota.transporte.TransporteService;
+
+/**
+ * Acompanhamento em tempo real (Server-Sent Events). Eventos enviados:
+ * {@code status} (mudança de status do transporte) e {@code posicao}
+ * (posição do motorista durante a viagem).
+ */
+@RestController
+@RequestMapping("/acompanhamento")
+public class AcompanhamentoController {
+
+    @Autowired
+    private CentralAcompanhamento centralAcompanhamento;
+
+    @Autowired
+    private TransporteService transporteService;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    // /acompanhamento/transporte/{id}
+    @GetMapping(value = "/transporte/{id}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> acompanharTransporte(@PathVariable Long id) {
+        if (!transporteService.existe(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(centralAcompanhamento.assinarTransporte(id));
+        } catch (RastreamentoSobrecarregadoException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").build();
+        }
+    }
+
+    // /acompanhamento/cliente/{id} - Todos os transportes do cliente
+    @GetMapping(value = "/cliente/{id}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> acompanharCliente(@PathVariable Long id) {
+        if (clienteService.buscarPorId(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(centralAcompanhamento.assinarCliente(id));
+        } catch (RastreamentoSobrecarregadoException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").build();
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package com.example.frota.acompanhamento;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.frota.errors.RastreamentoSobrecarregadoException;
+import com.example.frota.motorista.IngestaoPosicoes;
+import com.example.frota.motorista.PosicaoMotorista;
+import com.example.frota.transporte.StatusTransporteAlteradoEvent;
+import com.example.frota.viagem.TransporteEmCursoDto;
+import com.example.frota.viagem.ViagemRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Distribui por Server-Sent Events as mudanças de status dos transportes e a
+ * posição dos motoristas para quem acompanha um transporte ou todos os
+ * transportes de um cliente.
+ *
+ * <p>As conexões ociosas não ocupam threads (requisição assíncrona do servlet).
+ * A thread da central só decide o que enviar e enfileira para cada assinante; a
+ * escrita sai de um pool limitado, com no máximo um envio em curso por conexão,
+ * então um cliente lento não atrasa os demais nem quem alterou o status. Conexão
+ * com envio parado há mais de {@code frota.acompanhamento.envio.timeout} ou com
+ * mais de {@code frota.acompanhamento.envio.max-pendentes} mensagens na fila é
+ * encerrada (o cliente reconecta). As posições são enviadas no máximo uma vez a
+ * cada {@code frota.acompanhamento.intervalo-posicao}, e só quando o motorista
+ * mandou uma posição nova.
+ */
+@Component
+public class CentralAcompanhamento {
+    private static final Logger logger = LoggerFactory.getLogger(CentralAcompanhamento.class);
+
+    // Acima disso a consulta filtrada por transporte perde para a consulta completa
+    private static final int MAX_IDS_CONSULTA = 1000;
+
+    private static final long OCIOSO = Long.MIN_VALUE;
+
+    @Autowired
+    private ViagemRepository viagemRepository;
+
+    @Autowired
+    private IngestaoPosicoes ingestaoPosicoes;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${frota.acompanhamento.intervalo-posicao:PT5S}")
+    private Duration intervaloPosicao;
+
+    @Value("${frota.acompanhamento.heartbeat:PT25S}")
+    private Duration intervaloHeartbeat;
+
+    @Value("${frota.acompanhamento.timeout:PT30M}")
+    private Duration timeout;
+
+    @Value("${frota.acompanhamento.max-conexoes:50000}")
+    private int maxConexoes;
+
+    @Value("${frota.acompanhamento.envio.threads:4}")
+    private int threadsEnvio;
+
+    @Value("${frota.acompanhamento.envio.fila:10000}")
+    private int filaEnvio;
+
+    @Value("${frota.acompanhamento.envio.timeout:PT10S}")
+    private Duration timeoutEnvio;
+
+    @Value("${frota.acompanhamento.envio.max-pendentes:32}")
+    private int maxPendentes;
+
+    private final Map<Long, Set<Assinante>> porTransporte = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Assinante>> porCliente = new ConcurrentHashMap<>();
+    private final AtomicInteger conexoes = new AtomicInteger();
+
+    // Só acessado pela thread da central
+    private final Map<Long, LocalDateTime> ultimaPosicaoEnviada = new HashMap<>();
+
+    private ScheduledExecutorService executor;
+    private ExecutorService envios;
+    private Counter eventosEnviados;
+    private Counter conexoesLentas;
+
+    @PostConstruct
+    void inicializar() {
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "acompanhamento");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger numeroThread = new AtomicInteger();
+        envios = new ThreadPoolExecutor(threadsEnvio, threadsEnvio, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(filaEnvio), r -> {
+                    Thread thread = new Thread(r, "acompanhamento-envio-" + numeroThread.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.scheduleWithFixedDelay(() -> executarComSeguranca(this::difundirPosicoes),
+                intervaloPosicao.toMillis(), intervaloPosicao.toMillis(), TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(() -> executarComSeguranca(this::enviarHeartbeat),
+                intervaloHeartbeat.toMillis(), intervaloHeartbeat.toMillis(), TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(() -> executarComSeguranca(this::desconectarLentos),
+                timeoutEnvio.toMillis(), timeoutEnvio.toMillis(), TimeUnit.MILLISECONDS);
+
+        Gauge.builder("frota.acompanhamento.conexoes", conexoes, AtomicInteger::get)
+                .description("Conexões SSE de acompanhamento abertas")
+                .register(meterRegistry);
+        eventosEnviados = Counter.builder("frota.acompanhamento.mensagens")
+                .description("Mensagens SSE enviadas, incluindo heartbeats")
+                .register(meterRegistry);
+        conexoesLentas = Counter.builder("frota.acompanhamento.conexoes.lentas")
+                .description("Conexões encerradas por envio parado ou fila de envio cheia")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+        porTransporte.values().forEach(assinantes -> assinantes.forEach(Assinante::desconectar));
+        porCliente.values().forEach(assinantes -> assinantes.forEach(Assinante::desconectar));
+        envios.shutdown();
+    }
+
+    /**
+     * Abre o acompanhamento de um transporte. Lança {@link RastreamentoSobrecarregadoException}
+     * se o limite de conexões foi atingido.
+     */
+    public SseEmitter assinarTransporte(Long transporteId) {
+        return assinar(porTransporte, transporteId);
+    }
+
+    /**
+     * Abre o acompanhamento de todos os transportes do cliente
+     */
+    public SseEmitter assinarCliente(Long clienteId) {
+        return assinar(porCliente, clienteId);
+    }
+
+    public int conexoesAbertas() {
+        return conexoes.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarStatus(StatusTransporteAlteradoEvent evento) {
+        if (conexoes.get() == 0) {
+            return;
+        }
+        executor.execute(() -> executarComSeguranca(() -> difundirStatus(evento)));
+    }
+
+    private SseEmitter assinar(Map<Long, Set<Assinante>> assinaturas, Long chave) {
+        if (conexoes.incrementAndGet() > maxConexoes) {
+            conexoes.decrementAndGet();
+            throw new RastreamentoSobrecarregadoException("Limite de conexões de acompanhamento atingido");
+        }
+        SseEmitter emitter = novoEmitter();
+        Assinante assinante = new Assinante(emitter, assinaturas, chave);
+        assinaturas.compute(chave, (c, assinantes) -> {
+            Set<Assinante> conjunto = assinantes != null ? assinantes : ConcurrentHashMap.newKeySet();
+            conjunto.add(assinante);
+            return conjunto;
+        });
+
+        emitter.onCompletion(assinante::remover);
+        emitter.onTimeout(assinante::remover);
+        emitter.onError(erro -> assinante.remover());
+        return emitter;
+    }
+
+    // Separado para os testes observarem os envios e disparar os callbacks do emitter
+    SseEmitter novoEmitter() {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    void difundirStatus(StatusTransporteAlteradoEvent evento) {
+        SseEmitter.SseEventBuilder mensagem = SseEmitter.event()
+                .name("status")
+                .data(evento, MediaType.APPLICATION_JSON);
+        enviar(porTransporte.get(evento.transporteId()), mensagem);
+        if (evento.clienteId() != null) {
+            enviar(porCliente.get(evento.clienteId()), mensagem);
+        }
+    }
+
+    void difundirPosicoes() {
+        if (porTransporte.isEmpty() && porCliente.isEmpty()) {
+            ultimaPosicaoEnviada.clear();
+            return;
+        }
+        // Sem assinantes por cliente, basta consultar os transportes assinados
+        List<TransporteEmCursoDto> emCurso = porCliente.isEmpty() && porTransporte.size() <= MAX_IDS_CONSULTA
+                ? viagemRepository.findTransportesEmCursoPorIds(List.copyOf(porTransporte.keySet()))
+                : viagemRepository.findTransportesEmCurso();
+        Map<Long, Optional<PosicaoMotorista>> novas = new HashMap<>();
+        for (TransporteEmCursoDto transporte : emCurso) {
+            Set<Assinante> doTransporte = porTransporte.get(transporte.transporteId());
+            Set<Assinante> doCliente = transporte.clienteId() != null ? porCliente.get(transporte.clienteId()) : null;
+            if (doTransporte == null && doCliente == null) {
+                continue;
+            }
+            Optional<PosicaoMotorista> posicao = novas.computeIfAbsent(transporte.motoristaId(), this::posicaoNaoEnviada);
+            if (posicao.isEmpty()) {
+                continue;
+            }
+            PosicaoMotorista atual = posicao.get();
+            SseEmitter.SseEventBuilder mensagem = SseEmitter.event()
+                    .name("posicao")
+                    .data(new PosicaoTransporteDto(transporte.transporteId(), atual.motoristaId(),
+                            atual.latitude(), atual.longitude(), atual.recebidaEm()), MediaType.APPLICATION_JSON);
+            enviar(doTransporte, mensagem);
+            enviar(doCliente, mensagem);
+        }
+        novas.forEach((motoristaId, posicao) ->
+                posicao.ifPresent(p -> ultimaPosicaoEnviada.put(motoristaId, p.recebidaEm())));
+    }
+
+    private Optional<PosicaoMotorista> posicaoNaoEnviada(Long motoristaId) {
+        PosicaoMotorista posicao = ingestaoPosicoes.ultimaPosicao(motoristaId);
+        if (posicao == null || posicao.recebidaEm().equals(ultimaPosicaoEnviada.get(motoristaId))) {
+            return Optional.empty();
+        }
+        return Optional.of(posicao);
+    }
+
+    // Comentário SSE periódico: mantém proxies abertos e descobre conexões já fechadas pelo cliente
+    private void enviarHeartbeat() {
+        SseEmitter.SseEventBuilder heartbeat = SseEmitter.event().comment("");
+        porTransporte.values().forEach(assinantes -> enviar(assinantes, heartbeat));
+        porCliente.values().forEach(assinantes -> enviar(assinantes, heartbeat));
+    }
+
+    void desconectarLentos() {
+        long limite = System.nanoTime() - timeoutEnvio.toNanos();
+        porTransporte.values().forEach(assinantes -> assinantes.forEach(a -> a.desconectarSeParadoDesde(limite)));
+        porCliente.values().forEach(assinantes -> assinantes.forEach(a -> a.desconectarSeParadoDesde(limite)));
+    }
+
+    private void enviar(Set<Assinante> assinantes, SseEmitter.SseEventBuilder mensagem) {
+        if (assinantes == null) {
+            return;
+        }
+        for (Assinante assinante : assinantes) {
+            assinante.enfileirar(mensagem);
+        }
+    }
+
+    private void executarComSeguranca(Runnable tarefa) {
+        try {
+            tarefa.run();
+        } catch (RuntimeException e) {
+            logger.warn("Falha no envio do acompanhamento: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Conexão de um assinante com sua fila de envio. Só quem detém {@code escrevendo}
+     * escreve ou conclui o emitter: o SseEmitter bloqueia o {@code complete} enquanto
+     * um {@code send} está em curso, e a thread da central não pode esperar por ele.
+     */
+    private final class Assinante {
+        private final SseEmitter emitter;
+        private final Map<Long, Set<Assinante>> assinaturas;
+        private final Long chave;
+        private final AtomicBoolean ativa = new AtomicBoolean(true);
+        private final Queue<SseEmitter.SseEventBuilder> fila = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendentes = new AtomicInteger();
+        private final AtomicBoolean escrevendo = new AtomicBoolean();
+        private volatile long enviandoDesde = OCIOSO;
+        private volatile boolean encerrado;
+
+        Assinante(SseEmitter emitter, Map<Long, Set<Assinante>> assinaturas, Long chave) {
+            this.emitter = emitter;
+            this.assinaturas = assinaturas;
+            this.chave = chave;
+        }
+
+        void enfileirar(SseEmitter.SseEventBuilder mensagem) {
+            if (encerrado) {
+                return;
+            }
+            if (pendentes.incrementAndGet() > maxPendentes) {
+                lenta("fila de envio cheia");
+                return;
+            }
+            fila.add(mensagem);
+            if (escrevendo.compareAndSet(false, true)) {
+                try {
+                    envios.execute(this::escrever);
+                } catch (RejectedExecutionException e) {
+                    escrevendo.set(false);
+                    lenta("pool de envio cheio");
+                }
+            }
+        }
+
+        private void escrever() {
+            while (true) {
+                SseEmitter.SseEventBuilder mensagem;
+                while (!encerrado && (mensagem = fila.poll()) != null) {
+                    pendentes.decrementAndGet();
+                    enviandoDesde = System.nanoTime();
+                    try {
+                        emitter.send(mensagem);
+                        eventosEnviados.increment();
+                    } catch (IOException | IllegalStateException e) {
+                        remover();
+                        emitter.completeWithError(e);
+                        return;
+                    } finally {
+                        enviandoDesde = OCIOSO;
+                    }
+                }
+                if (encerrado) {
+                    emitter.complete();
+                    return;
+                }
+                escrevendo.set(false);
+                // Encerrada ou com mensagem nova entre o fim do laço e a liberação
+                if (encerrado && escrevendo.compareAndSet(false, true)) {
+                    emitter.complete();
+                    return;
+                }
+                if (fila.isEmpty() || !escrevendo.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+
+        void desconectarSeParadoDesde(long limite) {
+            long desde = enviandoDesde;
+            if (desde != OCIOSO && desde - limite < 0) {
+                lenta("envio parado");
+            }
+        }
+
+        private void lenta(String motivo) {
+            if (!encerrado) {
+                conexoesLentas.increment();
+                logger.debug("Conexão de acompanhamento encerrada: {}", motivo);
+            }
+            desconectar();
+        }
+
+        // Fecha a conexão; com um envio em curso, quem escreve conclui o emitter quando ele voltar
+        void desconectar() {
+            remover();
+            if (escrevendo.compareAndSet(false, true)) {
+                emitter.complete();
+            }
+        }
+
+        // Tira das assinaturas e desconta a conexão uma única vez, qualquer que seja o motivo
+        void remover() {
+            encerrado = true;
+            fila.clear();
+            if (ativa.compareAndSet(true, false)) {
+                conexoes.decrementAndGet();
+                assinaturas.computeIfPresent(chave, (c, assinantes) -> {
+                    assinantes.remove(this);
+                    return assinantes.isEmpty() ? null : assinantes;
+                });
+            }
+        }
+    }
+}
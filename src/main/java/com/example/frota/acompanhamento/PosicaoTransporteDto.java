@@ -0,0 +1,15 @@
+package com.example.frota.acompanhamento;
+
+import java.time.LocalDateTime;
+
+/**
+ * Posição do motorista que leva o transporte, enviada no evento {@code posicao}
+ */
+public record PosicaoTransporteDto(
+        Long transporteId,
+        Long motoristaId,
+        double latitude,
+        double longitude,
+        LocalDateTime recebidaEm
+) {
+}
@@ -8,6 +8,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -20,7 +21,10 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 
 @Entity
-@Table(name = "caminhao")
+@Table(name = "caminhao", indexes = {
+    // Caminhões livres para planejamento e despacho
+    @Index(name = "idx_caminhao_em_viagem", columnList = "em_viagem")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -46,6 +50,11 @@ public class Caminhao {
 	private int ano;
     private double kmAtual = 0.0; 
 
+    // Verdadeiro entre registrarViagem e finalizarViagem. Só muda pelos UPDATEs condicionais
+    // do repositório (updatable = false): salvar o caminhão nunca sobrescreve uma reserva
+    @Column(name = "em_viagem", nullable = false, updatable = false, columnDefinition = "boolean default false")
+    private boolean emViagem = false;
+
 	public Caminhao(AtualizacaoCaminhao dados, Marca marca) {
 		this.modelo = dados.modelo();
 		this.placa = dados.placa();
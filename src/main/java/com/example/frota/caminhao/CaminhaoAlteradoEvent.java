@@ -0,0 +1,22 @@
+package com.example.frota.caminhao;
+
+/**
+ * Publicado quando um caminhão é cadastrado, alterado (inclusive a KM ao fim de uma viagem) ou apagado
+ */
+public record CaminhaoAlteradoEvent(
+        Long caminhaoId,
+        String placa,
+        Long marcaId,
+        String modelo,
+        double kmAtual,
+        boolean removido
+) {
+    public CaminhaoAlteradoEvent(Caminhao caminhao) {
+        this(caminhao.getId(), caminhao.getPlaca(), caminhao.getMarca() != null ? caminhao.getMarca().getId() : null,
+                caminhao.getModelo(), caminhao.getKmAtual(), false);
+    }
+
+    public static CaminhaoAlteradoEvent removido(Long caminhaoId) {
+        return new CaminhaoAlteradoEvent(caminhaoId, null, null, null, 0.0, true);
+    }
+}
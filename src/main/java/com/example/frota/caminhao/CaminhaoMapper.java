@@ -20,6 +20,7 @@ public interface CaminhaoMapper {
     
     // Converte DTO para Entity (para criação NOVA - ignora ID)
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "emViagem", ignore = true) // Só reservar/liberar alteram
     @Mapping(target = "marca", source = "marcaId", qualifiedByName = "idToMarca")
     @Mapping(target = "comprimento", source = "comprimento")
     @Mapping(target = "largura", source = "largura")
@@ -28,6 +29,7 @@ public interface CaminhaoMapper {
     
     // Atualiza Entity existente com dados do DTO
     @Mapping(target = "id", ignore = true) // Não atualiza ID
+    @Mapping(target = "emViagem", ignore = true)
     @Mapping(target = "marca", source = "marcaId", qualifiedByName = "idToMarca")
     void updateEntityFromDto(AtualizacaoCaminhao dto, @MappingTarget Caminhao caminhao);
     
@@ -1,6 +1,11 @@
 package com.example.frota.caminhao;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -8,4 +13,36 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public interface CaminhaoRepository extends JpaRepository<Caminhao, Long>{
 
+    /**
+     * Caminhões que não estão em nenhuma viagem em curso, já com a marca
+     */
+    @Query("SELECT c FROM Caminhao c LEFT JOIN FETCH c.marca WHERE c.emViagem = false")
+    List<Caminhao> findDisponiveis();
+
+    /**
+     * Marca o caminhão como em viagem só se ele estiver livre. Retorna 0 se outro despacho
+     * chegou antes: o UPDATE condicional na linha impede a reserva dupla.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Caminhao c SET c.emViagem = true WHERE c.id = :id AND c.emViagem = false")
+    int reservar(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Caminhao c SET c.emViagem = false WHERE c.id = :id AND c.emViagem = true")
+    int liberar(@Param("id") Long id);
+
+    /**
+     * Alinha em_viagem com as viagens não finalizadas (coluna nova ou ajuste manual no banco)
+     */
+    @Modifying
+    @Query("""
+            UPDATE Caminhao c SET c.emViagem = true WHERE c.emViagem = false
+            AND EXISTS (SELECT v.id FROM Viagem v WHERE v.caminhao = c AND v.finalizada = false)""")
+    int marcarEmViagemPelasViagens();
+
+    @Modifying
+    @Query("""
+            UPDATE Caminhao c SET c.emViagem = false WHERE c.emViagem = true
+            AND NOT EXISTS (SELECT v.id FROM Viagem v WHERE v.caminhao = c AND v.finalizada = false)""")
+    int liberarSemViagem();
 }
@@ -4,11 +4,13 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import jakarta.persistence.EntityNotFoundException;
 
+import com.example.frota.errors.CaminhaoIndisponivelException;
 import com.example.frota.marca.Marca;
 import com.example.frota.marca.MarcaService;
 
@@ -22,6 +24,12 @@ public class CaminhaoService {
 	
 	@Autowired
 	private CaminhaoMapper caminhaoMapper;
+
+	@Autowired
+	private IndiceCaminhoesDisponiveis indiceDisponiveis;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
 	
 	public Caminhao salvarOuAtualizar(AtualizacaoCaminhao dto) {
              Marca marca = marcaService.procurarPorId(dto.marcaId())
@@ -31,24 +39,51 @@ public class CaminhaoService {
                 .orElseThrow(() -> new EntityNotFoundException("Caminhão não encontrado com ID: " + dto.id()));
             caminhaoMapper.updateEntityFromDto(dto, existente);
             existente.setMarca(marca); 
-            return caminhaoRepository.save(existente);
+            indiceDisponiveis.invalidar();
+            return publicarAlteracao(caminhaoRepository.save(existente));
         } else {
             Caminhao novoCaminhao = caminhaoMapper.toEntityFromAtualizacao(dto);
             novoCaminhao.setMarca(marca);
             
-            return caminhaoRepository.save(novoCaminhao);
+            indiceDisponiveis.invalidar();
+            return publicarAlteracao(caminhaoRepository.save(novoCaminhao));
         }
     }
 
     public Caminhao salvarOuAtualizar(Caminhao caminhao) {
-        return caminhaoRepository.save(caminhao);
+        indiceDisponiveis.invalidar();
+        return publicarAlteracao(caminhaoRepository.save(caminhao));
+    }
+
+    private Caminhao publicarAlteracao(Caminhao caminhao) {
+        eventPublisher.publishEvent(new CaminhaoAlteradoEvent(caminhao));
+        return caminhao;
     }
 	
 	public List<Caminhao> procurarTodos(){
 		return caminhaoRepository.findAll(Sort.by("modelo").ascending());
 	}
+
+	/**
+	 * Marca o caminhão como em viagem. Lança {@link CaminhaoIndisponivelException} se ele já
+	 * estiver em outra; duas reservas simultâneas nunca passam juntas (UPDATE condicional).
+	 */
+	public void reservarParaViagem(Long id) {
+		if (caminhaoRepository.reservar(id) == 0) {
+			throw new CaminhaoIndisponivelException(id);
+		}
+		indiceDisponiveis.invalidar();
+	}
+
+	public void liberarDeViagem(Long id) {
+		caminhaoRepository.liberar(id);
+		indiceDisponiveis.invalidar();
+	}
+
 	public void apagarPorId (Long id) {
 		caminhaoRepository.deleteById(id);
+		indiceDisponiveis.invalidar();
+		eventPublisher.publishEvent(CaminhaoAlteradoEvent.removido(id));
 	}
 	
 	public Optional<Caminhao> procurarPorId(Long id) {
@@ -0,0 +1,161 @@
+package com.example.frota.caminhao;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Índice em memória dos caminhões livres ({@code em_viagem} falso), em dois vetores
+ * ordenados: por carga máxima e por volume do baú. A busca por caminhões que
+ * comportam uma carga acha por busca binária o primeiro de cada vetor que atende
+ * o requisito e percorre só o trecho menor.
+ *
+ * <p>Alterações de caminhão e a reserva/liberação por viagem chamam {@link #invalidar()};
+ * o índice é recarregado do banco na próxima consulta. Na subida, {@code em_viagem}
+ * é alinhado com as viagens não finalizadas.
+ */
+@Component
+public class IndiceCaminhoesDisponiveis {
+    private static final Logger logger = LoggerFactory.getLogger(IndiceCaminhoesDisponiveis.class);
+
+    private static final Comparator<Caminhao> POR_CARGA = Comparator.comparingDouble(Caminhao::getCargaMaxima)
+            .thenComparingDouble(IndiceCaminhoesDisponiveis::volume)
+            .thenComparing(Caminhao::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    @Autowired
+    private CaminhaoRepository caminhaoRepository;
+
+    private record Vetores(Caminhao[] porCarga, double[] cargas, Caminhao[] porVolume, double[] volumes) {
+    }
+
+    private volatile Vetores vetores = new Vetores(new Caminhao[0], new double[0], new Caminhao[0], new double[0]);
+    private volatile boolean desatualizado = true;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        int ajustados = caminhaoRepository.marcarEmViagemPelasViagens() + caminhaoRepository.liberarSemViagem();
+        if (ajustados > 0) {
+            logger.info("{} caminhões com em_viagem ajustado pelas viagens em curso", ajustados);
+        }
+        recarregar();
+        logger.info("Índice de caminhões disponíveis carregado com {} caminhões", vetores.porCarga().length);
+    }
+
+    /**
+     * Marca o índice para recarga. Dentro de uma transação marca também depois do commit,
+     * para que uma consulta concorrente não recarregue o estado anterior e o dê por atual.
+     */
+    public void invalidar() {
+        desatualizado = true;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    desatualizado = true;
+                }
+            });
+        }
+    }
+
+    /**
+     * Caminhões com carga máxima e volume do baú de pelo menos os valores pedidos, do menor
+     * excedente de carga para o maior (empate: menor volume)
+     */
+    public List<Caminhao> viaveis(double cargaMinima, double volumeMinimo) {
+        Vetores atual = atual();
+        int n = atual.porCarga().length;
+        int inicioCarga = primeiroMaiorOuIgual(atual.cargas(), cargaMinima);
+        int inicioVolume = primeiroMaiorOuIgual(atual.volumes(), volumeMinimo);
+
+        List<Caminhao> resultado = new ArrayList<>();
+        if (n - inicioCarga <= n - inicioVolume) {
+            for (int i = inicioCarga; i < n; i++) {
+                if (volume(atual.porCarga()[i]) >= volumeMinimo) {
+                    resultado.add(atual.porCarga()[i]);
+                }
+            }
+        } else {
+            for (int i = inicioVolume; i < n; i++) {
+                if (atual.porVolume()[i].getCargaMaxima() >= cargaMinima) {
+                    resultado.add(atual.porVolume()[i]);
+                }
+            }
+            resultado.sort(POR_CARGA);
+        }
+        return resultado;
+    }
+
+    /**
+     * O caminhão viável de menor carga máxima
+     */
+    public Optional<Caminhao> menorViavel(double cargaMinima, double volumeMinimo) {
+        Vetores atual = atual();
+        for (int i = primeiroMaiorOuIgual(atual.cargas(), cargaMinima); i < atual.porCarga().length; i++) {
+            if (volume(atual.porCarga()[i]) >= volumeMinimo) {
+                return Optional.of(atual.porCarga()[i]);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public List<Caminhao> disponiveis() {
+        return List.of(atual().porCarga());
+    }
+
+    private Vetores atual() {
+        if (desatualizado) {
+            recarregar();
+        }
+        return vetores;
+    }
+
+    private synchronized void recarregar() {
+        if (!desatualizado) {
+            return;
+        }
+        // Baixado antes da leitura: uma invalidação durante a carga força outra recarga
+        desatualizado = false;
+        Caminhao[] porCarga = caminhaoRepository.findDisponiveis().toArray(Caminhao[]::new);
+        Arrays.sort(porCarga, POR_CARGA);
+        Caminhao[] porVolume = porCarga.clone();
+        Arrays.sort(porVolume, Comparator.comparingDouble(IndiceCaminhoesDisponiveis::volume));
+
+        double[] cargas = new double[porCarga.length];
+        double[] volumes = new double[porVolume.length];
+        for (int i = 0; i < porCarga.length; i++) {
+            cargas[i] = porCarga[i].getCargaMaxima();
+            volumes[i] = volume(porVolume[i]);
+        }
+        vetores = new Vetores(porCarga, cargas, porVolume, volumes);
+    }
+
+    // Primeiro índice com valor >= minimo (o tamanho do vetor se não houver)
+    private static int primeiroMaiorOuIgual(double[] valores, double minimo) {
+        int baixo = 0;
+        int alto = valores.length;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (valores[meio] < minimo) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    static double volume(Caminhao caminhao) {
+        return caminhao.getComprimento() * caminhao.getLargura() * caminhao.getAltura();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.frota.config;
+
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executores usados pelos fluxos assíncronos da aplicação
+ */
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Pool para a cotação de frete assíncrona: resolve a rota, carrega as
+     * transportadoras e precifica os lotes de transportadoras em paralelo,
+     * liberando a thread do Tomcat enquanto isso
+     */
+    @Bean(name = "cotacaoExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor cotacaoExecutor(
+            @Value("${frota.cotacao.executor.threads:8}") int threads,
+            @Value("${frota.cotacao.executor.fila:500}") int fila) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(fila);
+        executor.setThreadNamePrefix("cotacao-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pool para otimizar os itinerários de várias viagens ao mesmo tempo
+     */
+    @Bean(name = "roteirizacaoExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor roteirizacaoExecutor(
+            @Value("${frota.roteirizacao.executor.threads:4}") int threads,
+            @Value("${frota.roteirizacao.executor.fila:200}") int fila) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(fila);
+        executor.setThreadNamePrefix("roteirizacao-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.frota.errors;
+
+public class CaminhaoIndisponivelException extends RuntimeException {
+    public CaminhaoIndisponivelException(Long id) {
+        super("Caminhão já está em uma viagem em curso: " + id);
+    }
+}
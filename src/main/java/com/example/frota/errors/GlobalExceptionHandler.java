@@ -10,6 +10,7 @@ import jakarta.persistence.EntityNotFoundException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -104,6 +105,16 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
+    @ExceptionHandler(CaminhaoIndisponivelException.class)
+    public ResponseEntity<ErrorResponse> handleCaminhaoIndisponivel(CaminhaoIndisponivelException ex) {
+        ErrorResponse error = new ErrorResponse(
+            "CAMINHAO_EM_VIAGEM",
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
     @ExceptionHandler(MarcaNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleMarcaNotFound(MarcaNotFoundException ex) {
         ErrorResponse error = new ErrorResponse(
@@ -280,6 +291,57 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(RastreamentoSobrecarregadoException.class)
+    public ResponseEntity<ErrorResponse> handleRastreamentoSobrecarregado(RastreamentoSobrecarregadoException ex) {
+        ErrorResponse error = new ErrorResponse(
+            "RASTREAMENTO_SOBRECARREGADO",
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(error);
+    }
+
+    @ExceptionHandler(TransporteVersaoException.class)
+    public ResponseEntity<ErrorResponse> handleTransporteVersao(TransporteVersaoException ex) {
+        ErrorResponse error = new ErrorResponse(
+            "TRANSPORTE_VERSION_MISMATCH",
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+
+    @ExceptionHandler(IdempotenciaConflitanteException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotenciaConflitante(IdempotenciaConflitanteException ex) {
+        ErrorResponse error = new ErrorResponse(
+            "IDEMPOTENCY_KEY_REUSED",
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(error);
+    }
+
+    @ExceptionHandler(IdempotenciaEmAndamentoException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotenciaEmAndamento(IdempotenciaEmAndamentoException ex) {
+        ErrorResponse error = new ErrorResponse(
+            "IDEMPOTENCY_KEY_IN_PROGRESS",
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).header("Retry-After", "1").body(error);
+    }
+
+    // Fila de um pool limitado (cotação, roteirização) cheia
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleExecucaoRejeitada(RejectedExecutionException ex) {
+        ErrorResponse error = new ErrorResponse(
+            "SERVIDOR_SOBRECARREGADO",
+            "Servidor sem capacidade no momento, tente novamente",
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(error);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
         ErrorResponse error = new ErrorResponse(
@@ -0,0 +1,7 @@
+package com.example.frota.errors;
+
+public class IdempotenciaConflitanteException extends RuntimeException {
+    public IdempotenciaConflitanteException(String message) {
+        super(message);
+    }
+}
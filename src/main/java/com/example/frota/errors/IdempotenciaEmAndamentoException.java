@@ -0,0 +1,7 @@
+package com.example.frota.errors;
+
+public class IdempotenciaEmAndamentoException extends RuntimeException {
+    public IdempotenciaEmAndamentoException(String message) {
+        super(message);
+    }
+}
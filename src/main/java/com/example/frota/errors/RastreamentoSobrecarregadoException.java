@@ -0,0 +1,7 @@
+package com.example.frota.errors;
+
+public class RastreamentoSobrecarregadoException extends RuntimeException {
+    public RastreamentoSobrecarregadoException(String message) {
+        super(message);
+    }
+}
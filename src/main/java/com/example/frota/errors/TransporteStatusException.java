@@ -1,12 +1,28 @@
 package com.example.frota.errors;
 
+import java.util.List;
+
 public class TransporteStatusException extends RuntimeException {
+    private final List<Long> transportesIds;
+
     public TransporteStatusException(String message) {
         super(message);
+        this.transportesIds = List.of();
     }
 
     public TransporteStatusException(Long transporteId, String statusAtual, String statusTentado) {
         super("Não é possível alterar o status do transporte " + transporteId + 
               " de " + statusAtual + " para " + statusTentado);
+        this.transportesIds = List.of(transporteId);
+    }
+
+    public TransporteStatusException(List<Long> transportesIds, String statusEsperado, String statusTentado) {
+        super("Transportes " + transportesIds + " não estão em " + statusEsperado +
+              " e não podem passar para " + statusTentado);
+        this.transportesIds = List.copyOf(transportesIds);
+    }
+
+    public List<Long> getTransportesIds() {
+        return transportesIds;
     }
-}
\ No newline at end of file
+}
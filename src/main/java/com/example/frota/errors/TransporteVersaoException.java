@@ -0,0 +1,12 @@
+package com.example.frota.errors;
+
+public class TransporteVersaoException extends RuntimeException {
+    public TransporteVersaoException(String message) {
+        super(message);
+    }
+
+    public TransporteVersaoException(Long transporteId, long versaoEsperada, long versaoAtual) {
+        super("Transporte " + transporteId + " está na versão " + versaoAtual +
+              ", mas a requisição esperava a versão " + versaoEsperada);
+    }
+}
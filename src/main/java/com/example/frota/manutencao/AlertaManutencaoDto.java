@@ -0,0 +1,18 @@
+package com.example.frota.manutencao;
+
+/**
+ * Manutenção devida ou próxima de um caminhão. {@code kmRestante} e {@code diasRestantes}
+ * são negativos quando já passou do intervalo e nulos quando a política do tipo não usa
+ * esse critério; sem registro, {@code kmUltimaManutencao} é nulo.
+ */
+public record AlertaManutencaoDto(
+    Long caminhaoId,
+    String placa,
+    TipoManutencao tipoServico,
+    NivelAlerta nivel,
+    double kmAtual,
+    Double kmUltimaManutencao,
+    Double kmRestante,
+    Long diasRestantes
+) {
+}
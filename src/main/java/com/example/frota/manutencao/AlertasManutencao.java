@@ -0,0 +1,269 @@
+package com.example.frota.manutencao;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.frota.caminhao.Caminhao;
+import com.example.frota.caminhao.CaminhaoAlteradoEvent;
+import com.example.frota.caminhao.CaminhaoService;
+import com.example.frota.manutencao.RegrasManutencao.Regra;
+
+/**
+ * Visão em memória da situação de manutenção da frota: KM atual de cada caminhão,
+ * KM e data da última manutenção de cada tipo e as regras do seu perfil já
+ * compiladas das {@link PoliticaManutencao políticas}. É carregada na subida e
+ * mantida pelos eventos de caminhão, de política e pelos registros de manutenção,
+ * então os alertas da frota inteira saem de uma passada em memória, sem consultas.
+ */
+@Component
+public class AlertasManutencao {
+    private static final Logger logger = LoggerFactory.getLogger(AlertasManutencao.class);
+
+    private static final int TIPOS = TipoManutencao.values().length;
+    private static final long SEM_DATA = Long.MIN_VALUE;
+
+    private static final Comparator<AlertaManutencaoDto> POR_GRAVIDADE = Comparator
+            .comparing(AlertaManutencaoDto::nivel)
+            .thenComparing(AlertaManutencaoDto::kmRestante, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(AlertaManutencaoDto::diasRestantes, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(AlertaManutencaoDto::caminhaoId);
+
+    @Autowired
+    private CaminhaoService caminhaoService;
+
+    @Autowired
+    private EstadoManutencaoRepository estadoRepository;
+
+    @Autowired
+    private PoliticaManutencaoRepository politicaRepository;
+
+    /**
+     * {@code ultimaKm} (NaN sem registro) e {@code ultimoDia} (dia epoch) são indexados pelo
+     * ordinal do tipo e nunca alterados depois de publicados. {@code regras} foi compilado de
+     * {@code origem}; se as políticas mudaram desde então, é recompilado na avaliação.
+     */
+    private record Situacao(String placa, double kmAtual, Long marcaId, String modelo,
+                            RegrasManutencao origem, Regra[] regras, double[] ultimaKm, long[] ultimoDia) {
+    }
+
+    private final ConcurrentHashMap<Long, Situacao> situacoes = new ConcurrentHashMap<>();
+
+    private volatile RegrasManutencao regras = RegrasManutencao.VAZIA;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        aplicarPoliticas(politicasOuPadrao());
+        Map<Long, List<EstadoManutencao>> ultimas = new HashMap<>();
+        for (EstadoManutencao estado : completarEstados()) {
+            ultimas.computeIfAbsent(estado.getCaminhaoId(), id -> new ArrayList<>()).add(estado);
+        }
+        RegrasManutencao vigentes = regras;
+        for (Caminhao caminhao : caminhaoService.procurarTodos()) {
+            double[] ultimaKm = semRegistroKm();
+            long[] ultimoDia = semRegistroDia();
+            for (EstadoManutencao estado : ultimas.getOrDefault(caminhao.getId(), List.of())) {
+                ultimaKm[estado.getTipoServico().ordinal()] = estado.getKmUltima();
+                ultimoDia[estado.getTipoServico().ordinal()] = dia(estado.getDataUltima());
+            }
+            Long marcaId = caminhao.getMarca() != null ? caminhao.getMarca().getId() : null;
+            situacoes.put(caminhao.getId(), new Situacao(caminhao.getPlaca(), caminhao.getKmAtual(), marcaId,
+                    caminhao.getModelo(), vigentes, vigentes.compilar(marcaId, caminhao.getModelo()), ultimaKm, ultimoDia));
+        }
+        logger.info("Situação de manutenção carregada para {} caminhões", situacoes.size());
+    }
+
+    /**
+     * Recompila as políticas e as regras de cada caminhão. Só lê: sem nenhuma
+     * política cadastrada, nenhuma regra é aplicada.
+     */
+    public void recarregarPoliticas() {
+        aplicarPoliticas(politicaRepository.findAll());
+    }
+
+    // Só na subida: sem nenhuma política, grava as padrão (óleo a cada 10.000 km e pneus a cada 70.000 km)
+    private List<PoliticaManutencao> politicasOuPadrao() {
+        List<PoliticaManutencao> politicas = politicaRepository.findAll();
+        if (politicas.isEmpty()) {
+            politicas = politicaRepository.saveAll(List.of(
+                    new PoliticaManutencao(TipoManutencao.OLEO_FILTROS_PASTILHAS, 10000.0, null),
+                    new PoliticaManutencao(TipoManutencao.PNEUS, 70000.0, null)));
+            logger.info("Políticas de manutenção padrão cadastradas");
+        }
+        return politicas;
+    }
+
+    private synchronized void aplicarPoliticas(List<PoliticaManutencao> politicas) {
+        RegrasManutencao vigentes = RegrasManutencao.de(politicas);
+        regras = vigentes;
+        situacoes.replaceAll((id, s) -> new Situacao(s.placa(), s.kmAtual(), s.marcaId(), s.modelo(),
+                vigentes, vigentes.compilar(s.marcaId(), s.modelo()), s.ultimaKm(), s.ultimoDia()));
+        logger.debug("Regras de manutenção compiladas de {} políticas", vigentes.tamanho());
+    }
+
+    // Cria no estado o que só existe no histórico (tabela nova ou manutenções anteriores a ela)
+    private List<EstadoManutencao> completarEstados() {
+        List<EstadoManutencao> estados = estadoRepository.findAll();
+        Map<String, EstadoManutencao> existentes = new HashMap<>();
+        estados.forEach(e -> existentes.put(e.getCaminhaoId() + ":" + e.getTipoServico(), e));
+
+        List<EstadoManutencao> alterados = new ArrayList<>();
+        for (EstadoManutencao doHistorico : estadoRepository.calcularDoHistorico()) {
+            EstadoManutencao atual = existentes.get(doHistorico.getCaminhaoId() + ":" + doHistorico.getTipoServico());
+            if (atual == null) {
+                alterados.add(doHistorico);
+                estados.add(doHistorico);
+            } else if (doHistorico.getKmUltima() > atual.getKmUltima()) {
+                atual.setKmUltima(doHistorico.getKmUltima());
+                atual.setDataUltima(doHistorico.getDataUltima());
+                alterados.add(atual);
+            }
+        }
+        if (!alterados.isEmpty()) {
+            estadoRepository.saveAll(alterados);
+            logger.info("{} estados de manutenção reconstruídos a partir do histórico", alterados.size());
+        }
+        return estados;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarCaminhao(CaminhaoAlteradoEvent evento) {
+        if (evento.removido()) {
+            situacoes.remove(evento.caminhaoId());
+            return;
+        }
+        RegrasManutencao vigentes = regras;
+        situacoes.compute(evento.caminhaoId(), (id, atual) -> new Situacao(evento.placa(), evento.kmAtual(),
+                evento.marcaId(), evento.modelo(), vigentes, vigentes.compilar(evento.marcaId(), evento.modelo()),
+                atual != null ? atual.ultimaKm() : semRegistroKm(), atual != null ? atual.ultimoDia() : semRegistroDia()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarPolitica(PoliticaManutencaoAlteradaEvent evento) {
+        recarregarPoliticas();
+    }
+
+    /**
+     * Atualiza a última manutenção do tipo depois do commit do registro
+     */
+    void registrarManutencao(Long caminhaoId, TipoManutencao tipo, double kmUltima, LocalDateTime dataUltima) {
+        Runnable atualizar = () -> situacoes.computeIfPresent(caminhaoId, (id, atual) -> {
+            double[] ultimaKm = atual.ultimaKm().clone();
+            long[] ultimoDia = atual.ultimoDia().clone();
+            ultimaKm[tipo.ordinal()] = kmUltima;
+            ultimoDia[tipo.ordinal()] = dia(dataUltima);
+            return new Situacao(atual.placa(), atual.kmAtual(), atual.marcaId(), atual.modelo(),
+                    atual.origem(), atual.regras(), ultimaKm, ultimoDia);
+        });
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    atualizar.run();
+                }
+            });
+        } else {
+            atualizar.run();
+        }
+    }
+
+    /**
+     * Alertas de toda a frota, do mais grave para o menos grave
+     */
+    public List<AlertaManutencaoDto> alertas(boolean incluirProximas) {
+        long hoje = LocalDate.now().toEpochDay();
+        RegrasManutencao vigentes = regras;
+        List<AlertaManutencaoDto> alertas = new ArrayList<>();
+        situacoes.forEach((id, situacao) -> avaliar(id, situacao, vigentes, hoje, alertas));
+        if (!incluirProximas) {
+            alertas.removeIf(alerta -> alerta.nivel() == NivelAlerta.PROXIMA);
+        }
+        alertas.sort(POR_GRAVIDADE);
+        return alertas;
+    }
+
+    /**
+     * Alertas de um caminhão na ordem dos tipos monitorados; vazio se o caminhão não existe
+     */
+    public Optional<List<AlertaManutencaoDto>> alertasDoCaminhao(Long caminhaoId) {
+        Situacao situacao = situacoes.get(caminhaoId);
+        if (situacao == null) {
+            return Optional.empty();
+        }
+        List<AlertaManutencaoDto> alertas = new ArrayList<>();
+        avaliar(caminhaoId, situacao, regras, LocalDate.now().toEpochDay(), alertas);
+        return Optional.of(alertas);
+    }
+
+    private static void avaliar(Long caminhaoId, Situacao situacao, RegrasManutencao vigentes, long hoje,
+                                List<AlertaManutencaoDto> alertas) {
+        Regra[] aplicaveis = situacao.origem() == vigentes
+                ? situacao.regras() : vigentes.compilar(situacao.marcaId(), situacao.modelo());
+        double kmAtual = situacao.kmAtual();
+        for (Regra regra : aplicaveis) {
+            int tipo = regra.tipo().ordinal();
+            double kmUltima = situacao.ultimaKm()[tipo];
+            if (Double.isNaN(kmUltima)) {
+                alertas.add(new AlertaManutencaoDto(caminhaoId, situacao.placa(), regra.tipo(), NivelAlerta.SEM_REGISTRO,
+                        kmAtual, null, null, null));
+                continue;
+            }
+            NivelAlerta nivel = null;
+            Double kmRestante = null;
+            Long diasRestantes = null;
+            if (regra.porKm()) {
+                double rodado = kmAtual - kmUltima;
+                kmRestante = regra.intervaloKm() - rodado;
+                nivel = rodado >= regra.intervaloKm() ? NivelAlerta.VENCIDA
+                        : rodado >= regra.avisoKm() ? NivelAlerta.PROXIMA : null;
+            }
+            long ultimoDia = situacao.ultimoDia()[tipo];
+            if (regra.porTempo() && ultimoDia != SEM_DATA) {
+                long passados = hoje - ultimoDia;
+                diasRestantes = regra.intervaloDias() - passados;
+                NivelAlerta porTempo = passados >= regra.intervaloDias() ? NivelAlerta.VENCIDA
+                        : passados >= regra.avisoDias() ? NivelAlerta.PROXIMA : null;
+                if (nivel == null || (porTempo != null && porTempo.compareTo(nivel) < 0)) {
+                    nivel = porTempo;
+                }
+            }
+            if (nivel != null) {
+                alertas.add(new AlertaManutencaoDto(caminhaoId, situacao.placa(), regra.tipo(), nivel,
+                        kmAtual, kmUltima, kmRestante, diasRestantes));
+            }
+        }
+    }
+
+    private static double[] semRegistroKm() {
+        double[] ultimaKm = new double[TIPOS];
+        Arrays.fill(ultimaKm, Double.NaN);
+        return ultimaKm;
+    }
+
+    private static long[] semRegistroDia() {
+        long[] ultimoDia = new long[TIPOS];
+        Arrays.fill(ultimoDia, SEM_DATA);
+        return ultimoDia;
+    }
+
+    private static long dia(LocalDateTime data) {
+        return data != null ? data.toLocalDate().toEpochDay() : SEM_DATA;
+    }
+}
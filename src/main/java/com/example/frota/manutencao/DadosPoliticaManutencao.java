@@ -0,0 +1,32 @@
+package com.example.frota.manutencao;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record DadosPoliticaManutencao(
+    Long id,
+
+    @NotNull(message = "O tipo de serviço é obrigatório")
+    TipoManutencao tipoServico,
+
+    Long marcaId,
+
+    String modelo,
+
+    @Positive(message = "O intervalo em KM deve ser positivo")
+    Double intervaloKm,
+
+    @Positive(message = "O intervalo em dias deve ser positivo")
+    Integer intervaloDias,
+
+    @DecimalMin(value = "0.0", inclusive = false, message = "A fração de aviso deve ser maior que zero")
+    @DecimalMax(value = "1.0", message = "A fração de aviso deve ser no máximo 1")
+    Double fracaoAviso
+) {
+    public DadosPoliticaManutencao(PoliticaManutencao politica) {
+        this(politica.getId(), politica.getTipoServico(), politica.getMarcaId(), politica.getModelo(),
+                politica.getIntervaloKm(), politica.getIntervaloDias(), politica.getFracaoAviso());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.frota.manutencao;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Última manutenção de cada tipo por caminhão, mantida a cada registro para que
+ * os alertas não precisem procurar no histórico de manutenções
+ */
+@Entity
+@Table(name = "estado_manutencao", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_estado_manutencao_caminhao_tipo", columnNames = {"caminhao_id", "tipo_servico"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class EstadoManutencao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "caminhao_id", nullable = false)
+    private Long caminhaoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_servico", nullable = false)
+    private TipoManutencao tipoServico;
+
+    @Column(name = "km_ultima", nullable = false)
+    private double kmUltima;
+
+    @Column(name = "data_ultima")
+    private LocalDateTime dataUltima;
+
+    public EstadoManutencao(Long caminhaoId, TipoManutencao tipoServico, double kmUltima, LocalDateTime dataUltima) {
+        this.caminhaoId = caminhaoId;
+        this.tipoServico = tipoServico;
+        this.kmUltima = kmUltima;
+        this.dataUltima = dataUltima;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.frota.manutencao;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EstadoManutencaoRepository extends JpaRepository<EstadoManutencao, Long> {
+
+    Optional<EstadoManutencao> findByCaminhaoIdAndTipoServico(Long caminhaoId, TipoManutencao tipoServico);
+
+    /**
+     * Última manutenção de cada tipo por caminhão calculada do histórico, para montar o
+     * estado na primeira subida (uma única consulta agrupada)
+     */
+    @Query("""
+            SELECT new com.example.frota.manutencao.EstadoManutencao(
+                m.caminhao.id, m.tipoServico, MAX(m.kmRealizacao), MAX(m.dataRealizacao))
+            FROM Manutencao m
+            GROUP BY m.caminhao.id, m.tipoServico""")
+    List<EstadoManutencao> calcularDoHistorico();
+}
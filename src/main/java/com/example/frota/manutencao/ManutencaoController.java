@@ -5,11 +5,13 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
@@ -44,6 +46,29 @@ public class ManutencaoController {
         return ResponseEntity.ok(manutencaoService.procurarTodos());
     }
 
+    // /manutencao/alertas - Manutenções vencidas, sem registro ou próximas de toda a frota, sem consultas ao banco
+    @GetMapping("/alertas")
+    public ResponseEntity<List<AlertaManutencaoDto>> alertasDaFrota(@RequestParam(defaultValue = "true") boolean incluirProximas) {
+        return ResponseEntity.ok(manutencaoService.alertasDaFrota(incluirProximas));
+    }
+
+    @GetMapping("/politicas")
+    public ResponseEntity<List<DadosPoliticaManutencao>> listarPoliticas() {
+        return ResponseEntity.ok(manutencaoService.listarPoliticas());
+    }
+
+    // /manutencao/politicas - Cadastra ou (com id) altera uma política; os alertas da frota são reavaliados com ela
+    @PostMapping("/politicas")
+    public ResponseEntity<DadosPoliticaManutencao> salvarPolitica(@RequestBody @Valid DadosPoliticaManutencao dados) {
+        return ResponseEntity.ok(manutencaoService.salvarPolitica(dados));
+    }
+
+    @DeleteMapping("/politicas/{id}")
+    public ResponseEntity<Void> removerPolitica(@PathVariable Long id) {
+        manutencaoService.removerPolitica(id);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<DadosDetalhamentoManutencao> buscarPorId(@PathVariable Long id) {
         return manutencaoService.procurarPorId(id)
@@ -1,13 +1,19 @@
 package com.example.frota.manutencao;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import com.example.frota.caminhao.Caminhao;
 import com.example.frota.caminhao.CaminhaoService;
+import com.example.frota.errors.ManutencaoNotFoundException;
+import com.example.frota.errors.ManutencaoValidationException;
+import com.example.frota.errors.MarcaNotFoundException;
+import com.example.frota.marca.MarcaService;
 
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
@@ -15,8 +21,11 @@ import jakarta.transaction.Transactional;
 @Service
 public class ManutencaoService {
 
-    private static final double INTERVALO_OLEO_KM = 10000.0;
-    private static final double INTERVALO_PNEUS_KM = 70000.0;
+    private static final Map<TipoManutencao, String> DESCRICOES = Map.of(
+        TipoManutencao.OLEO_FILTROS_PASTILHAS, "Manutenção de Óleo/Filtros/Pastilhas",
+        TipoManutencao.PNEUS, "Troca de Pneus",
+        TipoManutencao.SUSPENSAO, "Revisão de Suspensão",
+        TipoManutencao.OUTROS, "Outras Manutenções");
 
     @Autowired
     private ManutencaoRepository manutencaoRepository;
@@ -24,6 +33,21 @@ public class ManutencaoService {
     @Autowired
     private CaminhaoService caminhaoService;
 
+    @Autowired
+    private EstadoManutencaoRepository estadoRepository;
+
+    @Autowired
+    private AlertasManutencao alertasManutencao;
+
+    @Autowired
+    private PoliticaManutencaoRepository politicaRepository;
+
+    @Autowired
+    private MarcaService marcaService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Transactional 
     public DadosDetalhamentoManutencao registrar(DadosRegistroManutencao dto) {
         Caminhao caminhao = caminhaoService.procurarPorId(dto.caminhaoId())
@@ -35,6 +59,7 @@ public class ManutencaoService {
 
         Manutencao novaManutencao = new Manutencao(dto, caminhao);
         Manutencao salva = manutencaoRepository.save(novaManutencao);
+        atualizarEstado(salva);
         return new DadosDetalhamentoManutencao(salva); 
     }
     
@@ -50,37 +75,91 @@ public class ManutencaoService {
                 .map(DadosDetalhamentoManutencao::new);
     }
 
-    // Lógica verificar alertas
-    public String verificarAlertaManutencao(Long caminhaoId) {
-        Caminhao caminhao = caminhaoService.procurarPorId(caminhaoId)
-                .orElseThrow(() -> new EntityNotFoundException("Caminhão não encontrado com ID: " + caminhaoId));
-        
-        double kmAtual = caminhao.getKmAtual();
-        StringBuilder alerta = new StringBuilder();
+    // Mantém a última manutenção do tipo (uma manutenção antiga registrada depois não a substitui)
+    private void atualizarEstado(Manutencao manutencao) {
+        Long caminhaoId = manutencao.getCaminhao().getId();
+        EstadoManutencao estado = estadoRepository
+                .findByCaminhaoIdAndTipoServico(caminhaoId, manutencao.getTipoServico())
+                .orElseGet(() -> new EstadoManutencao(caminhaoId, manutencao.getTipoServico(),
+                        manutencao.getKmRealizacao(), manutencao.getDataRealizacao()));
+        if (estado.getId() == null || manutencao.getKmRealizacao() > estado.getKmUltima()) {
+            estado.setKmUltima(manutencao.getKmRealizacao());
+            estado.setDataUltima(manutencao.getDataRealizacao());
+            estadoRepository.save(estado);
+        }
+        alertasManutencao.registrarManutencao(caminhaoId, estado.getTipoServico(), estado.getKmUltima(),
+                estado.getDataUltima());
+    }
 
-        //  Verificar Óleo, Filtros e Pastilhas
-        Optional<Manutencao> ultimaOleo = manutencaoRepository.findUltimaManutencaoPorCaminhaoETipo(caminhaoId, TipoManutencao.OLEO_FILTROS_PASTILHAS);
-        if (ultimaOleo.isEmpty()) {
-            alerta.append(" - ALERTA: Nunca foi registrada manutenção de Óleo/Filtros/Pastilhas. Registro obrigatório! ");
-        } else {
-            double kmUltimaOleo = ultimaOleo.get().getKmRealizacao();
-            if (kmAtual - kmUltimaOleo >= INTERVALO_OLEO_KM) {
-                alerta.append(" - ALERTA URGENTE: Manutenção de Óleo/Filtros/Pastilhas devida. ");
-            } else if (kmAtual - kmUltimaOleo >= INTERVALO_OLEO_KM * 0.9) { // Alerta prévio (90%)
-                alerta.append(" - AVISO: Manutenção de Óleo/Filtros/Pastilhas próxima (Km a rodar: ").append(INTERVALO_OLEO_KM - (kmAtual - kmUltimaOleo)).append("). ");
+    /**
+     * Alertas de manutenção de toda a frota, a partir da visão em memória
+     */
+    public List<AlertaManutencaoDto> alertasDaFrota(boolean incluirProximas) {
+        return alertasManutencao.alertas(incluirProximas);
+    }
+
+    public List<DadosPoliticaManutencao> listarPoliticas() {
+        return politicaRepository.findAll().stream()
+                .map(DadosPoliticaManutencao::new)
+                .toList();
+    }
+
+    /**
+     * Cadastra a política ou, com {@code id}, substitui a existente. Os alertas passam a
+     * usá-la depois do commit.
+     */
+    @Transactional
+    public DadosPoliticaManutencao salvarPolitica(DadosPoliticaManutencao dados) {
+        if (dados.intervaloKm() == null && dados.intervaloDias() == null) {
+            throw new ManutencaoValidationException("Informe o intervalo em KM, em dias ou ambos.");
+        }
+        if (dados.marcaId() != null && marcaService.procurarPorId(dados.marcaId()).isEmpty()) {
+            throw new MarcaNotFoundException(dados.marcaId());
+        }
+        PoliticaManutencao politica = new PoliticaManutencao(dados);
+        if (dados.id() != null) {
+            if (!politicaRepository.existsById(dados.id())) {
+                throw new ManutencaoNotFoundException("Política de manutenção não encontrada com ID: " + dados.id());
             }
+            politica.setId(dados.id());
+        }
+        PoliticaManutencao salva = politicaRepository.save(politica);
+        eventPublisher.publishEvent(new PoliticaManutencaoAlteradaEvent(salva.getId()));
+        return new DadosPoliticaManutencao(salva);
+    }
+
+    @Transactional
+    public void removerPolitica(Long id) {
+        if (!politicaRepository.existsById(id)) {
+            throw new ManutencaoNotFoundException("Política de manutenção não encontrada com ID: " + id);
         }
+        politicaRepository.deleteById(id);
+        eventPublisher.publishEvent(new PoliticaManutencaoAlteradaEvent(id));
+    }
+
+    // Lógica verificar alertas
+    public String verificarAlertaManutencao(Long caminhaoId) {
+        List<AlertaManutencaoDto> alertas = alertasManutencao.alertasDoCaminhao(caminhaoId)
+                .orElseThrow(() -> new EntityNotFoundException("Caminhão não encontrado com ID: " + caminhaoId));
 
-        //  Verificar Pneus
-        Optional<Manutencao> ultimaPneus = manutencaoRepository.findUltimaManutencaoPorCaminhaoETipo(caminhaoId, TipoManutencao.PNEUS);
-        if (ultimaPneus.isEmpty()) {
-            alerta.append(" - ALERTA: Nunca foi registrada troca de Pneus. Registro obrigatório! ");
-        } else {
-            double kmUltimaPneus = ultimaPneus.get().getKmRealizacao();
-            if (kmAtual - kmUltimaPneus >= INTERVALO_PNEUS_KM) {
-                alerta.append(" - ALERTA URGENTE: Troca de Pneus devida. ");
-            } else if (kmAtual - kmUltimaPneus >= INTERVALO_PNEUS_KM * 0.9) { 
-                alerta.append(" - AVISO: Troca de Pneus próxima (Km a rodar: ").append(INTERVALO_PNEUS_KM - (kmAtual - kmUltimaPneus)).append("). ");
+        StringBuilder alerta = new StringBuilder();
+        for (AlertaManutencaoDto item : alertas) {
+            String descricao = DESCRICOES.get(item.tipoServico());
+            switch (item.nivel()) {
+                case SEM_REGISTRO -> alerta.append(" - ALERTA: Nunca foi registrada ")
+                        .append(Character.toLowerCase(descricao.charAt(0))).append(descricao.substring(1))
+                        .append(". Registro obrigatório! ");
+                case VENCIDA -> alerta.append(" - ALERTA URGENTE: ").append(descricao).append(" devida. ");
+                case PROXIMA -> {
+                    alerta.append(" - AVISO: ").append(descricao).append(" próxima (");
+                    if (item.kmRestante() != null) {
+                        alerta.append("Km a rodar: ").append(item.kmRestante());
+                    }
+                    if (item.diasRestantes() != null) {
+                        alerta.append(item.kmRestante() != null ? ", " : "").append("Dias restantes: ").append(item.diasRestantes());
+                    }
+                    alerta.append("). ");
+                }
             }
         }
         
@@ -0,0 +1,10 @@
+package com.example.frota.manutencao;
+
+/**
+ * Gravidade do alerta de manutenção, da maior para a menor
+ */
+public enum NivelAlerta {
+    VENCIDA,
+    SEM_REGISTRO,
+    PROXIMA
+}
@@ -0,0 +1,68 @@
+package com.example.frota.manutencao;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Intervalo obrigatório de um tipo de manutenção, por KM rodada e/ou por dias
+ * desde a última. Sem marca e sem modelo vale para toda a frota; com marca e/ou
+ * modelo vale só para esses caminhões e prevalece sobre a regra geral.
+ */
+@Entity
+@Table(name = "politica_manutencao")
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class PoliticaManutencao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_servico", nullable = false)
+    private TipoManutencao tipoServico;
+
+    @Column(name = "marca_id")
+    private Long marcaId;
+
+    private String modelo;
+
+    @Column(name = "intervalo_km")
+    private Double intervaloKm;
+
+    @Column(name = "intervalo_dias")
+    private Integer intervaloDias;
+
+    // Aviso prévio a partir desta fração do intervalo
+    @Column(name = "fracao_aviso", nullable = false)
+    private double fracaoAviso = 0.9;
+
+    public PoliticaManutencao(DadosPoliticaManutencao dados) {
+        this.tipoServico = dados.tipoServico();
+        this.marcaId = dados.marcaId();
+        this.modelo = dados.modelo() != null && !dados.modelo().isBlank() ? dados.modelo().trim() : null;
+        this.intervaloKm = dados.intervaloKm();
+        this.intervaloDias = dados.intervaloDias();
+        if (dados.fracaoAviso() != null) {
+            this.fracaoAviso = dados.fracaoAviso();
+        }
+    }
+
+    public PoliticaManutencao(TipoManutencao tipoServico, Double intervaloKm, Integer intervaloDias) {
+        this.tipoServico = tipoServico;
+        this.intervaloKm = intervaloKm;
+        this.intervaloDias = intervaloDias;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.frota.manutencao;
+
+/**
+ * Publicado quando uma política de manutenção é criada, alterada ou removida
+ */
+public record PoliticaManutencaoAlteradaEvent(Long politicaId) {
+}
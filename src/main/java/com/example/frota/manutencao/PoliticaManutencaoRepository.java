@@ -0,0 +1,8 @@
+package com.example.frota.manutencao;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PoliticaManutencaoRepository extends JpaRepository<PoliticaManutencao, Long> {
+}
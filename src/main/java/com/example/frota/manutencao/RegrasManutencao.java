@@ -0,0 +1,102 @@
+package com.example.frota.manutencao;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Retrato imutável das políticas de manutenção, compilado por perfil de caminhão
+ * (marca + modelo). Para cada perfil, a política mais específica de cada tipo é
+ * escolhida uma única vez e vira uma {@link Regra} com os limites já calculados,
+ * de modo que a avaliação de um caminhão são só comparações de números.
+ *
+ * <p>Especificidade: marca e modelo, depois só marca, depois só modelo, depois a
+ * regra geral. O modelo é comparado sem diferenciar maiúsculas.
+ */
+final class RegrasManutencao {
+
+    static final RegrasManutencao VAZIA = de(List.of());
+
+    /**
+     * Limites de um tipo de manutenção para um perfil. Critério ausente: {@code NaN}
+     * para KM e -1 para dias.
+     */
+    record Regra(TipoManutencao tipo, double intervaloKm, double avisoKm, long intervaloDias, long avisoDias) {
+        boolean porKm() {
+            return !Double.isNaN(intervaloKm);
+        }
+
+        boolean porTempo() {
+            return intervaloDias >= 0;
+        }
+    }
+
+    private record Perfil(Long marcaId, String modelo) {
+    }
+
+    private static final Regra[] NENHUMA = new Regra[0];
+
+    private final List<PoliticaManutencao> politicas;
+    private final ConcurrentHashMap<Perfil, Regra[]> compiladas = new ConcurrentHashMap<>();
+
+    private RegrasManutencao(List<PoliticaManutencao> politicas) {
+        this.politicas = politicas;
+    }
+
+    static RegrasManutencao de(List<PoliticaManutencao> politicas) {
+        List<PoliticaManutencao> validas = new ArrayList<>();
+        for (PoliticaManutencao politica : politicas) {
+            if (politica.getIntervaloKm() != null || politica.getIntervaloDias() != null) {
+                validas.add(politica);
+            }
+        }
+        // Mais específica primeiro; no empate vence a mais antiga
+        validas.sort(Comparator.comparingInt(RegrasManutencao::especificidade).reversed()
+                .thenComparing(PoliticaManutencao::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+        return new RegrasManutencao(List.copyOf(validas));
+    }
+
+    int tamanho() {
+        return politicas.size();
+    }
+
+    /**
+     * Regras do perfil, na ordem de {@link TipoManutencao}; só os tipos com política aplicável
+     */
+    Regra[] compilar(Long marcaId, String modelo) {
+        String chave = modelo != null && !modelo.isBlank() ? modelo.trim().toLowerCase(Locale.ROOT) : null;
+        return compiladas.computeIfAbsent(new Perfil(marcaId, chave), this::resolver);
+    }
+
+    private Regra[] resolver(Perfil perfil) {
+        List<Regra> regras = new ArrayList<>();
+        for (TipoManutencao tipo : TipoManutencao.values()) {
+            for (PoliticaManutencao politica : politicas) {
+                if (politica.getTipoServico() == tipo && aplica(politica, perfil)) {
+                    regras.add(regra(politica));
+                    break;
+                }
+            }
+        }
+        return regras.isEmpty() ? NENHUMA : regras.toArray(Regra[]::new);
+    }
+
+    private static boolean aplica(PoliticaManutencao politica, Perfil perfil) {
+        return (politica.getMarcaId() == null || politica.getMarcaId().equals(perfil.marcaId()))
+                && (politica.getModelo() == null || politica.getModelo().equalsIgnoreCase(perfil.modelo()));
+    }
+
+    private static Regra regra(PoliticaManutencao politica) {
+        double fracao = politica.getFracaoAviso();
+        double intervaloKm = politica.getIntervaloKm() != null ? politica.getIntervaloKm() : Double.NaN;
+        long intervaloDias = politica.getIntervaloDias() != null ? politica.getIntervaloDias() : -1;
+        return new Regra(politica.getTipoServico(), intervaloKm, intervaloKm * fracao,
+                intervaloDias, intervaloDias >= 0 ? (long) Math.floor(intervaloDias * fracao) : -1);
+    }
+
+    private static int especificidade(PoliticaManutencao politica) {
+        return (politica.getMarcaId() != null ? 2 : 0) + (politica.getModelo() != null ? 1 : 0);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.frota.motorista;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Simplificação de trajetos (Ramer-Douglas-Peucker). Mantém os pontos cujo
+ * desvio em relação ao trecho simplificado passa da tolerância, em metros.
+ * Iterativo, para não estourar a pilha em trajetos longos.
+ */
+final class DouglasPeucker {
+
+    private static final double RAIO_TERRA_M = 6_371_000.0;
+
+    private DouglasPeucker() {
+    }
+
+    static List<PontoRota> simplificar(List<PontoRota> pontos, double toleranciaMetros) {
+        int n = pontos.size();
+        if (n < 3 || toleranciaMetros <= 0) {
+            return pontos;
+        }
+
+        // Projeção equiretangular em metros em torno do primeiro ponto (precisa o bastante para um trajeto)
+        double cosLat = Math.cos(Math.toRadians(pontos.get(0).latitude()));
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = Math.toRadians(pontos.get(i).longitude()) * cosLat * RAIO_TERRA_M;
+            y[i] = Math.toRadians(pontos.get(i).latitude()) * RAIO_TERRA_M;
+        }
+
+        boolean[] manter = new boolean[n];
+        manter[0] = true;
+        manter[n - 1] = true;
+        double tolerancia2 = toleranciaMetros * toleranciaMetros;
+
+        Deque<int[]> trechos = new ArrayDeque<>();
+        trechos.push(new int[] {0, n - 1});
+        while (!trechos.isEmpty()) {
+            int[] trecho = trechos.pop();
+            int inicio = trecho[0];
+            int fim = trecho[1];
+
+            double maior = -1;
+            int indiceMaior = -1;
+            for (int i = inicio + 1; i < fim; i++) {
+                double d = distanciaAoSegmento2(x[i], y[i], x[inicio], y[inicio], x[fim], y[fim]);
+                if (d > maior) {
+                    maior = d;
+                    indiceMaior = i;
+                }
+            }
+            if (indiceMaior != -1 && maior > tolerancia2) {
+                manter[indiceMaior] = true;
+                trechos.push(new int[] {inicio, indiceMaior});
+                trechos.push(new int[] {indiceMaior, fim});
+            }
+        }
+
+        List<PontoRota> resultado = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (manter[i]) {
+                resultado.add(pontos.get(i));
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Quadrado da distância do ponto (px, py) ao segmento (ax, ay)-(bx, by)
+     */
+    private static double distanciaAoSegmento2(double px, double py, double ax, double ay, double bx, double by) {
+        double dx = bx - ax;
+        double dy = by - ay;
+        double comprimento2 = dx * dx + dy * dy;
+        double t = comprimento2 == 0 ? 0 : ((px - ax) * dx + (py - ay) * dy) / comprimento2;
+        t = Math.max(0, Math.min(1, t));
+        double cx = ax + t * dx - px;
+        double cy = ay + t * dy - py;
+        return cx * cx + cy * cy;
+    }
+}
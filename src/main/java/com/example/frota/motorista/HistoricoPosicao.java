@@ -0,0 +1,52 @@
+package com.example.frota.motorista;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Histórico de posições (somente inserção). As linhas são gravadas em lote por
+ * {@link HistoricoPosicoes} via JDBC; a entidade existe para o mapeamento da
+ * tabela e para as consultas. {@code dia} (yyyyMMdd) é a chave de partição por
+ * tempo: as consultas sempre filtram por ela e a retenção remove dias inteiros.
+ */
+@Entity
+@Table(name = "historico_posicao", indexes = {
+    @Index(name = "idx_historico_motorista_dia", columnList = "motorista_id, dia, registrada_em"),
+    @Index(name = "idx_historico_viagem", columnList = "viagem_id, registrada_em"),
+    @Index(name = "idx_historico_dia", columnList = "dia")
+})
+@Getter
+@NoArgsConstructor
+public class HistoricoPosicao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "motorista_id", nullable = false)
+    private Long motoristaId;
+
+    @Column(name = "viagem_id")
+    private Long viagemId;
+
+    @Column(name = "latitude", nullable = false)
+    private double latitude;
+
+    @Column(name = "longitude", nullable = false)
+    private double longitude;
+
+    @Column(name = "registrada_em", nullable = false)
+    private LocalDateTime registradaEm;
+
+    @Column(name = "dia", nullable = false)
+    private int dia;
+}
@@ -0,0 +1,35 @@
+package com.example.frota.motorista;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface HistoricoPosicaoRepository extends JpaRepository<HistoricoPosicao, Long> {
+
+    /**
+     * Posições do motorista em [inicio, fim). Os limites de {@code dia} restringem
+     * a leitura às partições da janela.
+     */
+    @Query("""
+            SELECT new com.example.frota.motorista.PontoRota(h.latitude, h.longitude, h.registradaEm)
+            FROM HistoricoPosicao h
+            WHERE h.motoristaId = :motoristaId AND h.dia BETWEEN :diaInicio AND :diaFim
+              AND h.registradaEm >= :inicio AND h.registradaEm < :fim
+            ORDER BY h.registradaEm""")
+    List<PontoRota> findPontosPorMotorista(@Param("motoristaId") Long motoristaId,
+                                           @Param("diaInicio") int diaInicio, @Param("diaFim") int diaFim,
+                                           @Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim,
+                                           Limit limite);
+
+    @Query("""
+            SELECT new com.example.frota.motorista.PontoRota(h.latitude, h.longitude, h.registradaEm)
+            FROM HistoricoPosicao h
+            WHERE h.viagemId = :viagemId AND h.registradaEm >= :desde
+            ORDER BY h.registradaEm""")
+    List<PontoRota> findPontosPorViagem(@Param("viagemId") Long viagemId, @Param("desde") LocalDateTime desde,
+                                        Limit limite);
+}
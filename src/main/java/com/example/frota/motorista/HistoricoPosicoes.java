@@ -0,0 +1,206 @@
+package com.example.frota.motorista;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Histórico de posições dos motoristas: cada ping recebido é anexado (sem
+ * coalescer) e gravado em lote na tabela {@code historico_posicao}, já com a
+ * viagem em curso do motorista. As consultas devolvem o trajeto de uma janela de
+ * tempo ou de uma viagem, opcionalmente simplificado por Douglas-Peucker.
+ */
+@Component
+public class HistoricoPosicoes {
+    private static final Logger logger = LoggerFactory.getLogger(HistoricoPosicoes.class);
+
+    private static final String SQL_INSERIR = """
+            INSERT INTO historico_posicao (motorista_id, viagem_id, latitude, longitude, registrada_em, dia)
+            VALUES (?, ?, ?, ?, ?, ?)""";
+
+    private static final String SQL_VIAGENS_EM_CURSO = """
+            SELECT motorista_id, id FROM viagem
+            WHERE finalizada = false AND caminhao_id IS NOT NULL AND motorista_id IN (:motoristas)""";
+
+    // Anterior a qualquer posição gravada; aceito pelo DATETIME do MySQL
+    private static final LocalDateTime INICIO_HISTORICO = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    private static final String SQL_REMOVER_DIAS = "DELETE FROM historico_posicao WHERE dia < ? LIMIT ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private HistoricoPosicaoRepository historicoPosicaoRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${frota.historico.buffer:100000}")
+    private int capacidadeBuffer;
+
+    @Value("${frota.historico.lote:1000}")
+    private int tamanhoLote;
+
+    @Value("${frota.historico.retencao:P90D}")
+    private Period retencao;
+
+    @Value("${frota.historico.max-pontos:50000}")
+    private int maxPontos;
+
+    private BlockingQueue<PosicaoMotorista> buffer;
+
+    private Counter descartadas;
+    private Counter gravadas;
+
+    @PostConstruct
+    void inicializar() {
+        buffer = new ArrayBlockingQueue<>(capacidadeBuffer);
+        descartadas = Counter.builder("frota.historico.posicoes").tag("resultado", "descartada").register(meterRegistry);
+        gravadas = Counter.builder("frota.historico.posicoes").tag("resultado", "gravada").register(meterRegistry);
+        Gauge.builder("frota.historico.buffer", buffer, BlockingQueue::size).register(meterRegistry);
+    }
+
+    /**
+     * Anexa a posição ao buffer do histórico. Com o buffer cheio a posição é
+     * descartada (o ping em si não falha: a posição atual continua sendo gravada).
+     */
+    public void anexar(PosicaoMotorista posicao) {
+        if (!buffer.offer(posicao)) {
+            descartadas.increment();
+            logger.warn("Buffer do histórico de posições cheio, posição do motorista {} descartada",
+                    posicao.motoristaId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${frota.rastreamento.intervalo-gravacao:PT1S}")
+    public void descarregar() {
+        List<PosicaoMotorista> lote = new ArrayList<>(tamanhoLote);
+        while (buffer.drainTo(lote, tamanhoLote) > 0) {
+            gravar(lote);
+            lote.clear();
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        descarregar();
+    }
+
+    /**
+     * Grava o lote em um único batch, com a viagem em curso de cada motorista
+     */
+    public void gravar(List<PosicaoMotorista> lote) {
+        try {
+            Map<Long, Long> viagens = viagensEmCurso(lote);
+            jdbcTemplate.batchUpdate(SQL_INSERIR, lote, tamanhoLote, (ps, posicao) -> {
+                ps.setLong(1, posicao.motoristaId());
+                Long viagemId = viagens.get(posicao.motoristaId());
+                if (viagemId != null) {
+                    ps.setLong(2, viagemId);
+                } else {
+                    ps.setNull(2, Types.BIGINT);
+                }
+                ps.setDouble(3, posicao.latitude());
+                ps.setDouble(4, posicao.longitude());
+                ps.setTimestamp(5, Timestamp.valueOf(posicao.recebidaEm()));
+                ps.setInt(6, dia(posicao.recebidaEm().toLocalDate()));
+            });
+            gravadas.increment(lote.size());
+        } catch (RuntimeException e) {
+            descartadas.increment(lote.size());
+            logger.error("Falha ao gravar {} posições no histórico", lote.size(), e);
+        }
+    }
+
+    private Map<Long, Long> viagensEmCurso(List<PosicaoMotorista> lote) {
+        List<Long> motoristas = lote.stream().map(PosicaoMotorista::motoristaId).distinct().toList();
+        Map<Long, Long> viagens = new HashMap<>();
+        namedJdbcTemplate.query(SQL_VIAGENS_EM_CURSO, Map.of("motoristas", motoristas),
+                rs -> {
+                    viagens.put(rs.getLong(1), rs.getLong(2));
+                });
+        return viagens;
+    }
+
+    /**
+     * Trajeto do motorista na janela [inicio, fim), simplificado com a tolerância
+     * informada em metros (0 = sem simplificação)
+     */
+    public HistoricoRotaDto trajetoDoMotorista(Long motoristaId, LocalDateTime inicio, LocalDateTime fim,
+                                               double toleranciaMetros) {
+        List<PontoRota> pontos = historicoPosicaoRepository.findPontosPorMotorista(motoristaId,
+                dia(inicio.toLocalDate()), dia(fim.toLocalDate()), inicio, fim, Limit.of(maxPontos + 1));
+        return montar(motoristaId, null, pontos, toleranciaMetros);
+    }
+
+    /**
+     * Trajeto da viagem a partir de {@code desde} (o {@code continuarEm} de uma resposta truncada)
+     */
+    public HistoricoRotaDto trajetoDaViagem(Long motoristaId, Long viagemId, LocalDateTime desde,
+                                            double toleranciaMetros) {
+        List<PontoRota> pontos = historicoPosicaoRepository.findPontosPorViagem(viagemId,
+                desde != null ? desde : INICIO_HISTORICO, Limit.of(maxPontos + 1));
+        return montar(motoristaId, viagemId, pontos, toleranciaMetros);
+    }
+
+    // Lê um ponto além do máximo só para saber se a janela foi cortada e onde continuar
+    private HistoricoRotaDto montar(Long motoristaId, Long viagemId, List<PontoRota> pontos, double toleranciaMetros) {
+        boolean truncado = pontos.size() > maxPontos;
+        LocalDateTime continuarEm = null;
+        if (truncado) {
+            continuarEm = pontos.get(maxPontos).registradaEm();
+            pontos = pontos.subList(0, maxPontos);
+        }
+        return new HistoricoRotaDto(motoristaId, viagemId, pontos.size(),
+                DouglasPeucker.simplificar(pontos, toleranciaMetros), truncado, continuarEm);
+    }
+
+    /**
+     * Remove os dias fora da retenção, em blocos para não segurar locks por muito tempo
+     */
+    @Scheduled(cron = "${frota.historico.limpeza-cron:0 30 3 * * *}")
+    public void aplicarRetencao() {
+        int limite = dia(LocalDate.now().minus(retencao));
+        long total = 0;
+        int removidas;
+        do {
+            removidas = jdbcTemplate.update(SQL_REMOVER_DIAS, limite, 10_000);
+            total += removidas;
+        } while (removidas > 0);
+        if (total > 0) {
+            logger.info("Histórico de posições: {} posições anteriores a {} removidas", total, limite);
+        }
+    }
+
+    static int dia(LocalDate data) {
+        return data.getYear() * 10_000 + data.getMonthValue() * 100 + data.getDayOfMonth();
+    }
+}
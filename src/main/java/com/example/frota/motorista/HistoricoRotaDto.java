@@ -0,0 +1,21 @@
+package com.example.frota.motorista;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Trajeto reconstruído a partir do histórico. {@code pontosOriginais} é a
+ * quantidade de posições lidas antes da simplificação. Com {@code truncado}, a
+ * janela tinha mais posições que {@code frota.historico.max-pontos}: vieram as
+ * mais antigas e o restante começa em {@code continuarEm} (usar como início da
+ * próxima consulta).
+ */
+public record HistoricoRotaDto(
+    Long motoristaId,
+    Long viagemId,
+    int pontosOriginais,
+    List<PontoRota> pontos,
+    boolean truncado,
+    LocalDateTime continuarEm
+) {
+}
@@ -0,0 +1,218 @@
+package com.example.frota.motorista;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Índice em memória dos motoristas ativos e disponíveis, organizado em uma grade
+ * de células de {@code frota.motorista.indice.celula-graus} graus. A busca pelos
+ * k mais próximos percorre anéis de células a partir da célula da origem e para
+ * assim que nenhum anel ainda não visitado pode conter um motorista mais próximo
+ * que o k-ésimo encontrado.
+ *
+ * <p>É mantido incrementalmente pela ingestão de posições e pelas mudanças de
+ * disponibilidade em {@link MotoristaService}; na subida é carregado do banco.
+ */
+@Component
+public class IndiceMotoristasDisponiveis {
+    private static final Logger logger = LoggerFactory.getLogger(IndiceMotoristasDisponiveis.class);
+
+    private static final double RAIO_TERRA_KM = 6371.0;
+    private static final double KM_POR_GRAU = Math.PI * RAIO_TERRA_KM / 180.0;
+
+    @Autowired
+    private MotoristaRepository motoristaRepository;
+
+    @Value("${frota.motorista.indice.celula-graus:0.05}")
+    private double celulaGraus = 0.05;
+
+    /**
+     * Motorista no índice, com a distância até a origem da busca
+     */
+    public record Vizinho(Long motoristaId, double latitude, double longitude, double distanciaKm) {
+    }
+
+    private record Entrada(double latitude, double longitude, long celula) {
+    }
+
+    private final ConcurrentHashMap<Long, Entrada> disponiveis = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<Long>> celulas = new ConcurrentHashMap<>();
+
+    // Disponíveis ainda sem posição conhecida: entram na grade no primeiro ping
+    private final Set<Long> semPosicao = ConcurrentHashMap.newKeySet();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        for (Motorista motorista : motoristaRepository.findByAtivoTrueAndDisponivelTrue()) {
+            marcarDisponivel(motorista.getId(), motorista.getLatitudeAtual(), motorista.getLongitudeAtual());
+        }
+        logger.info("Índice de motoristas disponíveis carregado com {} motoristas", disponiveis.size());
+    }
+
+    /**
+     * Move o motorista para a nova posição, se ele estiver disponível
+     */
+    public synchronized void atualizarPosicao(Long motoristaId, double latitude, double longitude) {
+        if (disponiveis.containsKey(motoristaId) || semPosicao.remove(motoristaId)) {
+            inserir(motoristaId, latitude, longitude);
+        }
+    }
+
+    /**
+     * Inclui o motorista no índice; sem posição conhecida ele não pode ser localizado
+     * e só entra na busca com a primeira posição recebida
+     */
+    public synchronized void marcarDisponivel(Long motoristaId, Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            remover(motoristaId);
+            semPosicao.add(motoristaId);
+            return;
+        }
+        semPosicao.remove(motoristaId);
+        inserir(motoristaId, latitude, longitude);
+    }
+
+    public synchronized void remover(Long motoristaId) {
+        semPosicao.remove(motoristaId);
+        Entrada anterior = disponiveis.remove(motoristaId);
+        if (anterior != null) {
+            retirarDaCelula(motoristaId, anterior.celula());
+        }
+    }
+
+    public int tamanho() {
+        return disponiveis.size();
+    }
+
+    /**
+     * Até {@code k} motoristas disponíveis mais próximos da origem, dentro de {@code raioMaximoKm},
+     * em ordem crescente de distância
+     */
+    public List<Vizinho> proximos(double latitude, double longitude, int k, double raioMaximoKm) {
+        if (k <= 0 || disponiveis.isEmpty()) {
+            return List.of();
+        }
+        PriorityQueue<Vizinho> melhores = new PriorityQueue<>(k,
+                Comparator.comparingDouble(Vizinho::distanciaKm).reversed());
+        Set<Long> vistos = new HashSet<>();
+        int linhaOrigem = indice(latitude);
+        int colunaOrigem = indice(longitude);
+        int total = disponiveis.size();
+
+        for (int anel = 0; ; anel++) {
+            double distanciaMinimaAnel = distanciaMinimaDoAnel(latitude, anel);
+            if (distanciaMinimaAnel > raioMaximoKm) {
+                break;
+            }
+            if (melhores.size() == k && distanciaMinimaAnel > melhores.peek().distanciaKm()) {
+                break;
+            }
+            visitarAnel(linhaOrigem, colunaOrigem, anel, latitude, longitude, k, raioMaximoKm, melhores, vistos);
+            if (vistos.size() >= total && anel > 0) {
+                break;
+            }
+            if (anel > 180.0 / celulaGraus) {
+                break;
+            }
+        }
+
+        List<Vizinho> resultado = new ArrayList<>(melhores);
+        resultado.sort(Comparator.comparingDouble(Vizinho::distanciaKm));
+        return resultado;
+    }
+
+    private void visitarAnel(int linhaOrigem, int colunaOrigem, int anel, double latitude, double longitude,
+                             int k, double raioMaximoKm, PriorityQueue<Vizinho> melhores, Set<Long> vistos) {
+        for (int linha = linhaOrigem - anel; linha <= linhaOrigem + anel; linha++) {
+            boolean borda = linha == linhaOrigem - anel || linha == linhaOrigem + anel;
+            int passo = borda || anel == 0 ? 1 : 2 * anel;
+            for (int coluna = colunaOrigem - anel; coluna <= colunaOrigem + anel; coluna += passo) {
+                Set<Long> ids = celulas.get(chave(linha, coluna));
+                if (ids == null) {
+                    continue;
+                }
+                for (Long id : ids) {
+                    Entrada entrada = disponiveis.get(id);
+                    if (entrada == null || !vistos.add(id)) {
+                        continue;
+                    }
+                    double distancia = haversineKm(latitude, longitude, entrada.latitude(), entrada.longitude());
+                    if (distancia > raioMaximoKm) {
+                        continue;
+                    }
+                    if (melhores.size() < k) {
+                        melhores.add(new Vizinho(id, entrada.latitude(), entrada.longitude(), distancia));
+                    } else if (distancia < melhores.peek().distanciaKm()) {
+                        melhores.poll();
+                        melhores.add(new Vizinho(id, entrada.latitude(), entrada.longitude(), distancia));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Limite inferior da distância entre a origem e qualquer ponto do anel: (anel - 1) células
+     * inteiras separam os dois, medidas na latitude mais afastada do equador (onde a célula é mais
+     * estreita), com 1% de folga para a diferença entre o paralelo e o círculo máximo
+     */
+    private double distanciaMinimaDoAnel(double latitude, int anel) {
+        if (anel <= 1) {
+            return 0.0;
+        }
+        double latitudeExtrema = Math.min(89.0, Math.abs(latitude) + (anel + 1) * celulaGraus);
+        return 0.99 * (anel - 1) * celulaGraus * KM_POR_GRAU * Math.cos(Math.toRadians(latitudeExtrema));
+    }
+
+    private void inserir(Long motoristaId, double latitude, double longitude) {
+        long celula = chave(indice(latitude), indice(longitude));
+        Entrada anterior = disponiveis.put(motoristaId, new Entrada(latitude, longitude, celula));
+        if (anterior != null && anterior.celula() == celula) {
+            return;
+        }
+        celulas.computeIfAbsent(celula, c -> ConcurrentHashMap.newKeySet()).add(motoristaId);
+        if (anterior != null) {
+            retirarDaCelula(motoristaId, anterior.celula());
+        }
+    }
+
+    private void retirarDaCelula(Long motoristaId, long celula) {
+        Set<Long> ids = celulas.get(celula);
+        if (ids != null) {
+            ids.remove(motoristaId);
+            if (ids.isEmpty()) {
+                celulas.remove(celula);
+            }
+        }
+    }
+
+    private int indice(double graus) {
+        return (int) Math.floor(graus / celulaGraus);
+    }
+
+    private static long chave(int linha, int coluna) {
+        return ((long) linha << 32) | (coluna & 0xFFFFFFFFL);
+    }
+
+    static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * RAIO_TERRA_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
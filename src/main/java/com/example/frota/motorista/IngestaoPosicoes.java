@@ -0,0 +1,231 @@
+package com.example.frota.motorista;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.frota.errors.MotoristaNotFoundException;
+import com.example.frota.errors.RastreamentoSobrecarregadoException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Recebe as posições GPS dos motoristas e grava em lote. O buffer guarda só a
+ * última posição de cada motorista; a cada ciclo as posições pendentes são
+ * gravadas com um único batch JDBC, sem carregar a entidade Motorista. Todas
+ * as posições recebidas (sem coalescer) também vão para o {@link HistoricoPosicoes}.
+ *
+ * <p>{@code frota.rastreamento.durabilidade}: {@code buffer} (padrão) confirma o
+ * ping assim que ele entra no buffer, podendo perder até um ciclo de gravação em
+ * caso de queda; {@code sincrona} grava cada ping antes de responder.
+ */
+@Component
+public class IngestaoPosicoes {
+    private static final Logger logger = LoggerFactory.getLogger(IngestaoPosicoes.class);
+
+    static final String SQL_ATUALIZAR =
+            "UPDATE motorista SET latitude_atual = ?, longitude_atual = ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MotoristaRepository motoristaRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private HistoricoPosicoes historicoPosicoes;
+
+    @Autowired
+    private IndiceMotoristasDisponiveis indiceDisponiveis;
+
+    @Value("${frota.rastreamento.buffer.max-motoristas:50000}")
+    private int maxPendentes;
+
+    @Value("${frota.rastreamento.lote:500}")
+    private int tamanhoLote;
+
+    @Value("${frota.rastreamento.durabilidade:buffer}")
+    private String durabilidade;
+
+    private final ConcurrentHashMap<Long, PosicaoMotorista> pendentes = new ConcurrentHashMap<>();
+
+    // Motoristas que já existem no banco: evita uma consulta por ping
+    private final Set<Long> motoristasConhecidos = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger tamanhoBuffer = new AtomicInteger();
+
+    // Última posição aceita de cada motorista, gravada ou não
+    private final ConcurrentHashMap<Long, PosicaoMotorista> ultimas = new ConcurrentHashMap<>();
+
+    private boolean sincrona;
+
+    private Counter recebidas;
+    private Counter coalescidas;
+    private Counter rejeitadas;
+    private Counter gravadas;
+    private Timer duracaoGravacao;
+
+    @PostConstruct
+    void inicializar() {
+        sincrona = "sincrona".equalsIgnoreCase(durabilidade.trim());
+        recebidas = Counter.builder("frota.rastreamento.posicoes").tag("resultado", "recebida").register(meterRegistry);
+        coalescidas = Counter.builder("frota.rastreamento.posicoes").tag("resultado", "coalescida").register(meterRegistry);
+        rejeitadas = Counter.builder("frota.rastreamento.posicoes").tag("resultado", "rejeitada").register(meterRegistry);
+        gravadas = Counter.builder("frota.rastreamento.posicoes").tag("resultado", "gravada").register(meterRegistry);
+        duracaoGravacao = Timer.builder("frota.rastreamento.gravacao")
+                .description("Tempo de gravação de um ciclo de posições")
+                .register(meterRegistry);
+        Gauge.builder("frota.rastreamento.buffer", tamanhoBuffer, AtomicInteger::get)
+                .description("Motoristas com posição pendente de gravação")
+                .register(meterRegistry);
+        Gauge.builder("frota.rastreamento.buffer.capacidade", () -> maxPendentes)
+                .register(meterRegistry);
+        logger.info("Ingestão de posições em modo {}", sincrona ? "síncrono" : "buffer");
+    }
+
+    /**
+     * Registra a posição do motorista. Lança {@link MotoristaNotFoundException} se o
+     * motorista não existe e {@link RastreamentoSobrecarregadoException} se o buffer
+     * estiver cheio.
+     */
+    public void registrar(Long motoristaId, double latitude, double longitude) {
+        verificarMotorista(motoristaId);
+        recebidas.increment();
+        PosicaoMotorista posicao = new PosicaoMotorista(motoristaId, latitude, longitude, LocalDateTime.now());
+
+        if (sincrona) {
+            gravar(List.of(posicao));
+            historicoPosicoes.gravar(List.of(posicao));
+            indiceDisponiveis.atualizarPosicao(motoristaId, latitude, longitude);
+            ultimas.put(motoristaId, posicao);
+            return;
+        }
+        historicoPosicoes.anexar(posicao);
+
+        boolean[] rejeitada = {false};
+        pendentes.compute(motoristaId, (id, anterior) -> {
+            if (anterior != null) {
+                coalescidas.increment();
+                return posicao;
+            }
+            if (tamanhoBuffer.get() >= maxPendentes) {
+                rejeitada[0] = true;
+                return null;
+            }
+            tamanhoBuffer.incrementAndGet();
+            return posicao;
+        });
+        if (rejeitada[0]) {
+            rejeitadas.increment();
+            throw new RastreamentoSobrecarregadoException("Buffer de rastreamento cheio, tente novamente");
+        }
+        indiceDisponiveis.atualizarPosicao(motoristaId, latitude, longitude);
+        ultimas.put(motoristaId, posicao);
+    }
+
+    /**
+     * Última posição ainda não gravada do motorista, se houver
+     */
+    public PosicaoMotorista pendente(Long motoristaId) {
+        return pendentes.get(motoristaId);
+    }
+
+    /**
+     * Última posição aceita do motorista desde a subida da aplicação, se houver
+     */
+    public PosicaoMotorista ultimaPosicao(Long motoristaId) {
+        return ultimas.get(motoristaId);
+    }
+
+    private void verificarMotorista(Long motoristaId) {
+        if (motoristasConhecidos.contains(motoristaId)) {
+            return;
+        }
+        if (!motoristaRepository.existsById(motoristaId)) {
+            throw new MotoristaNotFoundException("Motorista não encontrado com id: " + motoristaId);
+        }
+        motoristasConhecidos.add(motoristaId);
+    }
+
+    @Scheduled(fixedDelayString = "${frota.rastreamento.intervalo-gravacao:PT1S}")
+    public void descarregar() {
+        if (pendentes.isEmpty()) {
+            return;
+        }
+        List<PosicaoMotorista> lote = new ArrayList<>(Math.min(tamanhoBuffer.get(), tamanhoLote));
+        for (Map.Entry<Long, PosicaoMotorista> entrada : pendentes.entrySet()) {
+            // Remove só se não chegou posição mais nova enquanto iterava
+            if (pendentes.remove(entrada.getKey(), entrada.getValue())) {
+                tamanhoBuffer.decrementAndGet();
+                lote.add(entrada.getValue());
+            }
+            if (lote.size() == tamanhoLote) {
+                gravarOuDevolver(lote);
+                lote = new ArrayList<>(tamanhoLote);
+            }
+        }
+        if (!lote.isEmpty()) {
+            gravarOuDevolver(lote);
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        descarregar();
+    }
+
+    private void gravarOuDevolver(List<PosicaoMotorista> lote) {
+        try {
+            gravar(lote);
+        } catch (RuntimeException e) {
+            logger.error("Falha ao gravar {} posições, tentando no próximo ciclo", lote.size(), e);
+            for (PosicaoMotorista posicao : lote) {
+                // Não sobrescreve uma posição mais nova que tenha chegado nesse meio tempo
+                if (pendentes.putIfAbsent(posicao.motoristaId(), posicao) == null) {
+                    tamanhoBuffer.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private void gravar(List<PosicaoMotorista> lote) {
+        duracaoGravacao.record(() -> {
+            int[][] resultados = jdbcTemplate.batchUpdate(SQL_ATUALIZAR, lote, tamanhoLote, (ps, posicao) -> {
+                ps.setDouble(1, posicao.latitude());
+                ps.setDouble(2, posicao.longitude());
+                ps.setLong(3, posicao.motoristaId());
+            });
+            int i = 0;
+            for (int[] bloco : resultados) {
+                for (int linhas : bloco) {
+                    if (linhas == 0) {
+                        // Motorista removido depois de entrar no cache
+                        motoristasConhecidos.remove(lote.get(i).motoristaId());
+                    }
+                    i++;
+                }
+            }
+        });
+        gravadas.increment(lote.size());
+    }
+}
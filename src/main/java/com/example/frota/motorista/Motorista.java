@@ -43,10 +43,12 @@ public class Motorista {
     @Size(min = 11, max = 11, message = "CNH deve ter 11 caracteres")
     private String cnh;
     
-    @Column(name = "latitude_atual")
+    // Gravadas só pela IngestaoPosicoes (UPDATE em lote); salvar a entidade não
+    // pode devolver ao banco a posição lida antes de um ping mais novo
+    @Column(name = "latitude_atual", updatable = false)
     private Double latitudeAtual;
     
-    @Column(name = "longitude_atual")
+    @Column(name = "longitude_atual", updatable = false)
     private Double longitudeAtual;
     
     @Column(name = "telefone_whatsapp")
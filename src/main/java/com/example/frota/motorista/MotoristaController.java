@@ -1,11 +1,14 @@
 package com.example.frota.motorista;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -21,6 +24,7 @@ import com.example.frota.errors.MotoristaNotFoundException;
 import com.example.frota.errors.CpfJaExisteException;
 import com.example.frota.errors.CnhJaExisteException;
 import com.example.frota.errors.MotoristaInativoException;
+import com.example.frota.errors.RastreamentoSobrecarregadoException;
 import com.example.frota.transporte.DetalheTransporteDto;
 
 import jakarta.validation.Valid;
@@ -81,12 +85,45 @@ public class MotoristaController {
     public ResponseEntity<Void> atualizarLocalizacao(@PathVariable Long id, @RequestParam Double latitude, @RequestParam Double longitude) {
         try {
             motoristaService.atualizarLocalizacao(id, latitude, longitude);
-            return ResponseEntity.ok().build();
+            return ResponseEntity.accepted().build();
         } catch (MotoristaNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    /**
+     * Histórico de posições do motorista. Sem janela informada, devolve as últimas 24 horas;
+     * toleranciaM > 0 simplifica o trajeto (Douglas-Peucker)
+     */
+    @GetMapping("/{id}/historico")
+    public ResponseEntity<HistoricoRotaDto> historico(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @RequestParam(defaultValue = "0") double toleranciaM) {
+        LocalDateTime fimJanela = fim != null ? fim : LocalDateTime.now();
+        LocalDateTime inicioJanela = inicio != null ? inicio : fimJanela.minusHours(24);
+        try {
+            return ResponseEntity.ok(motoristaService.buscarHistorico(id, inicioJanela, fimJanela, toleranciaM));
+        } catch (MotoristaNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Motoristas disponíveis mais próximos de um ponto (ex.: origem de uma coleta)
+     */
+    @GetMapping("/proximos")
+    public ResponseEntity<List<MotoristaProximoDto>> buscarProximos(@RequestParam double latitude,
+                                                                    @RequestParam double longitude,
+                                                                    @RequestParam(defaultValue = "5") int k,
+                                                                    @RequestParam(required = false) Double raioKm) {
+        if (k < 1 || k > 100) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(motoristaService.buscarProximos(latitude, longitude, k, raioKm));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<DadosDetalhamentoMotorista> buscarPorId(@PathVariable Long id) {
         try {
@@ -158,6 +195,8 @@ public class MotoristaController {
             return ResponseEntity.ok(motoristaDto);
         } catch (MotoristaNotFoundException e) {
              return ResponseEntity.notFound().build();
+        } catch (RastreamentoSobrecarregadoException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
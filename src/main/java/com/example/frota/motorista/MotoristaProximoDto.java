@@ -0,0 +1,14 @@
+package com.example.frota.motorista;
+
+/**
+ * Motorista disponível próximo a um ponto, com a distância em linha reta
+ */
+public record MotoristaProximoDto(
+        Long id,
+        String nome,
+        String telefoneWhatsapp,
+        double latitude,
+        double longitude,
+        double distanciaKm
+) {
+}
@@ -1,20 +1,28 @@
 package com.example.frota.motorista;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.example.frota.errors.MotoristaNotFoundException;
 import com.example.frota.errors.CpfJaExisteException;
 import com.example.frota.errors.CnhJaExisteException;
 import com.example.frota.errors.MotoristaInativoException;
 import com.example.frota.errors.TransporteNotFoundException;
+import com.example.frota.notificacao.OutboxNotificacoes;
 import com.example.frota.transporte.DetalheTransporteDto;
 import com.example.frota.transporte.Transporte;
 import com.example.frota.viagem.Viagem;
@@ -34,10 +42,20 @@ public class MotoristaService {
     @Autowired
     private TransporteService transporteService;
 
-    // Simulação de NotificaçãoService para WhatsApp
-    private void simularNotificacaoWhatsapp(String telefone, String mensagem) {
-        System.out.println("SIMULAÇÃO DE NOTIFICAÇÃO WHATSAPP para " + telefone + ": " + mensagem);
-    }
+    @Autowired
+    private IngestaoPosicoes ingestaoPosicoes;
+
+    @Autowired
+    private HistoricoPosicoes historicoPosicoes;
+
+    @Autowired
+    private OutboxNotificacoes outboxNotificacoes;
+
+    @Autowired
+    private IndiceMotoristasDisponiveis indiceDisponiveis;
+
+    @Value("${frota.motorista.proximos.raio-max-km:500}")
+    private double raioMaximoKm = 500;
 
     @Transactional
     public DadosDetalhamentoMotorista cadastrarMotorista(DadosCadastroMotorista dados) {
@@ -109,6 +127,7 @@ public class MotoristaService {
 
         motorista.setDisponivel(disponivel);
         motorista = motoristaRepository.save(motorista);
+        sincronizarIndice(motorista);
         return new DadosDetalhamentoMotorista(motorista);
     }
 
@@ -125,17 +144,15 @@ public class MotoristaService {
         }
 
         motorista = motoristaRepository.save(motorista);
+        sincronizarIndice(motorista);
         return new DadosDetalhamentoMotorista(motorista);
     }
 
-    @Transactional
+    /**
+     * Enfileira a posição para gravação em lote (ver {@link IngestaoPosicoes})
+     */
     public void atualizarLocalizacao(Long id, Double latitude, Double longitude) {
-        Motorista motorista = motoristaRepository.findById(id)
-                .orElseThrow(() -> new MotoristaNotFoundException("Motorista não encontrado com id: " + id));
-
-        motorista.setLatitudeAtual(latitude);
-        motorista.setLongitudeAtual(longitude);
-        motoristaRepository.save(motorista);
+        ingestaoPosicoes.registrar(id, latitude, longitude);
     }
 
     public DadosDetalhamentoMotorista buscarPorId(Long id) {
@@ -177,6 +194,33 @@ public class MotoristaService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Os {@code k} motoristas disponíveis mais próximos do ponto, consultando o índice em memória
+     */
+    public List<MotoristaProximoDto> buscarProximos(double latitude, double longitude, int k, Double raioKm) {
+        double raio = raioKm != null ? Math.min(raioKm, raioMaximoKm) : raioMaximoKm;
+        List<IndiceMotoristasDisponiveis.Vizinho> vizinhos = indiceDisponiveis.proximos(latitude, longitude, k, raio);
+        if (vizinhos.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Motorista> motoristas = motoristaRepository.findAllById(
+                vizinhos.stream().map(IndiceMotoristasDisponiveis.Vizinho::motoristaId).toList())
+            .stream()
+            .collect(Collectors.toMap(Motorista::getId, Function.identity()));
+
+        List<MotoristaProximoDto> proximos = new ArrayList<>(vizinhos.size());
+        for (IndiceMotoristasDisponiveis.Vizinho vizinho : vizinhos) {
+            Motorista motorista = motoristas.get(vizinho.motoristaId());
+            if (motorista != null) {
+                proximos.add(new MotoristaProximoDto(motorista.getId(), motorista.getNome(),
+                        motorista.getTelefoneWhatsapp(), vizinho.latitude(), vizinho.longitude(),
+                        vizinho.distanciaKm()));
+            }
+        }
+        return proximos;
+    }
+
     public Long contarDisponiveis() {
         return motoristaRepository.countMotoristaDisponiveis();
     }
@@ -193,18 +237,30 @@ public class MotoristaService {
         return new DadosDetalhamentoMotorista(motorista);
     }
 
+    /**
+     * Trajeto do motorista na janela [inicio, fim), simplificado com a tolerância em metros
+     */
+    public HistoricoRotaDto buscarHistorico(Long id, LocalDateTime inicio, LocalDateTime fim, double toleranciaMetros) {
+        if (!motoristaRepository.existsById(id)) {
+            throw new MotoristaNotFoundException("Motorista não encontrado com id: " + id);
+        }
+        if (!inicio.isBefore(fim)) {
+            throw new IllegalArgumentException("O início da janela deve ser anterior ao fim");
+        }
+        return historicoPosicoes.trajetoDoMotorista(id, inicio, fim, toleranciaMetros);
+    }
+
     // Métodos legacy para rastreamento - mantidos por compatibilidade
     @Transactional 
     public DetalheMotoristaDto atualizarRastreamento(DadosRastreamento dto) {
         Motorista motorista = motoristaRepository.findById(dto.motoristaId())
                 .orElseThrow(() -> new MotoristaNotFoundException("Motorista não encontrado com ID: " + dto.motoristaId()));
 
-        motorista.setLatitudeAtual(dto.latitude());
-        motorista.setLongitudeAtual(dto.longitude());
+        // A posição é gravada em lote pela ingestão; a entidade não é alterada
+        ingestaoPosicoes.registrar(motorista.getId(), dto.latitude(), dto.longitude());
 
-        List<Viagem> viagensEmCurso = viagemRepository.findAll().stream()
-                .filter(v -> !v.isFinalizada() && v.getCaminhao() != null)
-                .toList();
+        // Apenas as viagens em curso deste motorista, com os transportes em uma única consulta
+        List<Viagem> viagensEmCurso = viagemRepository.findEmCursoByMotoristaIdComTransportes(motorista.getId());
 
         for (Viagem viagem : viagensEmCurso) {
             for (Transporte transporte : viagem.getTransportes()) {
@@ -212,14 +268,16 @@ public class MotoristaService {
                      if (dto.latitude() > 0.0) { 
                         transporteService.atualizarStatus(transporte.getId(), StatusEntrega.A_CAMINHO_DA_ENTREGA);
                         String mensagem = "Seu produto (" + transporte.getProduto() + ") está a caminho da entrega! Prepare-se para recebê-lo.";
-                        simularNotificacaoWhatsapp(motorista.getTelefoneWhatsapp(), mensagem);
+                        // Enviada depois do commit pelo DespachanteNotificacoes
+                        outboxNotificacoes.registrar(motorista.getTelefoneWhatsapp(), mensagem,
+                                "a-caminho:" + transporte.getId());
                     }
                 }
             }
         }
 
-        Motorista atualizado = motoristaRepository.save(motorista);
-        return new DetalheMotoristaDto(atualizado);
+        return new DetalheMotoristaDto(motorista.getId(), motorista.getNome(), motorista.getCpf(),
+                dto.latitude(), dto.longitude(), motorista.getTelefoneWhatsapp());
     }
 
     @Transactional
@@ -232,10 +290,47 @@ public class MotoristaService {
 
     // Métodos legacy - mantidos por compatibilidade
     public Motorista salvar(Motorista motorista) {
-        return motoristaRepository.save(motorista);
+        Motorista salvo = motoristaRepository.save(motorista);
+        sincronizarIndice(salvo);
+        return salvo;
     }
     
     public Optional<Motorista> procurarPorId(Long id) {
         return motoristaRepository.findById(id);
     }
+
+    // Aplicado só depois do commit: um rollback não pode deixar o índice divergente do banco.
+    // As colunas de posição só mudam pelo flush da ingestão, então a entidade pode ter sido lida
+    // antes dele; vale a última posição aceita pela ingestão e, sem nenhuma desde a subida, a do banco
+    private void sincronizarIndice(Motorista motorista) {
+        if (motorista == null || motorista.getId() == null) {
+            return;
+        }
+        Long id = motorista.getId();
+        boolean disponivel = Boolean.TRUE.equals(motorista.getAtivo()) && Boolean.TRUE.equals(motorista.getDisponivel());
+        Double latitude = motorista.getLatitudeAtual();
+        Double longitude = motorista.getLongitudeAtual();
+        Runnable atualizar = () -> {
+            if (!disponivel) {
+                indiceDisponiveis.remover(id);
+                return;
+            }
+            PosicaoMotorista ultima = ingestaoPosicoes.ultimaPosicao(id);
+            if (ultima != null) {
+                indiceDisponiveis.marcarDisponivel(id, ultima.latitude(), ultima.longitude());
+            } else {
+                indiceDisponiveis.marcarDisponivel(id, latitude, longitude);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    atualizar.run();
+                }
+            });
+        } else {
+            atualizar.run();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.example.frota.motorista;
+
+import java.time.LocalDateTime;
+
+public record PontoRota(
+    double latitude,
+    double longitude,
+    LocalDateTime registradaEm
+) {
+}
@@ -0,0 +1,14 @@
+package com.example.frota.motorista;
+
+import java.time.LocalDateTime;
+
+/**
+ * Posição GPS recebida de um motorista
+ */
+public record PosicaoMotorista(
+    Long motoristaId,
+    double latitude,
+    double longitude,
+    LocalDateTime recebidaEm
+) {
+}
@@ -0,0 +1,139 @@
+package com.example.frota.notificacao;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Envia as notificações do outbox em segundo plano. A cada ciclo lê um lote de
+ * pendentes, agrupa por telefone (uma chamada ao enviador por telefone), descarta
+ * as repetidas (mesma chave ou mesmo texto para o mesmo telefone) e marca o
+ * resultado. Nenhuma transação fica aberta durante o envio; falhas são
+ * reagendadas com backoff exponencial até {@code frota.notificacao.max-tentativas}.
+ */
+@Component
+public class DespachanteNotificacoes {
+    private static final Logger logger = LoggerFactory.getLogger(DespachanteNotificacoes.class);
+
+    @Autowired
+    private NotificacaoRepository notificacaoRepository;
+
+    @Autowired
+    private List<EnviadorNotificacao> enviadores;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${frota.notificacao.enviador:log}")
+    private String tipoEnviador;
+
+    @Value("${frota.notificacao.lote:200}")
+    private int tamanhoLote;
+
+    @Value("${frota.notificacao.max-tentativas:8}")
+    private int maxTentativas;
+
+    @Value("${frota.notificacao.backoff-inicial:PT30S}")
+    private Duration backoffInicial;
+
+    @Value("${frota.notificacao.backoff-maximo:PT30M}")
+    private Duration backoffMaximo;
+
+    @Value("${frota.notificacao.retencao:P7D}")
+    private Duration retencao;
+
+    private EnviadorNotificacao enviador;
+
+    private Counter enviadas;
+    private Counter descartadas;
+    private Counter falhas;
+
+    @PostConstruct
+    void inicializar() {
+        enviador = enviadores.stream()
+                .filter(e -> e.nome().equalsIgnoreCase(tipoEnviador.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Enviador de notificação desconhecido: " + tipoEnviador));
+        enviadas = Counter.builder("frota.notificacao.mensagens").tag("resultado", "enviada").register(meterRegistry);
+        descartadas = Counter.builder("frota.notificacao.mensagens").tag("resultado", "descartada").register(meterRegistry);
+        falhas = Counter.builder("frota.notificacao.mensagens").tag("resultado", "falha").register(meterRegistry);
+        logger.info("Notificações enviadas pelo enviador '{}'", enviador.nome());
+    }
+
+    @Scheduled(fixedDelayString = "${frota.notificacao.intervalo:PT2S}")
+    public void despachar() {
+        List<Notificacao> pendentes;
+        do {
+            pendentes = notificacaoRepository.findPendentes(LocalDateTime.now(), Limit.of(tamanhoLote));
+            if (!pendentes.isEmpty()) {
+                despacharLote(pendentes);
+            }
+        } while (pendentes.size() == tamanhoLote);
+    }
+
+    void despacharLote(List<Notificacao> lote) {
+        Map<String, List<Notificacao>> porTelefone = new LinkedHashMap<>();
+        for (Notificacao notificacao : lote) {
+            porTelefone.computeIfAbsent(notificacao.getTelefone(), t -> new ArrayList<>()).add(notificacao);
+        }
+
+        List<Long> repetidas = new ArrayList<>();
+        for (Map.Entry<String, List<Notificacao>> grupo : porTelefone.entrySet()) {
+            Map<String, Notificacao> unicas = new LinkedHashMap<>();
+            List<Long> ids = new ArrayList<>();
+            int tentativas = 0;
+            for (Notificacao notificacao : grupo.getValue()) {
+                String identidade = notificacao.getChave() != null ? notificacao.getChave() : notificacao.getMensagem();
+                if (unicas.putIfAbsent(identidade, notificacao) == null) {
+                    ids.add(notificacao.getId());
+                    tentativas = Math.max(tentativas, notificacao.getTentativas());
+                } else {
+                    repetidas.add(notificacao.getId());
+                }
+            }
+
+            List<String> mensagens = unicas.values().stream().map(Notificacao::getMensagem).toList();
+            try {
+                enviador.enviar(grupo.getKey(), mensagens);
+                notificacaoRepository.marcar(ids, StatusNotificacao.ENVIADA, LocalDateTime.now());
+                enviadas.increment(ids.size());
+            } catch (RuntimeException e) {
+                falhas.increment(ids.size());
+                notificacaoRepository.reagendar(ids, LocalDateTime.now().plus(backoff(tentativas)), maxTentativas);
+                logger.warn("Falha ao enviar {} notificações para {} (tentativa {}): {}",
+                        ids.size(), grupo.getKey(), tentativas + 1, e.getMessage());
+            }
+        }
+
+        if (!repetidas.isEmpty()) {
+            notificacaoRepository.marcar(repetidas, StatusNotificacao.DESCARTADA, LocalDateTime.now());
+            descartadas.increment(repetidas.size());
+        }
+    }
+
+    Duration backoff(int tentativas) {
+        Duration espera = backoffInicial.multipliedBy(1L << Math.min(tentativas, 20));
+        return espera.compareTo(backoffMaximo) > 0 ? backoffMaximo : espera;
+    }
+
+    @Scheduled(cron = "${frota.notificacao.limpeza-cron:0 45 3 * * *}")
+    public void apagarAntigas() {
+        int apagadas = notificacaoRepository.apagarConcluidasAntes(LocalDateTime.now().minus(retencao));
+        logger.info("{} notificações antigas removidas do outbox", apagadas);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.frota.notificacao;
+
+import java.util.List;
+
+/**
+ * Canal de envio das notificações (ex.: WhatsApp). Recebe todas as mensagens
+ * pendentes de um mesmo telefone de uma vez; deve lançar exceção se o envio
+ * falhar, para que o {@link DespachanteNotificacoes} tente de novo mais tarde.
+ */
+public interface EnviadorNotificacao {
+
+    String nome();
+
+    void enviar(String telefone, List<String> mensagens);
+}
@@ -0,0 +1,26 @@
+package com.example.frota.notificacao;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Enviador local: só registra as mensagens no log. Usado enquanto não há
+ * integração com o WhatsApp.
+ */
+@Component
+public class LogEnviadorNotificacao implements EnviadorNotificacao {
+    private static final Logger logger = LoggerFactory.getLogger(LogEnviadorNotificacao.class);
+
+    @Override
+    public String nome() {
+        return "log";
+    }
+
+    @Override
+    public void enviar(String telefone, List<String> mensagens) {
+        logger.info("SIMULAÇÃO DE NOTIFICAÇÃO WHATSAPP para {}: {}", telefone, String.join(" | ", mensagens));
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.frota.notificacao;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outbox de notificações: a linha é gravada na mesma transação da regra de
+ * negócio que gerou a mensagem e enviada depois pelo {@link DespachanteNotificacoes}.
+ * {@code chave} identifica mensagens repetidas (ex.: "a caminho" do mesmo transporte).
+ */
+@Entity
+@Table(name = "notificacao_outbox", indexes = {
+    @Index(name = "idx_notificacao_status_proxima", columnList = "status, proxima_tentativa_em"),
+    @Index(name = "idx_notificacao_chave", columnList = "chave")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class Notificacao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "telefone", nullable = false, length = 30)
+    private String telefone;
+
+    @Column(name = "mensagem", nullable = false, length = 1000)
+    private String mensagem;
+
+    @Column(name = "chave", length = 100)
+    private String chave;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private StatusNotificacao status = StatusNotificacao.PENDENTE;
+
+    @Column(name = "tentativas", nullable = false)
+    private int tentativas;
+
+    @Column(name = "proxima_tentativa_em", nullable = false)
+    private LocalDateTime proximaTentativaEm;
+
+    @Column(name = "criada_em", nullable = false)
+    private LocalDateTime criadaEm;
+
+    @Column(name = "enviada_em")
+    private LocalDateTime enviadaEm;
+
+    public Notificacao(String telefone, String mensagem, String chave, LocalDateTime agora) {
+        this.telefone = telefone;
+        this.mensagem = mensagem;
+        this.chave = chave;
+        this.criadaEm = agora;
+        this.proximaTentativaEm = agora;
+    }
+}
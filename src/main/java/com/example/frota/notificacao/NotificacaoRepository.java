@@ -0,0 +1,54 @@
+package com.example.frota.notificacao;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface NotificacaoRepository extends JpaRepository<Notificacao, Long> {
+
+    boolean existsByChave(String chave);
+
+    // Pendentes cuja próxima tentativa já venceu, na ordem de criação
+    @Query("""
+            SELECT n FROM Notificacao n
+            WHERE n.status = com.example.frota.notificacao.StatusNotificacao.PENDENTE
+              AND n.proximaTentativaEm <= :agora
+            ORDER BY n.id""")
+    List<Notificacao> findPendentes(@Param("agora") LocalDateTime agora, Limit limite);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Notificacao n SET n.status = :status, n.enviadaEm = :agora WHERE n.id IN :ids")
+    int marcar(@Param("ids") Collection<Long> ids, @Param("status") StatusNotificacao status,
+               @Param("agora") LocalDateTime agora);
+
+    /**
+     * Conta mais uma tentativa e reagenda; passa a FALHOU quando atinge o máximo de tentativas
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE Notificacao n SET n.tentativas = n.tentativas + 1, n.proximaTentativaEm = :proxima,
+                n.status = CASE WHEN n.tentativas + 1 >= :maxTentativas
+                    THEN com.example.frota.notificacao.StatusNotificacao.FALHOU
+                    ELSE com.example.frota.notificacao.StatusNotificacao.PENDENTE END
+            WHERE n.id IN :ids""")
+    int reagendar(@Param("ids") Collection<Long> ids, @Param("proxima") LocalDateTime proxima,
+                  @Param("maxTentativas") int maxTentativas);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            DELETE FROM Notificacao n
+            WHERE n.status <> com.example.frota.notificacao.StatusNotificacao.PENDENTE AND n.criadaEm < :limite""")
+    int apagarConcluidasAntes(@Param("limite") LocalDateTime limite);
+}
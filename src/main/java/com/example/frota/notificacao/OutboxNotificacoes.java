@@ -0,0 +1,35 @@
+package com.example.frota.notificacao;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Registra notificações para envio assíncrono. A gravação participa da
+ * transação de quem chama: a mensagem só existe se a regra de negócio for
+ * confirmada, e nenhum envio acontece dentro dessa transação.
+ */
+@Service
+public class OutboxNotificacoes {
+
+    @Autowired
+    private NotificacaoRepository notificacaoRepository;
+
+    /**
+     * Enfileira a mensagem. Com {@code chave} informada, mensagens com a mesma
+     * chave já registradas não são gravadas de novo.
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void registrar(String telefone, String mensagem, String chave) {
+        if (telefone == null || telefone.isBlank()) {
+            return;
+        }
+        if (chave != null && notificacaoRepository.existsByChave(chave)) {
+            return;
+        }
+        notificacaoRepository.save(new Notificacao(telefone, mensagem, chave, LocalDateTime.now()));
+    }
+}
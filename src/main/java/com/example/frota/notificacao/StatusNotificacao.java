@@ -0,0 +1,8 @@
+package com.example.frota.notificacao;
+
+public enum StatusNotificacao {
+    PENDENTE,
+    ENVIADA,
+    DESCARTADA,
+    FALHOU
+}
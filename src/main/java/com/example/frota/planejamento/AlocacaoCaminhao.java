@@ -0,0 +1,14 @@
+package com.example.frota.planejamento;
+
+import java.util.List;
+
+/**
+ * Um caminhão do plano de frota, com o motorista designado e os transportes que leva
+ */
+public record AlocacaoCaminhao(
+    Long motoristaId,
+    String motoristaNome,
+    List<Long> transportesIds,
+    PlanoCarga carga
+) {
+}
@@ -0,0 +1,284 @@
+package com.example.frota.planejamento;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Empacotamento 3D por pontos extremos (extreme points). As caixas são
+ * colocadas da maior para a menor; cada uma vai para o primeiro ponto extremo
+ * (ordenado por altura, depois comprimento e largura) onde cabe sem sobrepor
+ * outra caixa e com pelo menos {@link #APOIO_MINIMO} da base apoiada no piso ou
+ * em caixas abaixo. A caixa pode girar no plano horizontal, mas a altura é
+ * mantida (este lado para cima).
+ *
+ * <p>Eixos: x = comprimento do baú, y = largura, z = altura, todos na mesma
+ * unidade das dimensões das caixas.
+ */
+final class EmpacotadorCarga {
+
+    static final double APOIO_MINIMO = 0.7;
+
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Uma unidade a ser carregada
+     */
+    record Item(Long transporteId, int unidade, double comprimento, double largura, double altura, double peso) {
+        double volume() {
+            return comprimento * largura * altura;
+        }
+    }
+
+    /**
+     * Resultado do empacotamento em um baú. {@code completo} é falso se algum item ficou de
+     * fora ou o prazo acabou antes de tentar todos.
+     */
+    record Resultado(List<Posicionamento> posicionamentos, List<Item> naoAlocados, boolean completo,
+                     double volumeOcupado, double pesoAlocado) {
+    }
+
+    private record Ponto(double x, double y, double z) {
+    }
+
+    private final double comprimento;
+    private final double largura;
+    private final double altura;
+    private final double cargaMaxima;
+
+    private final List<Posicionamento> colocados = new ArrayList<>();
+    private final List<Ponto> pontos = new ArrayList<>();
+    private double pesoAlocado;
+    private double volumeOcupado;
+
+    EmpacotadorCarga(double comprimento, double largura, double altura, double cargaMaxima) {
+        this.comprimento = comprimento;
+        this.largura = largura;
+        this.altura = altura;
+        this.cargaMaxima = cargaMaxima;
+    }
+
+    /**
+     * Empacota os itens até {@code prazoNanos} (valor de {@link System#nanoTime()}).
+     * Com {@code pararNaPrimeiraFalha}, desiste assim que um item não couber.
+     */
+    Resultado empacotar(List<Item> itens, long prazoNanos, boolean pararNaPrimeiraFalha) {
+        List<Item> ordenados = new ArrayList<>(itens);
+        ordenados.sort(Comparator.comparingDouble(Item::volume).reversed()
+                .thenComparing(Comparator.comparingDouble(Item::altura).reversed()));
+
+        reiniciar();
+
+        List<Item> naoAlocados = new ArrayList<>();
+        boolean completo = true;
+        for (int i = 0; i < ordenados.size(); i++) {
+            Item item = ordenados.get(i);
+            if (System.nanoTime() - prazoNanos > 0) {
+                naoAlocados.addAll(ordenados.subList(i, ordenados.size()));
+                completo = false;
+                break;
+            }
+            if (!colocar(item)) {
+                naoAlocados.add(item);
+                completo = false;
+                if (pararNaPrimeiraFalha) {
+                    naoAlocados.addAll(ordenados.subList(i + 1, ordenados.size()));
+                    break;
+                }
+            }
+        }
+        return new Resultado(List.copyOf(colocados), naoAlocados, completo, volumeOcupado, pesoAlocado);
+    }
+
+    /**
+     * Esvazia o baú
+     */
+    void reiniciar() {
+        colocados.clear();
+        pontos.clear();
+        pontos.add(new Ponto(0, 0, 0));
+        pesoAlocado = 0;
+        volumeOcupado = 0;
+    }
+
+    /**
+     * Coloca todos os itens sobre o que já está no baú, ou nenhum: se algum não couber,
+     * o baú volta ao estado anterior. Usado para carregar um transporte inteiro por vez.
+     */
+    boolean adicionar(List<Item> itens) {
+        double pesoItens = 0;
+        double volumeItens = 0;
+        for (Item item : itens) {
+            pesoItens += item.peso();
+            volumeItens += item.volume();
+        }
+        if (pesoAlocado + pesoItens > cargaMaxima + EPSILON
+                || volumeOcupado + volumeItens > comprimento * largura * altura + EPSILON) {
+            return false;
+        }
+        int colocadosAntes = colocados.size();
+        List<Ponto> pontosAntes = new ArrayList<>(pontos);
+        double pesoAntes = pesoAlocado;
+        double volumeAntes = volumeOcupado;
+        for (Item item : itens) {
+            if (!colocar(item)) {
+                colocados.subList(colocadosAntes, colocados.size()).clear();
+                pontos.clear();
+                pontos.addAll(pontosAntes);
+                pesoAlocado = pesoAntes;
+                volumeOcupado = volumeAntes;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    List<Posicionamento> posicionamentos() {
+        return List.copyOf(colocados);
+    }
+
+    double volumeOcupado() {
+        return volumeOcupado;
+    }
+
+    double pesoAlocado() {
+        return pesoAlocado;
+    }
+
+    private boolean colocar(Item item) {
+        if (pesoAlocado + item.peso() > cargaMaxima + EPSILON) {
+            return false;
+        }
+        for (int p = 0; p < pontos.size(); p++) {
+            Ponto ponto = pontos.get(p);
+            for (int giro = 0; giro < 2; giro++) {
+                double c = giro == 0 ? item.comprimento() : item.largura();
+                double l = giro == 0 ? item.largura() : item.comprimento();
+                if (giro == 1 && Math.abs(c - l) < EPSILON) {
+                    break;
+                }
+                if (cabe(ponto, c, l, item.altura())) {
+                    Posicionamento posicionamento = new Posicionamento(item.transporteId(), item.unidade(),
+                            ponto.x(), ponto.y(), ponto.z(), c, l, item.altura());
+                    colocados.add(posicionamento);
+                    pontos.remove(p);
+                    pesoAlocado += item.peso();
+                    volumeOcupado += item.volume();
+                    adicionarPontos(posicionamento);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean cabe(Ponto ponto, double c, double l, double a) {
+        if (ponto.x() + c > comprimento + EPSILON || ponto.y() + l > largura + EPSILON
+                || ponto.z() + a > altura + EPSILON) {
+            return false;
+        }
+        for (Posicionamento outro : colocados) {
+            if (ponto.x() < outro.x() + outro.comprimento() - EPSILON && outro.x() < ponto.x() + c - EPSILON
+                    && ponto.y() < outro.y() + outro.largura() - EPSILON && outro.y() < ponto.y() + l - EPSILON
+                    && ponto.z() < outro.z() + outro.altura() - EPSILON && outro.z() < ponto.z() + a - EPSILON) {
+                return false;
+            }
+        }
+        return ponto.z() < EPSILON || areaApoiada(ponto, c, l) >= APOIO_MINIMO * c * l;
+    }
+
+    // Área da base apoiada sobre o topo das caixas que terminam exatamente na altura do ponto
+    private double areaApoiada(Ponto ponto, double c, double l) {
+        double area = 0;
+        for (Posicionamento abaixo : colocados) {
+            if (Math.abs(abaixo.z() + abaixo.altura() - ponto.z()) > EPSILON) {
+                continue;
+            }
+            double dx = Math.min(ponto.x() + c, abaixo.x() + abaixo.comprimento()) - Math.max(ponto.x(), abaixo.x());
+            double dy = Math.min(ponto.y() + l, abaixo.y() + abaixo.largura()) - Math.max(ponto.y(), abaixo.y());
+            if (dx > 0 && dy > 0) {
+                area += dx * dy;
+            }
+        }
+        return area;
+    }
+
+    /**
+     * Novos pontos extremos: à frente, ao lado e em cima da caixa colocada. Os dois
+     * primeiros "caem" até o piso ou o topo da caixa logo abaixo; o de cima é
+     * empurrado para trás e para a parede enquanto não houver caixa no caminho.
+     */
+    private void adicionarPontos(Posicionamento caixa) {
+        adicionarPonto(new Ponto(caixa.x() + caixa.comprimento(), caixa.y(), cair(caixa.x() + caixa.comprimento(), caixa.y(), caixa.z())));
+        adicionarPonto(new Ponto(caixa.x(), caixa.y() + caixa.largura(), cair(caixa.x(), caixa.y() + caixa.largura(), caixa.z())));
+
+        double topo = caixa.z() + caixa.altura();
+        adicionarPonto(new Ponto(caixa.x(), caixa.y(), topo));
+        adicionarPonto(new Ponto(recuarX(caixa.x(), caixa.y(), topo), caixa.y(), topo));
+        adicionarPonto(new Ponto(caixa.x(), recuarY(caixa.x(), caixa.y(), topo), topo));
+
+        pontos.sort(Comparator.comparingDouble(Ponto::z).thenComparingDouble(Ponto::x).thenComparingDouble(Ponto::y));
+    }
+
+    private void adicionarPonto(Ponto ponto) {
+        if (ponto.x() >= comprimento - EPSILON || ponto.y() >= largura - EPSILON || ponto.z() >= altura - EPSILON) {
+            return;
+        }
+        for (Ponto existente : pontos) {
+            if (Math.abs(existente.x() - ponto.x()) < EPSILON && Math.abs(existente.y() - ponto.y()) < EPSILON
+                    && Math.abs(existente.z() - ponto.z()) < EPSILON) {
+                return;
+            }
+        }
+        pontos.add(ponto);
+    }
+
+    // Maior topo de caixa abaixo de z que contém (x, y) na projeção; 0 se for o piso
+    private double cair(double x, double y, double z) {
+        double chao = 0;
+        for (Posicionamento outro : colocados) {
+            double topo = outro.z() + outro.altura();
+            if (topo <= z + EPSILON && topo > chao && contemXY(outro, x, y)) {
+                chao = topo;
+            }
+        }
+        return chao;
+    }
+
+    private double recuarX(double x, double y, double z) {
+        double limite = 0;
+        for (Posicionamento outro : colocados) {
+            double fim = outro.x() + outro.comprimento();
+            if (fim <= x + EPSILON && fim > limite && contemYZ(outro, y, z)) {
+                limite = fim;
+            }
+        }
+        return limite;
+    }
+
+    private double recuarY(double x, double y, double z) {
+        double limite = 0;
+        for (Posicionamento outro : colocados) {
+            double fim = outro.y() + outro.largura();
+            if (fim <= y + EPSILON && fim > limite && contemXZ(outro, x, z)) {
+                limite = fim;
+            }
+        }
+        return limite;
+    }
+
+    private static boolean contemXY(Posicionamento caixa, double x, double y) {
+        return x >= caixa.x() - EPSILON && x < caixa.x() + caixa.comprimento() - EPSILON
+                && y >= caixa.y() - EPSILON && y < caixa.y() + caixa.largura() - EPSILON;
+    }
+
+    private static boolean contemYZ(Posicionamento caixa, double y, double z) {
+        return y >= caixa.y() - EPSILON && y < caixa.y() + caixa.largura() - EPSILON
+                && z >= caixa.z() - EPSILON && z < caixa.z() + caixa.altura() - EPSILON;
+    }
+
+    private static boolean contemXZ(Posicionamento caixa, double x, double z) {
+        return x >= caixa.x() - EPSILON && x < caixa.x() + caixa.comprimento() - EPSILON
+                && z >= caixa.z() - EPSILON && z < caixa.z() + caixa.altura() - EPSILON;
+    }
+}
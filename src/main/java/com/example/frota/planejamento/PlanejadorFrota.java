@@ -0,0 +1,255 @@
+package com.example.frota.planejamento;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.frota.caminhao.Caminhao;
+import com.example.frota.transporte.Transporte;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Divide um lote de transportes entre vários caminhões. Cada candidato é uma
+ * heurística gulosa (abre o maior caminhão livre e coloca os transportes que
+ * couberem no empacotamento 3D, depois troca cada caminhão usado pelo menor que
+ * ainda comporte a sua carga) com uma ordem diferente de transportes e
+ * caminhões. Os candidatos rodam em paralelo num {@link ForkJoinPool} até o
+ * prazo, e vence o que deixa menos transportes de fora, usa menos caminhões e
+ * deixa menos espaço vazio, nessa ordem.
+ *
+ * <p>Um transporte vai inteiro para um único caminhão.
+ */
+@Component
+public class PlanejadorFrota {
+
+    @Value("${frota.planejamento.frota.candidatos:32}")
+    private int candidatos = 32;
+
+    @Value("${frota.planejamento.frota.paralelismo:0}")
+    private int paralelismo;
+
+    private ForkJoinPool pool;
+
+    /**
+     * Carga de um caminhão na solução
+     */
+    record Carga(Caminhao caminhao, List<Long> transportesIds, EmpacotadorCarga empacotador) {
+        double volumeVazio() {
+            return caminhao.getComprimento() * caminhao.getLargura() * caminhao.getAltura() - empacotador.volumeOcupado();
+        }
+    }
+
+    /**
+     * Melhor divisão encontrada
+     */
+    record Solucao(List<Carga> cargas, List<Long> naoAlocados, int candidatosAvaliados, boolean prazoEsgotado) {
+    }
+
+    private record Grupo(Long transporteId, List<EmpacotadorCarga.Item> itens, double volume, double peso) {
+    }
+
+    private record Avaliacao(List<Carga> cargas, List<Long> naoAlocados, double volumeVazio, boolean interrompida) {
+    }
+
+    private static final Comparator<Avaliacao> MELHOR = Comparator
+            .comparingInt((Avaliacao a) -> a.naoAlocados().size())
+            .thenComparingInt(a -> a.cargas().size())
+            .thenComparingDouble(Avaliacao::volumeVazio);
+
+    @PostConstruct
+    void inicializar() {
+        pool = new ForkJoinPool(paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void encerrar() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Divide os transportes entre no máximo {@code maxCaminhoes} dos caminhões dados,
+     * parando de gerar candidatos quando o prazo acabar
+     */
+    Solucao planejar(List<Transporte> transportes, List<Caminhao> caminhoes, int maxCaminhoes, Duration prazo) {
+        long limite = System.nanoTime() + prazo.toNanos();
+        List<Grupo> grupos = agrupar(transportes);
+
+        // O candidato base roda antes do paralelo para sempre haver uma resposta
+        Avaliacao base = avaliar(0, grupos, caminhoes, maxCaminhoes, limite);
+        int avaliados = 1;
+        if (candidatos > 1 && System.nanoTime() - limite < 0) {
+            Resultado paralelo = pool.invoke(new Busca(1, candidatos, grupos, caminhoes, maxCaminhoes, limite));
+            avaliados += paralelo.avaliados();
+            if (paralelo.melhor() != null && MELHOR.compare(paralelo.melhor(), base) < 0) {
+                base = paralelo.melhor();
+            }
+        }
+        return new Solucao(base.cargas(), base.naoAlocados(), avaliados,
+                base.interrompida() || System.nanoTime() - limite > 0);
+    }
+
+    private record Resultado(Avaliacao melhor, int avaliados) {
+    }
+
+    private static final class Busca extends RecursiveTask<Resultado> {
+        private final int inicio;
+        private final int fim;
+        private final List<Grupo> grupos;
+        private final List<Caminhao> caminhoes;
+        private final int maxCaminhoes;
+        private final long limite;
+
+        Busca(int inicio, int fim, List<Grupo> grupos, List<Caminhao> caminhoes, int maxCaminhoes, long limite) {
+            this.inicio = inicio;
+            this.fim = fim;
+            this.grupos = grupos;
+            this.caminhoes = caminhoes;
+            this.maxCaminhoes = maxCaminhoes;
+            this.limite = limite;
+        }
+
+        @Override
+        protected Resultado compute() {
+            if (System.nanoTime() - limite > 0) {
+                return new Resultado(null, 0);
+            }
+            if (fim - inicio == 1) {
+                Avaliacao avaliacao = avaliar(inicio, grupos, caminhoes, maxCaminhoes, limite);
+                // Um candidato cortado pelo prazo não é comparável aos completos
+                return avaliacao.interrompida() ? new Resultado(null, 0) : new Resultado(avaliacao, 1);
+            }
+            int meio = (inicio + fim) >>> 1;
+            Busca esquerda = new Busca(inicio, meio, grupos, caminhoes, maxCaminhoes, limite);
+            esquerda.fork();
+            Resultado direita = new Busca(meio, fim, grupos, caminhoes, maxCaminhoes, limite).compute();
+            Resultado outro = esquerda.join();
+            Avaliacao melhor = outro.melhor();
+            if (melhor == null || (direita.melhor() != null && MELHOR.compare(direita.melhor(), melhor) < 0)) {
+                melhor = direita.melhor();
+            }
+            return new Resultado(melhor, outro.avaliados() + direita.avaliados());
+        }
+    }
+
+    private static List<Grupo> agrupar(List<Transporte> transportes) {
+        Map<Long, List<EmpacotadorCarga.Item>> porTransporte = new HashMap<>();
+        for (EmpacotadorCarga.Item item : PlanejamentoService.itensDaCarga(transportes)) {
+            porTransporte.computeIfAbsent(item.transporteId(), id -> new ArrayList<>()).add(item);
+        }
+        List<Grupo> grupos = new ArrayList<>(transportes.size());
+        for (Transporte transporte : transportes) {
+            List<EmpacotadorCarga.Item> itens = porTransporte.get(transporte.getId());
+            double volume = itens.stream().mapToDouble(EmpacotadorCarga.Item::volume).sum();
+            grupos.add(new Grupo(transporte.getId(), itens, volume, transporte.getPeso()));
+        }
+        return grupos;
+    }
+
+    /**
+     * Candidato {@code semente}: 0 ordena por volume, 1 por peso e os demais por volume
+     * com ruído; a cada três candidatos os caminhões são abertos por carga máxima em vez de volume
+     */
+    private static Avaliacao avaliar(int semente, List<Grupo> grupos, List<Caminhao> caminhoes,
+                                     int maxCaminhoes, long limite) {
+        List<Grupo> ordem = new ArrayList<>(grupos);
+        if (semente == 1) {
+            ordem.sort(Comparator.comparingDouble(Grupo::peso).reversed());
+        } else if (semente == 0) {
+            ordem.sort(Comparator.comparingDouble(Grupo::volume).reversed());
+        } else {
+            Random random = new Random(semente);
+            Map<Long, Double> chave = new HashMap<>();
+            for (Grupo grupo : ordem) {
+                chave.put(grupo.transporteId(), grupo.volume() * (0.7 + 0.6 * random.nextDouble()));
+            }
+            ordem.sort(Comparator.comparingDouble((Grupo g) -> chave.get(g.transporteId())).reversed());
+        }
+
+        List<Caminhao> livres = new ArrayList<>(caminhoes);
+        livres.sort(semente % 3 == 2
+                ? Comparator.comparingDouble(Caminhao::getCargaMaxima).reversed()
+                : Comparator.comparingDouble(PlanejadorFrota::volume).reversed());
+
+        List<Carga> cargas = new ArrayList<>();
+        List<Grupo> restantes = ordem;
+        boolean interrompida = false;
+        while (!restantes.isEmpty() && cargas.size() < maxCaminhoes && !livres.isEmpty()) {
+            if (System.nanoTime() - limite > 0) {
+                interrompida = true;
+                break;
+            }
+            Caminhao caminhao = livres.remove(0);
+            EmpacotadorCarga empacotador = new EmpacotadorCarga(caminhao.getComprimento(), caminhao.getLargura(),
+                    caminhao.getAltura(), caminhao.getCargaMaxima());
+            empacotador.reiniciar();
+            List<Long> carregados = new ArrayList<>();
+            List<Grupo> sobra = new ArrayList<>();
+            for (Grupo grupo : restantes) {
+                if (empacotador.adicionar(grupo.itens())) {
+                    carregados.add(grupo.transporteId());
+                } else {
+                    sobra.add(grupo);
+                }
+            }
+            if (!carregados.isEmpty()) {
+                cargas.add(new Carga(caminhao, carregados, empacotador));
+                restantes = sobra;
+            }
+        }
+
+        if (!interrompida) {
+            reduzirCaminhoes(cargas, livres, grupos, limite);
+        }
+        List<Long> naoAlocados = restantes.stream().map(Grupo::transporteId).toList();
+        double vazio = cargas.stream().mapToDouble(Carga::volumeVazio).sum();
+        return new Avaliacao(cargas, naoAlocados, vazio, interrompida);
+    }
+
+    // Troca cada caminhão usado pelo menor caminhão livre em que a mesma carga ainda cabe
+    private static void reduzirCaminhoes(List<Carga> cargas, List<Caminhao> livres, List<Grupo> grupos, long limite) {
+        Map<Long, Grupo> porId = new HashMap<>();
+        grupos.forEach(grupo -> porId.put(grupo.transporteId(), grupo));
+        livres.sort(Comparator.comparingDouble(PlanejadorFrota::volume));
+
+        for (int i = 0; i < cargas.size(); i++) {
+            Carga carga = cargas.get(i);
+            List<EmpacotadorCarga.Item> itens = new ArrayList<>();
+            carga.transportesIds().forEach(id -> itens.addAll(porId.get(id).itens()));
+            double volumeItens = carga.empacotador().volumeOcupado();
+            double pesoItens = carga.empacotador().pesoAlocado();
+
+            for (int j = 0; j < livres.size(); j++) {
+                Caminhao menor = livres.get(j);
+                if (volume(menor) >= volume(carga.caminhao())) {
+                    break;
+                }
+                if (volume(menor) < volumeItens || menor.getCargaMaxima() < pesoItens) {
+                    continue;
+                }
+                EmpacotadorCarga empacotador = new EmpacotadorCarga(menor.getComprimento(), menor.getLargura(),
+                        menor.getAltura(), menor.getCargaMaxima());
+                if (empacotador.empacotar(itens, limite, true).completo()) {
+                    cargas.set(i, new Carga(menor, carga.transportesIds(), empacotador));
+                    livres.set(j, carga.caminhao());
+                    livres.sort(Comparator.comparingDouble(PlanejadorFrota::volume));
+                    break;
+                }
+            }
+        }
+    }
+
+    private static double volume(Caminhao caminhao) {
+        return caminhao.getComprimento() * caminhao.getLargura() * caminhao.getAltura();
+    }
+}
@@ -30,4 +30,26 @@ public class PlanejamentoController {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
+
+    //  Plano de carregamento: posição de cada caixa no caminhão sugerido e a ocupação
+    @PostMapping("/plano-carga")
+    public ResponseEntity<?> planejarCarga(@RequestBody @NotEmpty(message = "IDs de transportes são obrigatórios") List<Long> transportesIds) {
+        try {
+            PlanoCarga plano = planejamentoService.planejarCarga(transportesIds);
+            return ResponseEntity.ok(plano);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    //  Divide um lote grande entre vários caminhões e motoristas disponíveis
+    @PostMapping("/frota")
+    public ResponseEntity<?> planejarFrota(@RequestBody @NotEmpty(message = "IDs de transportes são obrigatórios") List<Long> transportesIds) {
+        try {
+            PlanoFrota plano = planejamentoService.planejarFrota(transportesIds);
+            return ResponseEntity.ok(plano);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 }
\ No newline at end of file
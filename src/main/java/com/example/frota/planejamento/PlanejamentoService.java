@@ -1,13 +1,18 @@
 package com.example.frota.planejamento;
 
-import java.util.Comparator;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.example.frota.caixa.Caixa;
 import com.example.frota.caminhao.Caminhao;
-import com.example.frota.caminhao.CaminhaoService;
+import com.example.frota.caminhao.IndiceCaminhoesDisponiveis;
+import com.example.frota.motorista.DadosListagemMotorista;
+import com.example.frota.motorista.MotoristaService;
 import com.example.frota.transporte.Transporte;
 import com.example.frota.transporte.TransporteService;
 
@@ -17,13 +22,25 @@ import jakarta.persistence.EntityNotFoundException;
 public class PlanejamentoService {
 
     @Autowired
-    private CaminhaoService caminhaoService;
+    private IndiceCaminhoesDisponiveis indiceCaminhoes;
     
     @Autowired
     private TransporteService transporteService;
     
     private static final double FATOR_CUBAGEM = 300; 
 
+    @Autowired
+    private MotoristaService motoristaService;
+
+    @Autowired
+    private PlanejadorFrota planejadorFrota;
+
+    @Value("${frota.planejamento.prazo-empacotamento:PT2S}")
+    private Duration prazoEmpacotamento = Duration.ofSeconds(2);
+
+    @Value("${frota.planejamento.frota.prazo:PT5S}")
+    private Duration prazoFrota = Duration.ofSeconds(5);
+
     /**
      * Calcula o peso total e o volume total para um lote de transportes.
      */
@@ -64,11 +81,25 @@ public class PlanejamentoService {
 
     /**
      * Sugere o caminhão mais adequado para um lote de transportes com base na capacidade,
-     * tentando maximizar a ocupação (minimizar o excedente).
+     * tentando maximizar a ocupação (minimizar o excedente). Só é sugerido um caminhão em
+     * cujo baú as caixas realmente couberam no empacotamento 3D.
      */
     public Caminhao sugerirMelhorCaminhao(List<Long> transportesIds) {
+        return escolherCaminhao(transportesIds).caminhao();
+    }
+
+    /**
+     * Monta o plano de carregamento (posição de cada caixa) no caminhão sugerido
+     */
+    public PlanoCarga planejarCarga(List<Long> transportesIds) {
+        return escolherCaminhao(transportesIds).plano();
+    }
+
+    private record Escolha(Caminhao caminhao, PlanoCarga plano) {
+    }
+
+    private Escolha escolherCaminhao(List<Long> transportesIds) {
         CargaResumo resumo = calcularResumoCarga(transportesIds);
-        List<Caminhao> todosCaminhoes = caminhaoService.procurarTodos();
 
         double pesoNecessario = Math.max(resumo.pesoTotal(), resumo.volumeCubado());
         
@@ -76,20 +107,89 @@ public class PlanejamentoService {
             .mapToDouble(t -> t.getComprimento() * t.getLargura() * t.getAltura())
             .sum();
 
-        // 1. Filtra apenas os caminhões que suportam o peso e o volume total
-        List<Caminhao> caminhoesViaveis = todosCaminhoes.stream()
-            .filter(c -> c.getCargaMaxima() >= pesoNecessario)
-            .filter(c -> (c.getComprimento() * c.getLargura() * c.getAltura()) >= volumeNecessario)
-            .toList();
+        // 1. Caminhões livres que suportam o peso e o volume total, direto do índice (busca binária).
+        // "ocupar o máximo de espaço/carga interna": vêm do menor excedente de carga para o maior
+        List<Caminhao> caminhoesViaveis = indiceCaminhoes.viaveis(pesoNecessario, volumeNecessario);
 
         if (caminhoesViaveis.isEmpty()) {
             throw new IllegalArgumentException("Nenhum caminhão disponível atende aos requisitos de peso ou volume para esta carga.");
         }
 
-        // "ocupar o máximo de espaço/carga interna"
-        return caminhoesViaveis.stream()
-            .min(Comparator.comparingDouble(c -> c.getCargaMaxima() - pesoNecessario))
-            .orElse(null); 
+        // 2. O primeiro em que todas as caixas couberem fisicamente
+        List<EmpacotadorCarga.Item> itens = itensDaCarga(resumo.transportes());
+        long prazo = System.nanoTime() + prazoEmpacotamento.toNanos();
+        int avaliados = 0;
+        for (Caminhao caminhao : caminhoesViaveis) {
+            if (System.nanoTime() - prazo > 0) {
+                throw new IllegalStateException("Tempo de planejamento esgotado após avaliar " + avaliados + " caminhões.");
+            }
+            avaliados++;
+            EmpacotadorCarga.Resultado resultado = new EmpacotadorCarga(caminhao.getComprimento(),
+                    caminhao.getLargura(), caminhao.getAltura(), caminhao.getCargaMaxima())
+                .empacotar(itens, prazo, true);
+            if (resultado.completo()) {
+                double volumeBau = caminhao.getComprimento() * caminhao.getLargura() * caminhao.getAltura();
+                return new Escolha(caminhao, new PlanoCarga(caminhao.getId(), caminhao.getPlaca(),
+                        resultado.volumeOcupado() / volumeBau, resultado.pesoAlocado() / caminhao.getCargaMaxima(),
+                        avaliados, resultado.posicionamentos()));
+            }
+        }
+        throw new IllegalArgumentException("Nenhum caminhão disponível comporta a arrumação das caixas desta carga.");
+    }
+
+    /**
+     * Divide o lote entre os caminhões livres (fora de viagem em curso), um motorista
+     * disponível por caminhão. O que não couber volta em {@code transportesNaoAlocados}.
+     */
+    public PlanoFrota planejarFrota(List<Long> transportesIds) {
+        CargaResumo resumo = calcularResumoCarga(transportesIds);
+        List<Caminhao> caminhoes = indiceCaminhoes.disponiveis();
+        List<DadosListagemMotorista> motoristas = motoristaService.listarDisponiveis();
+        if (caminhoes.isEmpty() || motoristas.isEmpty()) {
+            throw new IllegalArgumentException("Não há caminhões e motoristas disponíveis para planejar a frota.");
+        }
+
+        PlanejadorFrota.Solucao solucao = planejadorFrota.planejar(resumo.transportes(), caminhoes,
+                motoristas.size(), prazoFrota);
+
+        List<AlocacaoCaminhao> alocacoes = new ArrayList<>();
+        double volumeOcupado = 0;
+        double volumeCaminhoes = 0;
+        for (int i = 0; i < solucao.cargas().size(); i++) {
+            PlanejadorFrota.Carga carga = solucao.cargas().get(i);
+            Caminhao caminhao = carga.caminhao();
+            EmpacotadorCarga empacotador = carga.empacotador();
+            double volumeBau = caminhao.getComprimento() * caminhao.getLargura() * caminhao.getAltura();
+            DadosListagemMotorista motorista = motoristas.get(i);
+            alocacoes.add(new AlocacaoCaminhao(motorista.id(), motorista.nome(), carga.transportesIds(),
+                    new PlanoCarga(caminhao.getId(), caminhao.getPlaca(), empacotador.volumeOcupado() / volumeBau,
+                            empacotador.pesoAlocado() / caminhao.getCargaMaxima(), 1, empacotador.posicionamentos())));
+            volumeOcupado += empacotador.volumeOcupado();
+            volumeCaminhoes += volumeBau;
+        }
+        return new PlanoFrota(alocacoes.size(), volumeCaminhoes > 0 ? volumeOcupado / volumeCaminhoes : 0,
+                alocacoes, solucao.naoAlocados(), solucao.candidatosAvaliados(), solucao.prazoEsgotado());
+    }
+
+    /**
+     * Uma unidade por caixa de cada transporte (dimensões da caixa, ou do próprio transporte
+     * se não houver caixa), com o peso do transporte dividido entre as unidades
+     */
+    static List<EmpacotadorCarga.Item> itensDaCarga(List<Transporte> transportes) {
+        List<EmpacotadorCarga.Item> itens = new ArrayList<>();
+        for (Transporte transporte : transportes) {
+            int quantidade = Math.max(1, transporte.getQuantidade());
+            Caixa caixa = transporte.getCaixa();
+            boolean usaCaixa = caixa != null && caixa.getComprimento() > 0 && caixa.getLargura() > 0 && caixa.getAltura() > 0;
+            double comprimento = usaCaixa ? caixa.getComprimento() : transporte.getComprimento();
+            double largura = usaCaixa ? caixa.getLargura() : transporte.getLargura();
+            double altura = usaCaixa ? caixa.getAltura() : transporte.getAltura();
+            double pesoUnidade = transporte.getPeso() / quantidade;
+            for (int unidade = 1; unidade <= quantidade; unidade++) {
+                itens.add(new EmpacotadorCarga.Item(transporte.getId(), unidade, comprimento, largura, altura, pesoUnidade));
+            }
+        }
+        return itens;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.example.frota.planejamento;
+
+import java.util.List;
+
+/**
+ * Plano de carregamento de um lote de transportes em um caminhão.
+ * As ocupações vão de 0 a 1 (volume do baú e carga máxima).
+ */
+public record PlanoCarga(
+    Long caminhaoId,
+    String placa,
+    double ocupacaoVolume,
+    double ocupacaoPeso,
+    int caminhoesAvaliados,
+    List<Posicionamento> posicionamentos
+) {
+}
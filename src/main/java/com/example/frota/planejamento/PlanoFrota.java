@@ -0,0 +1,17 @@
+package com.example.frota.planejamento;
+
+import java.util.List;
+
+/**
+ * Divisão de um lote de transportes entre caminhões e motoristas disponíveis.
+ * {@code transportesNaoAlocados} traz o que não coube em nenhum caminhão livre.
+ */
+public record PlanoFrota(
+    int caminhoesUsados,
+    double ocupacaoVolumeMedia,
+    List<AlocacaoCaminhao> alocacoes,
+    List<Long> transportesNaoAlocados,
+    int candidatosAvaliados,
+    boolean prazoEsgotado
+) {
+}
@@ -0,0 +1,17 @@
+package com.example.frota.planejamento;
+
+/**
+ * Posição de uma unidade de um transporte no baú: canto de origem (x, y, z) e
+ * dimensões já giradas, em metros. x segue o comprimento do baú, y a largura e z a altura.
+ */
+public record Posicionamento(
+    Long transporteId,
+    int unidade,
+    double x,
+    double y,
+    double z,
+    double comprimento,
+    double largura,
+    double altura
+) {
+}
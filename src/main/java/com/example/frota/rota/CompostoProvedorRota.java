@@ -0,0 +1,155 @@
+package com.example.frota.rota;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Responde imediatamente com a estimativa local e, em segundo plano, refina o
+ * par com o provedor remoto, gravando o resultado no cache. Pares que a
+ * tabela local não conhece são consultados de forma síncrona no remoto.
+ */
+public class CompostoProvedorRota implements ProvedorRota {
+    private static final Logger logger = LoggerFactory.getLogger(CompostoProvedorRota.class);
+
+    private final ProvedorRota local;
+    private final ProvedorRota remoto;
+    private final Executor executor;
+    private final RotaCache cache;
+
+    // Evita disparar o mesmo refinamento várias vezes enquanto ele está em andamento
+    private final Set<String> refinando = ConcurrentHashMap.newKeySet();
+
+    public CompostoProvedorRota(ProvedorRota local, ProvedorRota remoto, Executor executor, RotaCache cache) {
+        this.local = local;
+        this.remoto = remoto;
+        this.executor = executor;
+        this.cache = cache;
+    }
+
+    @Override
+    public String nome() {
+        return "composto";
+    }
+
+    // A estimativa não vai ao cache: só o resultado refinado (ou remoto) é guardado
+    @Override
+    public boolean armazenarNoCache() {
+        return false;
+    }
+
+    @Override
+    public Optional<Rota> calcular(String origem, String destino) {
+        Optional<Rota> estimativa = local.calcular(origem, destino);
+        if (estimativa.isEmpty()) {
+            Optional<Rota> rota = remoto.calcular(origem, destino);
+            rota.ifPresent(r -> cache.armazenar(origem, destino, r));
+            return rota;
+        }
+        refinar(List.of(new Par(origem, destino)));
+        return estimativa;
+    }
+
+    @Override
+    public Rota[][] calcularMatriz(List<String> origens, List<String> destinos) {
+        Rota[][] matriz = local.calcularMatriz(origens, destinos);
+
+        List<String> origensSemEstimativa = new ArrayList<>();
+        List<String> destinosSemEstimativa = new ArrayList<>();
+        List<Par> estimados = new ArrayList<>();
+        for (int i = 0; i < origens.size(); i++) {
+            for (int j = 0; j < destinos.size(); j++) {
+                if (matriz[i][j] == null) {
+                    if (!origensSemEstimativa.contains(origens.get(i))) {
+                        origensSemEstimativa.add(origens.get(i));
+                    }
+                    if (!destinosSemEstimativa.contains(destinos.get(j))) {
+                        destinosSemEstimativa.add(destinos.get(j));
+                    }
+                } else {
+                    estimados.add(new Par(origens.get(i), destinos.get(j)));
+                }
+            }
+        }
+
+        if (!origensSemEstimativa.isEmpty()) {
+            Rota[][] remota = remoto.calcularMatriz(origensSemEstimativa, destinosSemEstimativa);
+            for (int i = 0; i < origens.size(); i++) {
+                for (int j = 0; j < destinos.size(); j++) {
+                    if (matriz[i][j] == null) {
+                        matriz[i][j] = remota[origensSemEstimativa.indexOf(origens.get(i))]
+                                [destinosSemEstimativa.indexOf(destinos.get(j))];
+                        if (matriz[i][j] != null) {
+                            cache.armazenar(origens.get(i), destinos.get(j), matriz[i][j]);
+                        }
+                    }
+                }
+            }
+        }
+
+        // Os pares que vieram do remoto já estão no cache: só as estimativas são refinadas
+        refinar(estimados);
+        return matriz;
+    }
+
+    private record Par(String origem, String destino) {
+    }
+
+    /**
+     * Refina em segundo plano os pares que não estão sendo refinados. As origens que
+     * pedem os mesmos destinos vão em uma única matriz, então cada par é cobrado uma vez.
+     */
+    private void refinar(List<Par> pares) {
+        List<String> chaves = new ArrayList<>();
+        Map<String, List<String>> destinosPorOrigem = new LinkedHashMap<>();
+        for (Par par : pares) {
+            String chave = par.origem() + "\u0000" + par.destino();
+            if (refinando.add(chave)) {
+                chaves.add(chave);
+                destinosPorOrigem.computeIfAbsent(par.origem(), o -> new ArrayList<>()).add(par.destino());
+            }
+        }
+        if (chaves.isEmpty()) {
+            return;
+        }
+        Map<List<String>, List<String>> origensPorDestinos = new LinkedHashMap<>();
+        destinosPorOrigem.forEach((origem, destinos) ->
+                origensPorDestinos.computeIfAbsent(destinos, d -> new ArrayList<>()).add(origem));
+        try {
+            executor.execute(() -> {
+                try {
+                    origensPorDestinos.forEach(this::refinarMatriz);
+                } finally {
+                    chaves.forEach(refinando::remove);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            chaves.forEach(refinando::remove);
+            logger.debug("Fila de refinamento de rotas cheia, mantendo estimativa local");
+        }
+    }
+
+    private void refinarMatriz(List<String> destinos, List<String> origens) {
+        try {
+            Rota[][] refinada = remoto.calcularMatriz(origens, destinos);
+            for (int i = 0; i < origens.size(); i++) {
+                for (int j = 0; j < destinos.size(); j++) {
+                    if (refinada[i][j] != null) {
+                        cache.armazenar(origens.get(i), destinos.get(j), refinada[i][j]);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Falha ao refinar rotas com o provedor {}", remoto.nome(), e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.frota.rota;
+
+import java.text.Normalizer;
+
+/**
+ * Utilitários de normalização de endereços usados como chave de rotas
+ */
+final class Enderecos {
+
+    private Enderecos() {
+    }
+
+    /**
+     * Remove acentos, espaços redundantes e caixa
+     */
+    static String normalizar(String endereco) {
+        if (endereco == null) {
+            return "";
+        }
+        String semAcentos = Normalizer.normalize(endereco, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "");
+        return semAcentos.trim().replaceAll("\\s+", " ").toLowerCase();
+    }
+
+    /**
+     * Normaliza e troca pontuação por espaços, para busca por palavras inteiras
+     */
+    static String tokenizar(String endereco) {
+        String normalizado = normalizar(endereco).replaceAll("[^a-z0-9]+", " ").trim();
+        return " " + normalizado + " ";
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.frota.rota;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.maps.DistanceMatrixApi;
+import com.google.maps.GeoApiContext;
+import com.google.maps.model.DistanceMatrix;
+import com.google.maps.model.DistanceMatrixElement;
+import com.google.maps.model.TravelMode;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Provedor baseado no Google Distance Matrix. Mantém um único GeoApiContext
+ * (pool HTTP, threads e rate limiter) durante todo o ciclo de vida da aplicação.
+ */
+@Component
+public class GoogleProvedorRota implements ProvedorRota {
+    private static final Logger logger = LoggerFactory.getLogger(GoogleProvedorRota.class);
+
+    // Limites do Distance Matrix: 25 origens ou destinos e 100 elementos por requisição
+    private static final int MAX_ENDERECOS_POR_REQUISICAO = 25;
+    private static final int MAX_ELEMENTOS_POR_REQUISICAO = 100;
+
+    @Value("${google.maps.api.key:}")
+    private String googleMapsApiKey;
+
+    @Value("${frota.rota.google.timeout:PT5S}")
+    private Duration googleTimeout;
+
+    private GeoApiContext contexto;
+
+    @PostConstruct
+    void inicializar() {
+        if (!apiKeyConfigurada()) {
+            logger.warn("Google Maps API key não configurada, provedor Google desabilitado");
+            return;
+        }
+
+        contexto = new GeoApiContext.Builder()
+                .apiKey(googleMapsApiKey)
+                .connectTimeout(googleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .readTimeout(googleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @PreDestroy
+    void encerrar() {
+        if (contexto != null) {
+            contexto.shutdown();
+            contexto = null;
+        }
+    }
+
+    @Override
+    public String nome() {
+        return "google";
+    }
+
+    public boolean isDisponivel() {
+        return contexto != null;
+    }
+
+    @Override
+    public Optional<Rota> calcular(String origem, String destino) {
+        if (contexto == null) {
+            return Optional.empty();
+        }
+        try {
+            DistanceMatrix matrix = DistanceMatrixApi.newRequest(contexto)
+                                        .origins(origem)
+                                        .destinations(destino)
+                                        .mode(TravelMode.DRIVING)
+                                        .await();
+
+            if (matrix == null || matrix.rows == null || matrix.rows.length == 0
+                    || matrix.rows[0].elements == null || matrix.rows[0].elements.length == 0) {
+                logger.warn("Nenhuma informação retornada pela API entre {} e {}", origem, destino);
+                return Optional.empty();
+            }
+
+            Rota rota = converter(matrix.rows[0].elements[0]);
+            if (rota == null) {
+                logger.warn("Distância não disponível entre {} e {}", origem, destino);
+                return Optional.empty();
+            }
+
+            logger.info("Distância calculada: {}km, Pedágio: R${}", rota.distanciaKm(), rota.pedagio());
+            return Optional.of(rota);
+
+        } catch (Exception e) {
+            logger.error("Erro ao calcular distância entre {} e {}", origem, destino, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Consulta a API em blocos de origens x destinos, respeitando o limite de
+     * elementos por requisição
+     */
+    @Override
+    public Rota[][] calcularMatriz(List<String> origens, List<String> destinos) {
+        Rota[][] resultado = new Rota[origens.size()][destinos.size()];
+        if (contexto == null || origens.isEmpty() || destinos.isEmpty()) {
+            return resultado;
+        }
+        int blocoDestinos = Math.min(destinos.size(), MAX_ENDERECOS_POR_REQUISICAO);
+        int blocoOrigens = Math.max(1, Math.min(MAX_ENDERECOS_POR_REQUISICAO, MAX_ELEMENTOS_POR_REQUISICAO / blocoDestinos));
+
+        for (int i = 0; i < origens.size(); i += blocoOrigens) {
+            List<String> origensBloco = origens.subList(i, Math.min(i + blocoOrigens, origens.size()));
+            for (int j = 0; j < destinos.size(); j += blocoDestinos) {
+                List<String> destinosBloco = destinos.subList(j, Math.min(j + blocoDestinos, destinos.size()));
+                try {
+                    DistanceMatrix matrix = DistanceMatrixApi.newRequest(contexto)
+                                                .origins(origensBloco.toArray(String[]::new))
+                                                .destinations(destinosBloco.toArray(String[]::new))
+                                                .mode(TravelMode.DRIVING)
+                                                .await();
+                    if (matrix == null || matrix.rows == null) {
+                        logger.warn("Nenhuma informação retornada pela API para o lote");
+                        continue;
+                    }
+                    for (int o = 0; o < matrix.rows.length && o < origensBloco.size(); o++) {
+                        DistanceMatrixElement[] elementos = matrix.rows[o].elements;
+                        for (int d = 0; elementos != null && d < elementos.length && d < destinosBloco.size(); d++) {
+                            resultado[i + o][j + d] = converter(elementos[d]);
+                        }
+                    }
+                } catch (Exception e) {
+                    logger.error("Erro ao calcular matriz de distâncias para {} origens e {} destinos",
+                            origensBloco.size(), destinosBloco.size(), e);
+                }
+            }
+        }
+        return resultado;
+    }
+
+    private Rota converter(DistanceMatrixElement element) {
+        if (element == null || element.distance == null) {
+            return null;
+        }
+
+        double distanceKm = element.distance.inMeters / 1000.0;
+
+        // Calcular pedágio baseado na distância (aproximadamente R$0.20 por km)
+        double pedagioEstimado = distanceKm * 0.20;
+
+        // Se a API retornou fare, usar o menor valor entre fare e estimativa
+        double pedagioFinal = pedagioEstimado;
+        if (element.fare != null) {
+            double fareValue = Double.parseDouble(element.fare.value.toPlainString());
+            // Usar o menor valor e limitar a R$100
+            pedagioFinal = Math.min(Math.min(fareValue, pedagioEstimado), 100.0);
+        }
+        return new Rota(distanceKm, pedagioFinal);
+    }
+
+    private boolean apiKeyConfigurada() {
+        return googleMapsApiKey != null && !googleMapsApiKey.trim().isEmpty()
+                && !googleMapsApiKey.equals("${google.maps.api.key}");
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.frota.rota;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Provedor offline: localiza origem e destino em uma tabela local de
+ * centróides (cidade, faixa de CEP ou UF) e estima a distância rodoviária
+ * como a distância em linha reta (haversine) multiplicada por um fator de
+ * circuito. Não faz nenhuma chamada externa.
+ */
+@Component
+public class LocalProvedorRota implements ProvedorRota {
+    private static final Logger logger = LoggerFactory.getLogger(LocalProvedorRota.class);
+
+    private static final double RAIO_TERRA_KM = 6371.0;
+    private static final Pattern CEP = Pattern.compile("(\\d{5})-?\\d{3}");
+
+    @Value("${frota.rota.local.fator-circuito:1.3}")
+    private double fatorCircuito;
+
+    @Value("${frota.rota.local.distancia-minima-km:10}")
+    private double distanciaMinimaKm;
+
+    @Value("${frota.rota.local.pedagio-por-km:0.20}")
+    private double pedagioPorKm;
+
+    private final List<Centroide> cidades = new ArrayList<>();
+    private final Map<String, Centroide> centroidesPorUf = new HashMap<>();
+    private final List<FaixaCep> faixasCep = new ArrayList<>();
+
+    @PostConstruct
+    void carregarTabelas() {
+        lerCsv("rota/cidades.csv", colunas -> {
+            Centroide cidade = new Centroide(
+                    Enderecos.tokenizar(colunas[0]),
+                    colunas[1].trim().toLowerCase(),
+                    Double.parseDouble(colunas[2]),
+                    Double.parseDouble(colunas[3]));
+            cidades.add(cidade);
+            centroidesPorUf.putIfAbsent(cidade.uf(), cidade);
+        });
+        lerCsv("rota/faixas-cep.csv", colunas -> faixasCep.add(new FaixaCep(
+                Integer.parseInt(colunas[0].trim()),
+                Integer.parseInt(colunas[1].trim()),
+                colunas[2].trim().toLowerCase())));
+
+        // Nomes mais longos primeiro: "sao jose dos campos" antes de "sao paulo"
+        cidades.sort(Comparator.comparingInt((Centroide c) -> c.nome().length()).reversed());
+        logger.info("Tabela local de rotas carregada: {} cidades, {} faixas de CEP", cidades.size(), faixasCep.size());
+    }
+
+    @Override
+    public String nome() {
+        return "local";
+    }
+
+    @Override
+    public Optional<Rota> calcular(String origem, String destino) {
+        Optional<Centroide> de = localizar(origem);
+        Optional<Centroide> para = localizar(destino);
+        if (de.isEmpty() || para.isEmpty()) {
+            return Optional.empty();
+        }
+        double distanciaKm = Math.max(distanciaMinimaKm,
+                haversineKm(de.get().latitude(), de.get().longitude(), para.get().latitude(), para.get().longitude())
+                        * fatorCircuito);
+        double pedagio = Math.min(distanciaKm * pedagioPorKm, 100.0);
+        return Optional.of(new Rota(distanciaKm, pedagio));
+    }
+
+    /**
+     * Procura, nesta ordem: cidade conhecida (preferindo a da UF informada),
+     * faixa de CEP e, por fim, apenas a UF
+     */
+    Optional<Centroide> localizar(String endereco) {
+        String tokens = Enderecos.tokenizar(endereco);
+        String uf = extrairUf(tokens);
+
+        Centroide cidadeSemUf = null;
+        for (Centroide cidade : cidades) {
+            if (tokens.contains(cidade.nome())) {
+                if (uf == null || uf.equals(cidade.uf())) {
+                    return Optional.of(cidade);
+                }
+                if (cidadeSemUf == null) {
+                    cidadeSemUf = cidade;
+                }
+            }
+        }
+
+        Matcher cep = CEP.matcher(endereco != null ? endereco : "");
+        if (cep.find()) {
+            int prefixo = Integer.parseInt(cep.group(1));
+            for (FaixaCep faixa : faixasCep) {
+                if (prefixo >= faixa.inicio() && prefixo <= faixa.fim()) {
+                    return Optional.ofNullable(centroidesPorUf.get(faixa.uf()));
+                }
+            }
+        }
+
+        if (uf != null) {
+            return Optional.ofNullable(centroidesPorUf.get(uf));
+        }
+        return Optional.ofNullable(cidadeSemUf);
+    }
+
+    // A UF costuma vir no fim do endereço ("..., Campinas - SP")
+    private String extrairUf(String tokens) {
+        String[] partes = tokens.trim().split(" ");
+        for (int i = partes.length - 1; i >= Math.max(0, partes.length - 3); i--) {
+            if (partes[i].length() == 2 && centroidesPorUf.containsKey(partes[i])) {
+                return partes[i];
+            }
+        }
+        return null;
+    }
+
+    static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * RAIO_TERRA_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private void lerCsv(String caminho, Consumer<String[]> linha) {
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(caminho).getInputStream(), StandardCharsets.UTF_8))) {
+            String conteudo;
+            while ((conteudo = leitor.readLine()) != null) {
+                if (conteudo.isBlank() || conteudo.startsWith("#")) {
+                    continue;
+                }
+                linha.accept(conteudo.split(";"));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Não foi possível ler a tabela de rotas " + caminho, e);
+        }
+    }
+
+    record Centroide(String nome, String uf, double latitude, double longitude) {}
+
+    private record FaixaCep(int inicio, int fim, String uf) {}
+}
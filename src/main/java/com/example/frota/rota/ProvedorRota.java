@@ -0,0 +1,38 @@
+package com.example.frota.rota;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Fonte de distâncias/pedágios entre endereços. Implementações devolvem
+ * vazio (ou null na matriz) quando não conseguem resolver um par, deixando
+ * a decisão de fallback para o {@link RotaService}.
+ */
+public interface ProvedorRota {
+
+    String nome();
+
+    /**
+     * Indica se o {@link RotaService} deve guardar no cache o que este provedor
+     * devolve. Provedores que gerenciam o cache por conta própria retornam false.
+     */
+    default boolean armazenarNoCache() {
+        return true;
+    }
+
+    Optional<Rota> calcular(String origem, String destino);
+
+    /**
+     * Resolve a matriz origens x destinos. A implementação padrão consulta par
+     * a par; provedores remotos devem sobrescrever para agrupar as chamadas.
+     */
+    default Rota[][] calcularMatriz(List<String> origens, List<String> destinos) {
+        Rota[][] matriz = new Rota[origens.size()][destinos.size()];
+        for (int i = 0; i < origens.size(); i++) {
+            for (int j = 0; j < destinos.size(); j++) {
+                matriz[i][j] = calcular(origens.get(i), destinos.get(j)).orElse(null);
+            }
+        }
+        return matriz;
+    }
+}
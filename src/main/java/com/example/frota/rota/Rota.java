@@ -0,0 +1,10 @@
+package com.example.frota.rota;
+
+/**
+ * Distância (km) e pedágio estimado (R$) entre uma origem e um destino
+ */
+public record Rota(
+    double distanciaKm,
+    double pedagio
+) {
+}
@@ -0,0 +1,109 @@
+package com.example.frota.rota;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache LRU com expiração (TTL) para rotas já calculadas.
+ * A chave é o par (origem, destino) normalizado, de modo que variações de
+ * caixa, acentuação e espaços caiam na mesma entrada.
+ */
+public class RotaCache {
+
+    private final int maxEntradas;
+    private final long ttlNanos;
+    private final LongSupplier relogio;
+
+    private final AtomicLong acertos = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private final AtomicLong remocoes = new AtomicLong();
+
+    private final LinkedHashMap<String, Entrada> entradas;
+
+    public RotaCache(int maxEntradas, Duration ttl) {
+        this(maxEntradas, ttl, System::nanoTime);
+    }
+
+    RotaCache(int maxEntradas, Duration ttl, LongSupplier relogio) {
+        if (maxEntradas <= 0) {
+            throw new IllegalArgumentException("O cache de rotas deve ter ao menos uma entrada");
+        }
+        this.maxEntradas = maxEntradas;
+        this.ttlNanos = ttl.toNanos();
+        this.relogio = relogio;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> maisAntiga) {
+                if (size() > RotaCache.this.maxEntradas) {
+                    remocoes.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Retorna a rota em cache ou null se ausente/expirada
+     */
+    public Rota buscar(String origem, String destino) {
+        String chave = chave(origem, destino);
+        synchronized (entradas) {
+            Entrada entrada = entradas.get(chave);
+            if (entrada != null && relogio.getAsLong() - entrada.criadaEm() < ttlNanos) {
+                acertos.incrementAndGet();
+                return entrada.rota();
+            }
+            if (entrada != null) {
+                entradas.remove(chave);
+                remocoes.incrementAndGet();
+            }
+        }
+        falhas.incrementAndGet();
+        return null;
+    }
+
+    public void armazenar(String origem, String destino, Rota rota) {
+        String chave = chave(origem, destino);
+        synchronized (entradas) {
+            entradas.put(chave, new Entrada(rota, relogio.getAsLong()));
+        }
+    }
+
+    public void limpar() {
+        synchronized (entradas) {
+            entradas.clear();
+        }
+    }
+
+    public int tamanho() {
+        synchronized (entradas) {
+            return entradas.size();
+        }
+    }
+
+    public Estatisticas estatisticas() {
+        return new Estatisticas(tamanho(), maxEntradas, acertos.get(), falhas.get(), remocoes.get());
+    }
+
+    /**
+     * Normaliza o par (origem, destino): remove acentos, espaços redundantes e caixa
+     */
+    static String chave(String origem, String destino) {
+        return Enderecos.normalizar(origem) + '|' + Enderecos.normalizar(destino);
+    }
+
+    private record Entrada(Rota rota, long criadaEm) {}
+
+    // Record para estatísticas do cache
+    public record Estatisticas(
+            int tamanho,
+            int capacidade,
+            long acertos,
+            long falhas,
+            long remocoes
+    ) {}
+}
@@ -0,0 +1,33 @@
+package com.example.frota.rota;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/rota")
+public class RotaController {
+
+    @Autowired
+    private RotaService rotaService;
+
+    /**
+     * Estatísticas do cache de rotas (acertos, falhas e remoções)
+     */
+    @GetMapping("/cache")
+    public ResponseEntity<RotaCache.Estatisticas> estatisticasCache() {
+        return ResponseEntity.ok(rotaService.estatisticasCache());
+    }
+
+    /**
+     * Esvazia o cache de rotas
+     */
+    @DeleteMapping("/cache")
+    public ResponseEntity<Void> limparCache() {
+        rotaService.limparCache();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.frota.rota;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Calcula distância e pedágio entre endereços através do {@link ProvedorRota}
+ * configurado em {@code frota.rota.provedor} (google, local ou composto),
+ * com um cache LRU/TTL para as rotas já consultadas.
+ */
+@Service
+public class RotaService {
+    private static final Logger logger = LoggerFactory.getLogger(RotaService.class);
+
+    public static final Rota ROTA_PADRAO = new Rota(50.0, 10.0); // 50km, R$10 de pedágio
+
+    @Autowired
+    private GoogleProvedorRota googleProvedorRota;
+
+    @Autowired
+    private LocalProvedorRota localProvedorRota;
+
+    @Value("${frota.rota.provedor:composto}")
+    private String tipoProvedor;
+
+    @Value("${frota.rota.cache.max-entradas:10000}")
+    private int cacheMaxEntradas;
+
+    @Value("${frota.rota.cache.ttl:PT12H}")
+    private Duration cacheTtl;
+
+    @Value("${frota.rota.refinamento.threads:2}")
+    private int threadsRefinamento;
+
+    @Value("${frota.rota.refinamento.fila:1000}")
+    private int filaRefinamento;
+
+    private RotaCache cache;
+
+    private ProvedorRota provedor;
+
+    private ThreadPoolExecutor executorRefinamento;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter rotasPadrao;
+
+    @PostConstruct
+    void inicializar() {
+        cache = new RotaCache(cacheMaxEntradas, cacheTtl);
+
+        switch (tipoProvedor.trim().toLowerCase()) {
+            case "google" -> provedor = googleProvedorRota;
+            case "local" -> provedor = localProvedorRota;
+            case "composto" -> {
+                if (googleProvedorRota.isDisponivel()) {
+                    executorRefinamento = new ThreadPoolExecutor(threadsRefinamento, threadsRefinamento,
+                            60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(filaRefinamento),
+                            new CustomizableThreadFactory("rota-refinamento-"));
+                    provedor = new CompostoProvedorRota(localProvedorRota, googleProvedorRota, executorRefinamento, cache);
+                } else {
+                    provedor = localProvedorRota;
+                }
+            }
+            default -> throw new IllegalStateException("Provedor de rotas desconhecido: " + tipoProvedor);
+        }
+        logger.info("Provedor de rotas em uso: {}", provedor.nome());
+        registrarMetricas();
+    }
+
+    private void registrarMetricas() {
+        rotasPadrao = Counter.builder("frota.rota.padrao")
+                .description("Rotas não resolvidas pelo provedor, cotadas com a distância/pedágio padrão")
+                .tag("provedor", provedor.nome())
+                .register(meterRegistry);
+        Gauge.builder("frota.rota.cache.tamanho", cache, RotaCache::tamanho)
+                .description("Rotas em cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("frota.rota.cache.consultas", cache, c -> c.estatisticas().acertos())
+                .tag("resultado", "acerto")
+                .register(meterRegistry);
+        FunctionCounter.builder("frota.rota.cache.consultas", cache, c -> c.estatisticas().falhas())
+                .tag("resultado", "falha")
+                .register(meterRegistry);
+        FunctionCounter.builder("frota.rota.cache.remocoes", cache, c -> c.estatisticas().remocoes())
+                .register(meterRegistry);
+        if (executorRefinamento != null) {
+            ExecutorServiceMetrics.monitor(meterRegistry, executorRefinamento, "rota-refinamento");
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        if (executorRefinamento != null) {
+            executorRefinamento.shutdownNow();
+        }
+    }
+
+    /**
+     * Retorna a rota entre origem e destino, consultando o cache antes do provedor.
+     * Se o provedor não resolver o par retorna {@link #ROTA_PADRAO}, que não é
+     * armazenada no cache.
+     */
+    public Rota calcular(String origem, String destino) {
+        Rota emCache = cache.buscar(origem, destino);
+        if (emCache != null) {
+            return emCache;
+        }
+
+        Optional<Rota> rota = provedor.calcular(origem, destino);
+        if (rota.isEmpty()) {
+            logger.warn("Rota entre {} e {} não resolvida, usando valores padrão", origem, destino);
+            rotasPadrao.increment();
+            return ROTA_PADRAO;
+        }
+        if (provedor.armazenarNoCache()) {
+            cache.armazenar(origem, destino, rota.get());
+        }
+        return rota.get();
+    }
+
+    /**
+     * Resolve a matriz origens x destinos. Pares já em cache não vão ao provedor;
+     * os demais são resolvidos em lote. O resultado segue a ordem das listas.
+     */
+    public Rota[][] calcularMatriz(List<String> origens, List<String> destinos) {
+        Rota[][] matriz = new Rota[origens.size()][destinos.size()];
+        Set<String> origensPendentes = new LinkedHashSet<>();
+        Set<String> destinosPendentes = new LinkedHashSet<>();
+
+        for (int i = 0; i < origens.size(); i++) {
+            for (int j = 0; j < destinos.size(); j++) {
+                matriz[i][j] = cache.buscar(origens.get(i), destinos.get(j));
+                if (matriz[i][j] == null) {
+                    origensPendentes.add(origens.get(i));
+                    destinosPendentes.add(destinos.get(j));
+                }
+            }
+        }
+
+        if (origensPendentes.isEmpty()) {
+            return matriz;
+        }
+
+        List<String> origensLote = new ArrayList<>(origensPendentes);
+        List<String> destinosLote = new ArrayList<>(destinosPendentes);
+        Rota[][] lote = provedor.calcularMatriz(origensLote, destinosLote);
+
+        for (int i = 0; i < origens.size(); i++) {
+            for (int j = 0; j < destinos.size(); j++) {
+                if (matriz[i][j] != null) {
+                    continue;
+                }
+                Rota rota = lote[origensLote.indexOf(origens.get(i))][destinosLote.indexOf(destinos.get(j))];
+                if (rota == null) {
+                    logger.warn("Rota entre {} e {} não resolvida, usando valores padrão", origens.get(i), destinos.get(j));
+                    rotasPadrao.increment();
+                    rota = ROTA_PADRAO;
+                } else if (provedor.armazenarNoCache()) {
+                    cache.armazenar(origens.get(i), destinos.get(j), rota);
+                }
+                matriz[i][j] = rota;
+            }
+        }
+        return matriz;
+    }
+
+    public String nomeProvedor() {
+        return provedor.nome();
+    }
+
+    public RotaCache.Estatisticas estatisticasCache() {
+        return cache.estatisticas();
+    }
+
+    public void limparCache() {
+        cache.limpar();
+    }
+}
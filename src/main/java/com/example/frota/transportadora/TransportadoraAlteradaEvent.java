@@ -0,0 +1,8 @@
+package com.example.frota.transportadora;
+
+/**
+ * Publicado sempre que uma transportadora é criada, atualizada, ativada,
+ * desativada ou reavaliada
+ */
+public record TransportadoraAlteradaEvent(Long transportadoraId) {
+}
@@ -2,6 +2,7 @@ package com.example.frota.transportadora;
 
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -17,6 +18,9 @@ public class TransportadoraService {
     @Autowired
     private TransportadoraRepository transportadoraRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     /**
      * Lista transportadoras com paginação e filtro opcional por status
      */
@@ -44,7 +48,9 @@ public class TransportadoraService {
         validarEmailUnico(dados.email(), null);
         
         Transportadora transportadora = new Transportadora(dados);
-        return transportadoraRepository.save(transportadora);
+        Transportadora salva = transportadoraRepository.save(transportadora);
+        eventPublisher.publishEvent(new TransportadoraAlteradaEvent(salva.getId()));
+        return salva;
     }
     
     /**
@@ -59,7 +65,9 @@ public class TransportadoraService {
         }
         
         transportadora.atualizarInformacoes(dados);
-        return transportadoraRepository.save(transportadora);
+        Transportadora salva = transportadoraRepository.save(transportadora);
+        eventPublisher.publishEvent(new TransportadoraAlteradaEvent(id));
+        return salva;
     }
     
     /**
@@ -69,7 +77,9 @@ public class TransportadoraService {
     public Transportadora atualizarAvaliacao(Long id, Double avaliacao) {
         Transportadora transportadora = buscarTransportadoraOuLancarExcecao(id);
         transportadora.atualizarAvaliacao(avaliacao);
-        return transportadoraRepository.save(transportadora);
+        Transportadora salva = transportadoraRepository.save(transportadora);
+        eventPublisher.publishEvent(new TransportadoraAlteradaEvent(id));
+        return salva;
     }
     
     /**
@@ -80,6 +90,7 @@ public class TransportadoraService {
         Transportadora transportadora = buscarTransportadoraOuLancarExcecao(id);
         transportadora.desativar();
         transportadoraRepository.save(transportadora);
+        eventPublisher.publishEvent(new TransportadoraAlteradaEvent(id));
     }
     
     /**
@@ -89,7 +100,9 @@ public class TransportadoraService {
     public Transportadora ativarTransportadora(Long id) {
         Transportadora transportadora = buscarTransportadoraOuLancarExcecao(id);
         transportadora.ativar();
-        return transportadoraRepository.save(transportadora);
+        Transportadora salva = transportadoraRepository.save(transportadora);
+        eventPublisher.publishEvent(new TransportadoraAlteradaEvent(id));
+        return salva;
     }
     
     /**
@@ -0,0 +1,60 @@
+package com.example.frota.transporte;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Núcleo de cálculo do frete, só com primitivos: não aloca objetos por chamada.
+ * O resultado é arredondado em centavos com a mesma semântica de
+ * {@code BigDecimal.valueOf(valor).setScale(2, RoundingMode.HALF_UP)}.
+ */
+final class CalculadoraFrete {
+
+    static final double PEDAGIO_MAXIMO = 100.0;
+
+    private CalculadoraFrete() {
+    }
+
+    /**
+     * Frete em centavos: o maior entre o frete por peso e o frete por caixa
+     */
+    static long calcularCentavos(double pesoReal, double pesoCubado, int numeroCaixas, double distanciaKm,
+                                 double pedagio, double valorPorKm, double valorPorCaixa, double valorPorKg) {
+        double pesoConsiderado = Math.max(pesoReal, pesoCubado);
+
+        // Limitar pedágio a um valor razoável (máximo R$ 100 por viagem)
+        double valorPedagio = Math.min(pedagio, PEDAGIO_MAXIMO);
+
+        double valorFretePeso = (pesoConsiderado * valorPorKg) + (valorPorKm * distanciaKm) + valorPedagio;
+        double valorFreteCaixa = (numeroCaixas * valorPorCaixa) + (valorPorKm * distanciaKm) + valorPedagio;
+
+        return paraCentavos(Math.max(valorFretePeso, valorFreteCaixa));
+    }
+
+    static double calcular(double pesoReal, double pesoCubado, int numeroCaixas, double distanciaKm,
+                           double pedagio, double valorPorKm, double valorPorCaixa, double valorPorKg) {
+        return calcularCentavos(pesoReal, pesoCubado, numeroCaixas, distanciaKm, pedagio,
+                valorPorKm, valorPorCaixa, valorPorKg) / 100.0;
+    }
+
+    /**
+     * Arredonda para centavos (HALF_UP sobre a representação decimal do double).
+     * Longe da metade do centavo o arredondamento em ponto flutuante é exato;
+     * perto dela (ou fora da faixa segura) usa BigDecimal para manter o mesmo resultado.
+     */
+    static long paraCentavos(double valor) {
+        double escalado = valor * 100.0;
+        if (valor >= 0 && escalado < 1e15) {
+            double piso = Math.floor(escalado);
+            double fracao = escalado - piso;
+            double tolerancia = Math.max(1e-9, Math.ulp(escalado) * 8);
+            if (Math.abs(fracao - 0.5) > tolerancia) {
+                return (long) piso + (fracao > 0.5 ? 1 : 0);
+            }
+        }
+        if (Double.isNaN(valor) || Double.isInfinite(valor)) {
+            throw new IllegalArgumentException("Valor de frete inválido: " + valor);
+        }
+        return BigDecimal.valueOf(valor).setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.frota.transporte;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resposta já dada a uma requisição com {@code Idempotency-Key}, para que a
+ * repetição (retry do cliente) devolva o mesmo resultado sem reaplicar a alteração.
+ * A linha é inserida antes da execução, sem resposta, como reserva da chave.
+ */
+@Entity
+@Table(name = "chave_idempotencia", indexes = {
+    @Index(name = "idx_idempotencia_criada_em", columnList = "criada_em")
+})
+@Getter
+@NoArgsConstructor
+public class ChaveIdempotencia {
+
+    @Id
+    @Column(name = "chave", length = 100)
+    private String chave;
+
+    // Método, caminho e parâmetros da requisição original
+    @Column(name = "operacao", nullable = false, length = 300)
+    private String operacao;
+
+    // Nula enquanto a requisição que reservou a chave está em execução
+    @Column(name = "resposta", columnDefinition = "text")
+    private String resposta;
+
+    @Column(name = "criada_em", nullable = false)
+    private LocalDateTime criadaEm;
+
+    public ChaveIdempotencia(String chave, String operacao, String resposta, LocalDateTime criadaEm) {
+        this.chave = chave;
+        this.operacao = operacao;
+        this.resposta = resposta;
+        this.criadaEm = criadaEm;
+    }
+
+    public boolean emAndamento() {
+        return resposta == null;
+    }
+
+    public void concluir(String resposta) {
+        this.resposta = resposta;
+    }
+}
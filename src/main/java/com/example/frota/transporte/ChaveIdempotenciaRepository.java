@@ -0,0 +1,27 @@
+package com.example.frota.transporte;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface ChaveIdempotenciaRepository extends JpaRepository<ChaveIdempotencia, String> {
+
+    /**
+     * Assume uma reserva sem resposta criada antes de {@code limite} (a requisição que a fez
+     * caiu); só uma das requisições concorrentes consegue
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ChaveIdempotencia c SET c.criadaEm = :agora WHERE c.chave = :chave AND c.resposta IS NULL AND c.criadaEm < :limite")
+    int assumirReservaAbandonada(@Param("chave") String chave, @Param("limite") LocalDateTime limite,
+                                 @Param("agora") LocalDateTime agora);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ChaveIdempotencia c WHERE c.criadaEm < :limite")
+    int apagarCriadasAntes(@Param("limite") LocalDateTime limite);
+}
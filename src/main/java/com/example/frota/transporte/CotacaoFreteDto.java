@@ -0,0 +1,14 @@
+package com.example.frota.transporte;
+
+import java.util.List;
+
+/**
+ * DTO da cotação assíncrona: transportadoras precificadas dentro do prazo e,
+ * se o prazo estourou, as que ficaram de fora
+ */
+public record CotacaoFreteDto(
+        List<TransportadoraFreteDto> transportadoras,
+        boolean completa,
+        List<Long> transportadorasPendentes
+) {
+}
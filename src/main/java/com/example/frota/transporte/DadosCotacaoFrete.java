@@ -0,0 +1,26 @@
+package com.example.frota.transporte;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * Dados de um envio a ser cotado em lote
+ */
+public record DadosCotacaoFrete(
+    @PositiveOrZero(message = "O peso deve ser zero ou positivo")
+    double peso,
+    @PositiveOrZero(message = "O comprimento deve ser zero ou positivo")
+    double comprimento,
+    @PositiveOrZero(message = "A largura deve ser zero ou positiva")
+    double largura,
+    @PositiveOrZero(message = "A altura deve ser zero ou positiva")
+    double altura,
+    @Positive(message = "A quantidade deve ser positiva")
+    int quantidade,
+    @NotBlank(message = "A origem é obrigatória")
+    String origem,
+    @NotBlank(message = "O destino é obrigatório")
+    String destino
+) {
+}
@@ -23,8 +23,26 @@ public record DetalheTransporteDto(
     String statusMotorista,
     String statusCliente,
     LocalDateTime horarioRetirada,
-    String statusPagamento
+    String statusPagamento,
+    long versao
 ) {
+    /**
+     * Construtor usado pelas projeções JPQL de {@link TransporteRepository}
+     */
+    public DetalheTransporteDto(Long id, String produto, Long caixaId, Long clienteId, String nomeCliente,
+                                Long transportadoraId, String nomeTransportadora, double comprimento, double largura,
+                                double altura, double peso, int quantidade, String origem, String destino,
+                                double valorFrete, StatusEntrega statusGeral, StatusEntrega statusMotorista,
+                                StatusEntrega statusCliente, LocalDateTime horarioRetirada, String statusPagamento,
+                                long versao) {
+        this(id, produto, caixaId, clienteId, nomeCliente, transportadoraId, nomeTransportadora,
+            comprimento, largura, altura, peso, quantidade, origem, destino, valorFrete,
+            statusGeral != null ? statusGeral.toString() : "PENDENTE",
+            statusMotorista != null ? statusMotorista.toString() : "PENDENTE",
+            statusCliente != null ? statusCliente.toString() : "PENDENTE",
+            horarioRetirada, statusPagamento, versao);
+    }
+
     public DetalheTransporteDto(Transporte transporte) {
         this(
             transporte.getId(),
@@ -46,7 +64,8 @@ public record DetalheTransporteDto(
             transporte.getStatusMotorista() != null ? transporte.getStatusMotorista().toString() : "PENDENTE",
             transporte.getStatusCliente() != null ? transporte.getStatusCliente().toString() : "PENDENTE",
             transporte.getHorarioRetirada(),
-            transporte.getStatusPagamento()
+            transporte.getStatusPagamento(),
+            transporte.getVersao()
         );
     }
 }
\ No newline at end of file
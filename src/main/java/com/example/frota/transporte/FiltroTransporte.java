@@ -0,0 +1,11 @@
+package com.example.frota.transporte;
+
+/**
+ * Filtros opcionais da listagem de transportes (nulo = sem filtro)
+ */
+public record FiltroTransporte(
+    StatusEntrega status,
+    Long clienteId,
+    Long transportadoraId
+) {
+}
@@ -0,0 +1,124 @@
+package com.example.frota.transporte;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.frota.errors.IdempotenciaConflitanteException;
+import com.example.frota.errors.IdempotenciaEmAndamentoException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Executa alterações de transporte com {@code Idempotency-Key}. A primeira
+ * requisição reserva a chave (insere a linha sem resposta) antes de executar;
+ * uma requisição concorrente com a mesma chave esbarra na chave primária e recebe
+ * 409 sem executar nada. A resposta fica guardada por {@code frota.idempotencia.retencao}
+ * e as repetições recebem a mesma resposta. Reusar a chave em outra operação é rejeitado.
+ *
+ * <p>Se a alteração falhar, a reserva é desfeita e a chave pode ser usada de novo.
+ * Se a aplicação cair com a chave reservada, a reserva pode ser assumida por uma
+ * repetição depois de {@code frota.idempotencia.reserva-expira}, o que reaplica a
+ * alteração; é seguro porque as alterações de status levam a um estado fixo.
+ */
+@Component
+public class Idempotencia {
+    private static final Logger logger = LoggerFactory.getLogger(Idempotencia.class);
+
+    @Autowired
+    private ChaveIdempotenciaRepository chaveIdempotenciaRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${frota.idempotencia.retencao:PT24H}")
+    private Duration retencao;
+
+    @Value("${frota.idempotencia.reserva-expira:PT2M}")
+    private Duration reservaExpira = Duration.ofMinutes(2);
+
+    /**
+     * Resultado da execução; {@code repetida} indica que a resposta veio de uma execução anterior
+     */
+    public record Resultado(DetalheTransporteDto transporte, boolean repetida) {
+    }
+
+    public Resultado executar(String chave, String operacao, Supplier<DetalheTransporteDto> acao) {
+        if (chave == null || chave.isBlank()) {
+            return new Resultado(acao.get(), false);
+        }
+        if (chave.length() > 100) {
+            throw new IllegalArgumentException("Idempotency-Key deve ter no máximo 100 caracteres");
+        }
+
+        Optional<ChaveIdempotencia> anterior = chaveIdempotenciaRepository.findById(chave);
+        if (anterior.isPresent()) {
+            return repetir(anterior.get(), operacao, acao);
+        }
+        ChaveIdempotencia reserva = new ChaveIdempotencia(chave, operacao, null, LocalDateTime.now());
+        try {
+            chaveIdempotenciaRepository.saveAndFlush(reserva);
+        } catch (DataIntegrityViolationException e) {
+            // Outra requisição com a mesma chave reservou primeiro
+            logger.debug("Idempotency-Key {} reservada por requisição concorrente", chave);
+            return chaveIdempotenciaRepository.findById(chave)
+                    .map(concorrente -> repetir(concorrente, operacao, acao))
+                    .orElseThrow(() -> new IdempotenciaEmAndamentoException(
+                            "Requisição com a mesma Idempotency-Key em andamento, tente novamente"));
+        }
+        return new Resultado(executarReservada(reserva, acao), false);
+    }
+
+    private DetalheTransporteDto executarReservada(ChaveIdempotencia reserva, Supplier<DetalheTransporteDto> acao) {
+        DetalheTransporteDto resposta;
+        try {
+            resposta = acao.get();
+        } catch (RuntimeException e) {
+            chaveIdempotenciaRepository.deleteById(reserva.getChave());
+            throw e;
+        }
+        try {
+            reserva.concluir(objectMapper.writeValueAsString(resposta));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível guardar a resposta idempotente", e);
+        }
+        chaveIdempotenciaRepository.save(reserva);
+        return resposta;
+    }
+
+    private Resultado repetir(ChaveIdempotencia anterior, String operacao, Supplier<DetalheTransporteDto> acao) {
+        if (!anterior.getOperacao().equals(operacao)) {
+            throw new IdempotenciaConflitanteException(
+                    "Idempotency-Key já usada em outra operação: " + anterior.getOperacao());
+        }
+        if (anterior.emAndamento()) {
+            LocalDateTime agora = LocalDateTime.now();
+            if (chaveIdempotenciaRepository.assumirReservaAbandonada(anterior.getChave(),
+                    agora.minus(reservaExpira), agora) == 0) {
+                throw new IdempotenciaEmAndamentoException(
+                        "Requisição com a mesma Idempotency-Key em andamento, tente novamente");
+            }
+            logger.warn("Reserva abandonada da Idempotency-Key {} assumida", anterior.getChave());
+            return new Resultado(executarReservada(anterior, acao), false);
+        }
+        try {
+            return new Resultado(objectMapper.readValue(anterior.getResposta(), DetalheTransporteDto.class), true);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Resposta idempotente ilegível para a chave " + anterior.getChave(), e);
+        }
+    }
+
+    @Scheduled(cron = "${frota.idempotencia.limpeza-cron:0 15 * * * *}")
+    public void apagarExpiradas() {
+        chaveIdempotenciaRepository.apagarCriadasAntes(LocalDateTime.now().minus(retencao));
+    }
+}
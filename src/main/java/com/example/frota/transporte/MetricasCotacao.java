@@ -0,0 +1,66 @@
+package com.example.frota.transporte;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Métricas das cotações de frete: latência por tipo de cotação e quantidade
+ * de transportadoras precificadas por cotação.
+ */
+@Component
+public class MetricasCotacao {
+
+    private final Timer duracaoSincrona;
+    private final Timer duracaoLote;
+    private final Timer duracaoAssincronaCompleta;
+    private final Timer duracaoAssincronaParcial;
+    private final DistributionSummary transportadorasPorCotacao;
+
+    public MetricasCotacao(MeterRegistry registry) {
+        this.duracaoSincrona = timer(registry, "sincrona", "true");
+        this.duracaoLote = timer(registry, "lote", "true");
+        this.duracaoAssincronaCompleta = timer(registry, "assincrona", "true");
+        this.duracaoAssincronaParcial = timer(registry, "assincrona", "false");
+        this.transportadorasPorCotacao = DistributionSummary.builder("frota.cotacao.transportadoras")
+                .description("Transportadoras precificadas por cotação")
+                .baseUnit("transportadoras")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Timer timer(MeterRegistry registry, String tipo, String completa) {
+        return Timer.builder("frota.cotacao.duracao")
+                .description("Tempo para cotar o frete com as transportadoras ativas")
+                .tag("tipo", tipo)
+                .tag("completa", completa)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public void registrarSincrona(long inicioNanos, int transportadoras) {
+        duracaoSincrona.record(System.nanoTime() - inicioNanos, TimeUnit.NANOSECONDS);
+        transportadorasPorCotacao.record(transportadoras);
+    }
+
+    /**
+     * Registra um lote: a latência é a do lote inteiro; a distribuição de
+     * transportadoras recebe uma amostra por cotação do lote
+     */
+    public void registrarLote(long inicioNanos, int cotacoes, int transportadoras) {
+        duracaoLote.record(System.nanoTime() - inicioNanos, TimeUnit.NANOSECONDS);
+        for (int i = 0; i < cotacoes; i++) {
+            transportadorasPorCotacao.record(transportadoras);
+        }
+    }
+
+    public void registrarAssincrona(long inicioNanos, int precificadas, boolean completa) {
+        Timer timer = completa ? duracaoAssincronaCompleta : duracaoAssincronaParcial;
+        timer.record(System.nanoTime() - inicioNanos, TimeUnit.NANOSECONDS);
+        transportadorasPorCotacao.record(precificadas);
+    }
+}
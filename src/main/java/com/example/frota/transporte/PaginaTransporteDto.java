@@ -0,0 +1,13 @@
+package com.example.frota.transporte;
+
+import java.util.List;
+
+/**
+ * Página da listagem de transportes. {@code proximoCursor} é o valor a enviar
+ * em {@code aposId} para a próxima página; nulo quando não há mais resultados.
+ */
+public record PaginaTransporteDto(
+    List<DetalheTransporteDto> transportes,
+    Long proximoCursor
+) {
+}
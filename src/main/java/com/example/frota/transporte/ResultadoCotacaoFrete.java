@@ -0,0 +1,13 @@
+package com.example.frota.transporte;
+
+import java.util.List;
+
+/**
+ * DTO com as transportadoras cotadas para um envio do lote
+ */
+public record ResultadoCotacaoFrete(
+        String origem,
+        String destino,
+        List<TransportadoraFreteDto> transportadoras
+) {
+}
@@ -0,0 +1,22 @@
+package com.example.frota.transporte;
+
+/**
+ * Publicado quando o status do motorista ou do cliente de um transporte muda
+ */
+public record StatusTransporteAlteradoEvent(
+        Long transporteId,
+        Long clienteId,
+        StatusEntrega statusMotorista,
+        StatusEntrega statusCliente,
+        StatusEntrega statusGeral
+) {
+    public StatusTransporteAlteradoEvent(Transporte transporte) {
+        this(
+            transporte.getId(),
+            transporte.getCliente() != null ? transporte.getCliente().getId() : null,
+            transporte.getStatusMotorista(),
+            transporte.getStatusCliente(),
+            transporte.getStatusGeral()
+        );
+    }
+}
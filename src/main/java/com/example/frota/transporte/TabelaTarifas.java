@@ -0,0 +1,92 @@
+package com.example.frota.transporte;
+
+import java.util.List;
+
+import com.example.frota.transportadora.Transportadora;
+
+/**
+ * Retrato imutável das tarifas das transportadoras ativas, em arrays
+ * primitivos paralelos (mesma ordem de {@code findAllActiveOrderByNome}).
+ * Os valores nulos já vêm resolvidos para as tarifas padrão, de modo que a
+ * precificação não toca em entidades JPA nem faz unboxing.
+ */
+public final class TabelaTarifas {
+
+    public static final TabelaTarifas VAZIA = new TabelaTarifas(
+            new long[0], new String[0], new String[0], new double[0], new double[0], new double[0], new double[0]);
+
+    private final long[] ids;
+    private final String[] nomes;
+    private final String[] cnpjs;
+    private final double[] avaliacoes; // NaN quando a transportadora não tem avaliação
+    private final double[] precosKm;
+    private final double[] valoresPorCaixa;
+    private final double[] valoresPorKilo;
+
+    private TabelaTarifas(long[] ids, String[] nomes, String[] cnpjs, double[] avaliacoes,
+                          double[] precosKm, double[] valoresPorCaixa, double[] valoresPorKilo) {
+        this.ids = ids;
+        this.nomes = nomes;
+        this.cnpjs = cnpjs;
+        this.avaliacoes = avaliacoes;
+        this.precosKm = precosKm;
+        this.valoresPorCaixa = valoresPorCaixa;
+        this.valoresPorKilo = valoresPorKilo;
+    }
+
+    public static TabelaTarifas de(List<Transportadora> transportadoras, double valorPorKmPadrao,
+                                   double valorPorCaixaPadrao, double valorPorKiloPadrao) {
+        int n = transportadoras.size();
+        long[] ids = new long[n];
+        String[] nomes = new String[n];
+        String[] cnpjs = new String[n];
+        double[] avaliacoes = new double[n];
+        double[] precosKm = new double[n];
+        double[] valoresPorCaixa = new double[n];
+        double[] valoresPorKilo = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            Transportadora t = transportadoras.get(i);
+            ids[i] = t.getId();
+            nomes[i] = t.getNome();
+            cnpjs[i] = t.getCnpj();
+            avaliacoes[i] = t.getAvaliacao() != null ? t.getAvaliacao() : Double.NaN;
+            precosKm[i] = t.getPrecoKm() != null ? t.getPrecoKm() : valorPorKmPadrao;
+            valoresPorCaixa[i] = t.getValorPorCaixa() != null ? t.getValorPorCaixa() : valorPorCaixaPadrao;
+            valoresPorKilo[i] = t.getValorPorKilo() != null ? t.getValorPorKilo() : valorPorKiloPadrao;
+        }
+        return new TabelaTarifas(ids, nomes, cnpjs, avaliacoes, precosKm, valoresPorCaixa, valoresPorKilo);
+    }
+
+    public int tamanho() {
+        return ids.length;
+    }
+
+    public long id(int i) {
+        return ids[i];
+    }
+
+    public double precoKm(int i) {
+        return precosKm[i];
+    }
+
+    public double valorPorCaixa(int i) {
+        return valoresPorCaixa[i];
+    }
+
+    public double valorPorKilo(int i) {
+        return valoresPorKilo[i];
+    }
+
+    /**
+     * Monta o DTO de saída da transportadora na posição i com o frete calculado
+     */
+    public TransportadoraFreteDto paraDto(int i, double valorFrete) {
+        return new TransportadoraFreteDto(
+                ids[i],
+                nomes[i],
+                cnpjs[i],
+                Double.isNaN(avaliacoes[i]) ? null : avaliacoes[i],
+                valorFrete);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.frota.transporte;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.frota.transportadora.TransportadoraAlteradaEvent;
+import com.example.frota.transportadora.TransportadoraRepository;
+
+/**
+ * Mantém a {@link TabelaTarifas} atual das transportadoras ativas. A tabela é
+ * reconstruída após cada alteração de transportadora (depois do commit) e,
+ * periodicamente, para captar alterações feitas por outras instâncias.
+ */
+@Component
+public class TarifarioTransportadoras {
+    private static final Logger logger = LoggerFactory.getLogger(TarifarioTransportadoras.class);
+
+    @Autowired
+    private TransportadoraRepository transportadoraRepository;
+
+    private volatile TabelaTarifas atual;
+
+    /**
+     * Retorna a tabela vigente, construindo-a na primeira chamada
+     */
+    public TabelaTarifas atual() {
+        TabelaTarifas tabela = atual;
+        return tabela != null ? tabela : reconstruir();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar() {
+        reconstruir();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarTransportadora(TransportadoraAlteradaEvent evento) {
+        reconstruir();
+    }
+
+    @Scheduled(fixedDelayString = "${frota.tarifas.recarga:PT5M}", initialDelayString = "${frota.tarifas.recarga:PT5M}")
+    public void recarregarPeriodicamente() {
+        reconstruir();
+    }
+
+    public synchronized TabelaTarifas reconstruir() {
+        TabelaTarifas tabela = TabelaTarifas.de(transportadoraRepository.findAllActiveOrderByNome(),
+                TransporteService.VALOR_POR_KM, TransporteService.VALOR_POR_CAIXA, TransporteService.VALOR_POR_KG);
+        atual = tabela;
+        logger.debug("Tabela de tarifas reconstruída com {} transportadoras ativas", tabela.tamanho());
+        return tabela;
+    }
+}
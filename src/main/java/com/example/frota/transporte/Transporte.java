@@ -5,14 +5,17 @@ import com.example.frota.cliente.Cliente;
 import com.example.frota.transportadora.Transportadora;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -24,7 +27,12 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 
 @Entity
-@Table(name = "transporte")
+@Table(name = "transporte", indexes = {
+    // Listagem por cursor (id) com filtro por status, cliente ou transportadora
+    @Index(name = "idx_transporte_status_id", columnList = "status_geral, id"),
+    @Index(name = "idx_transporte_cliente_id", columnList = "cliente_id, id"),
+    @Index(name = "idx_transporte_transportadora_id", columnList = "transportadora_id, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -74,6 +82,11 @@ public class Transporte {
     LocalDateTime horarioRetirada;
     String statusPagamento;
 
+    // Controle de concorrência otimista: os dois lados do double check disputam a mesma linha
+    @Version
+    @Column(name = "versao", nullable = false, columnDefinition = "bigint default 0")
+    long versao;
+
 
     public Transporte(CadastroTransporte dto, Caixa caixa, Cliente cliente, Transportadora transportadora) {
         this.comprimento = dto.comprimento();
@@ -1,6 +1,8 @@
 package com.example.frota.transporte;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,21 +10,37 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import org.springframework.web.bind.annotation.RequestParam;
 
 import org.springframework.web.bind.annotation.RestController; 
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.example.frota.caixa.CaixaService;
+import com.example.frota.errors.IdempotenciaConflitanteException;
+import com.example.frota.errors.IdempotenciaEmAndamentoException;
+import com.example.frota.errors.TransporteVersaoException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 
 @RestController 
@@ -35,10 +53,64 @@ public class TransporteController {
     @Autowired
     private CaixaService caixaService;
 
-    // Retorna lista de DTOs (Corrigido)
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Idempotencia idempotencia;
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private static final int TAMANHO_MAXIMO_PAGINA = 500;
+
+    private static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+
+    @Value("${frota.cotacao.prazo:PT3S}")
+    private Duration prazoPadraoCotacao;
+
+    @Value("${frota.cotacao.prazo-maximo:PT10S}")
+    private Duration prazoMaximoCotacao;
+
+    /**
+     * Lista paginada por cursor: envie o {@code proximoCursor} da resposta em
+     * {@code aposId} para buscar a página seguinte
+     */
     @GetMapping
-    public ResponseEntity<List<DetalheTransporteDto>> listarTransporte() {
-        return ResponseEntity.ok(transporteService.procurarTodos());
+    public ResponseEntity<PaginaTransporteDto> listarTransporte(
+            @RequestParam(required = false) StatusEntrega status,
+            @RequestParam(required = false) Long clienteId,
+            @RequestParam(required = false) Long transportadoraId,
+            @RequestParam(required = false) Long aposId,
+            @RequestParam(defaultValue = "50") int tamanho) {
+        int tamanhoPagina = Math.max(1, Math.min(tamanho, TAMANHO_MAXIMO_PAGINA));
+        FiltroTransporte filtro = new FiltroTransporte(status, clienteId, transportadoraId);
+        return ResponseEntity.ok(transporteService.listarPagina(filtro, aposId, tamanhoPagina));
+    }
+
+    /**
+     * Exporta todos os transportes do filtro em NDJSON (um JSON por linha),
+     * escrevendo à medida que as linhas são lidas do banco
+     */
+    @GetMapping(value = "/exportar", produces = MEDIA_TYPE_NDJSON)
+    public void exportar(
+            @RequestParam(required = false) StatusEntrega status,
+            @RequestParam(required = false) Long clienteId,
+            @RequestParam(required = false) Long transportadoraId,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(MEDIA_TYPE_NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        FiltroTransporte filtro = new FiltroTransporte(status, clienteId, transportadoraId);
+
+        OutputStream saida = response.getOutputStream();
+        transporteService.exportar(filtro, dto -> {
+            try {
+                saida.write(objectMapper.writeValueAsBytes(dto));
+                saida.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        saida.flush();
     }
 
     // Retorna lista de DTOs (Corrigido)
@@ -49,11 +121,18 @@ public class TransporteController {
     }
 
     // Retorna DTO (Corrigido)
+    // ETag = versão do transporte; com If-None-Match igual responde 304
     @GetMapping("/{id}")
-    public ResponseEntity<DetalheTransporteDto> buscarPorId(@PathVariable Long id) {
-        return transporteService.procurarPorId(id)
-                .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<DetalheTransporteDto> buscarPorId(@PathVariable Long id, WebRequest request) {
+        Optional<DetalheTransporteDto> transporte = transporteService.procurarPorId(id);
+        if (transporte.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = etag(transporte.get());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(transporte.get());
     }
 
     @PostMapping
@@ -91,12 +170,19 @@ public class TransporteController {
     
     // Atualizar status do transporte
     @PutMapping("/{id}/status/{status}")
-    public ResponseEntity<DetalheTransporteDto> atualizarStatus(@PathVariable Long id, @PathVariable StatusEntrega status) {
+    public ResponseEntity<DetalheTransporteDto> atualizarStatus(
+            @PathVariable Long id,
+            @PathVariable StatusEntrega status,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String chaveIdempotencia) {
         try {
-            DetalheTransporteDto atualizado = transporteService.atualizarStatus(id, status);
-            return ResponseEntity.ok(atualizado);
+            Long versao = versaoDoIfMatch(ifMatch);
+            return comEtag(idempotencia.executar(chaveIdempotencia, "PUT /transporte/" + id + "/status/" + status,
+                    () -> transporteService.atualizarStatus(id, status, versao)));
         } catch (EntityNotFoundException e) {
             return ResponseEntity.notFound().build();
+        } catch (TransporteVersaoException | IdempotenciaConflitanteException | IdempotenciaEmAndamentoException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(null);
         }
@@ -117,16 +203,52 @@ public class TransporteController {
         return ResponseEntity.ok(transportadorasDisponiveis);
     }
 
+    /**
+     * Cotação assíncrona: não prende a thread do servlet enquanto a rota é
+     * resolvida e devolve o que foi precificado dentro do prazo
+     */
+    @GetMapping("/disponiveis/async")
+    public CompletableFuture<ResponseEntity<CotacaoFreteDto>> buscarDisponiveisAsync(
+            @RequestParam double peso,
+            @RequestParam double comprimento,
+            @RequestParam double largura,
+            @RequestParam double altura,
+            @RequestParam int quantidade,
+            @RequestParam String origem,
+            @RequestParam String destino,
+            @RequestParam(required = false) Long prazoMs) {
+
+        Duration prazo = prazoMs != null && prazoMs > 0
+                ? Duration.ofMillis(Math.min(prazoMs, prazoMaximoCotacao.toMillis()))
+                : prazoPadraoCotacao;
+        return transporteService.procurarDisponiveisAsync(
+                peso, comprimento, largura, altura, quantidade, origem, destino, prazo)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Cota vários envios em uma única requisição (rotas resolvidas em lote)
+     */
+    @PostMapping("/disponiveis/lote")
+    public ResponseEntity<List<ResultadoCotacaoFrete>> buscarDisponiveisLote(
+            @RequestBody @NotEmpty(message = "Ao menos uma cotação é obrigatória") List<@Valid DadosCotacaoFrete> cotacoes) {
+        return ResponseEntity.ok(transporteService.procurarDisponiveisLote(cotacoes));
+    }
+
     /**
      * Atualiza o status do motorista
      */
     @PutMapping("/{id}/status/motorista")
     public ResponseEntity<DetalheTransporteDto> atualizarStatusMotorista(
             @PathVariable Long id, 
-            @RequestParam StatusEntrega status) {
+            @RequestParam StatusEntrega status,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String chaveIdempotencia) {
         try {
-            DetalheTransporteDto transporteAtualizado = transporteService.atualizarStatusMotorista(id, status);
-            return ResponseEntity.ok(transporteAtualizado);
+            Long versao = versaoDoIfMatch(ifMatch);
+            return comEtag(idempotencia.executar(chaveIdempotencia,
+                    "PUT /transporte/" + id + "/status/motorista?status=" + status,
+                    () -> transporteService.atualizarStatusMotorista(id, status, versao)));
         } catch (EntityNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
@@ -138,15 +260,51 @@ public class TransporteController {
     @PutMapping("/{id}/status/cliente")
     public ResponseEntity<DetalheTransporteDto> atualizarStatusCliente(
             @PathVariable Long id, 
-            @RequestParam StatusEntrega status) {
+            @RequestParam StatusEntrega status,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String chaveIdempotencia) {
         try {
-            DetalheTransporteDto transporteAtualizado = transporteService.atualizarStatusCliente(id, status);
-            return ResponseEntity.ok(transporteAtualizado);
+            Long versao = versaoDoIfMatch(ifMatch);
+            return comEtag(idempotencia.executar(chaveIdempotencia,
+                    "PUT /transporte/" + id + "/status/cliente?status=" + status,
+                    () -> transporteService.atualizarStatusCliente(id, status, versao)));
         } catch (EntityNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    private static String etag(DetalheTransporteDto transporte) {
+        return "\"" + transporte.versao() + "\"";
+    }
+
+    private static ResponseEntity<DetalheTransporteDto> comEtag(Idempotencia.Resultado resultado) {
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok().eTag(etag(resultado.transporte()));
+        if (resultado.repetida()) {
+            resposta.header("Idempotent-Replayed", "true");
+        }
+        return resposta.body(resultado.transporte());
+    }
+
+    /**
+     * Versão esperada a partir do If-Match ({@code "3"}); nulo sem o cabeçalho ou com {@code *}.
+     * If-Match usa comparação forte (RFC 9110), então ETag fraca ({@code W/"3"}) nunca casa: 412.
+     * Cabeçalho malformado é erro do cliente (400), não divergência de versão (412).
+     */
+    static Long versaoDoIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String valor = ifMatch.trim();
+        if (valor.startsWith("W/")) {
+            throw new TransporteVersaoException("If-Match com ETag fraca não é aceito: " + ifMatch);
+        }
+        try {
+            return Long.valueOf(valor.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match inválido: " + ifMatch);
+        }
+    }
+
 
 
     @DeleteMapping("/{id}")
@@ -1,12 +1,20 @@
 package com.example.frota.transporte;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
+
 
 public interface TransporteRepository extends JpaRepository<Transporte, Long> {
 
@@ -22,4 +30,69 @@ public interface TransporteRepository extends JpaRepository<Transporte, Long> {
 
     @Query("SELECT t FROM Transporte t JOIN FETCH t.caixa LEFT JOIN FETCH t.cliente LEFT JOIN FETCH t.transportadora WHERE t.id IN :ids")
     List<Transporte> findAllByIdsWithCaixa(@Param("ids") List<Long> ids);
-}
\ No newline at end of file
+
+    /**
+     * Transição de status em lote (motorista, cliente e geral), só para os transportes
+     * que ainda estão no status esperado. Retorna quantas linhas foram alteradas.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Transporte t SET t.statusMotorista = :novo, t.statusCliente = :novo, t.statusGeral = :geral,
+                t.versao = t.versao + 1
+            WHERE t.id IN :ids AND t.statusGeral = :esperado""")
+    int transicionarStatus(@Param("ids") Collection<Long> ids, @Param("esperado") StatusEntrega esperado,
+                           @Param("novo") StatusEntrega novo, @Param("geral") StatusEntrega geral);
+
+    @Query("SELECT t.id FROM Transporte t WHERE t.id IN :ids AND t.statusGeral = :status")
+    List<Long> findIdsComStatus(@Param("ids") Collection<Long> ids, @Param("status") StatusEntrega status);
+
+    /**
+     * Projeção de {@link DetalheTransporteDto}: seleciona só as colunas do DTO,
+     * sem hidratar entidades nem guardar snapshots no contexto de persistência
+     */
+    String SELECT_DETALHE = """
+            SELECT new com.example.frota.transporte.DetalheTransporteDto(
+                t.id, t.produto, c.id, cl.id, cl.nome, tr.id, tr.nome,
+                t.comprimento, t.largura, t.altura, t.peso, t.quantidade, t.origem, t.destino, t.valorFrete,
+                t.statusGeral, t.statusMotorista, t.statusCliente, t.horarioRetirada, t.statusPagamento,
+                t.versao)
+            FROM Transporte t LEFT JOIN t.caixa c LEFT JOIN t.cliente cl LEFT JOIN t.transportadora tr
+            """;
+
+    String FILTROS_DETALHE = """
+              AND (:status IS NULL OR t.statusGeral = :status)
+              AND (:clienteId IS NULL OR cl.id = :clienteId)
+              AND (:transportadoraId IS NULL OR tr.id = :transportadoraId)
+            """;
+
+    @Query(SELECT_DETALHE + "WHERE t.id = :id")
+    Optional<DetalheTransporteDto> findDetalheById(@Param("id") Long id);
+
+    @Query(SELECT_DETALHE + "ORDER BY t.id")
+    List<DetalheTransporteDto> findAllDetalhes();
+
+    @Query(SELECT_DETALHE + "WHERE c.id = :caixaId ORDER BY t.id")
+    List<DetalheTransporteDto> findDetalhesByCaixaId(@Param("caixaId") Long caixaId);
+
+    /**
+     * Página por chave (seek): transportes com id maior que o cursor, na ordem do id.
+     * Filtros nulos são ignorados.
+     */
+    @Query(SELECT_DETALHE + "WHERE t.id > :aposId " + FILTROS_DETALHE + "ORDER BY t.id")
+    List<DetalheTransporteDto> findPagina(@Param("aposId") long aposId, @Param("status") StatusEntrega status,
+                                          @Param("clienteId") Long clienteId,
+                                          @Param("transportadoraId") Long transportadoraId, Limit limite);
+
+    /**
+     * Mesmos filtros da página, lidos como cursor no banco (sem materializar o
+     * resultado). Deve ser consumido dentro de uma transação e fechado.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(SELECT_DETALHE + "WHERE 1 = 1 " + FILTROS_DETALHE + "ORDER BY t.id")
+    Stream<DetalheTransporteDto> streamFiltrados(@Param("status") StatusEntrega status,
+                                                 @Param("clienteId") Long clienteId,
+                                                 @Param("transportadoraId") Long transportadoraId);
+}
@@ -1,13 +1,29 @@
 package com.example.frota.transporte;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import jakarta.transaction.Transactional; // Import adicionado
 
 import com.example.frota.caixa.Caixa;
@@ -16,25 +32,23 @@ import com.example.frota.transportadora.Transportadora;
 import com.example.frota.transportadora.TransportadoraRepository;
 import com.example.frota.cliente.Cliente;
 import com.example.frota.cliente.ClienteService;
+import com.example.frota.errors.TransporteStatusException;
+import com.example.frota.errors.TransporteVersaoException;
 
 // Imports do Logger simulado
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.maps.DistanceMatrixApi;
-import com.google.maps.GeoApiContext;
-import com.google.maps.model.DistanceMatrix;
-import com.google.maps.model.TravelMode;
+import com.example.frota.rota.Rota;
+import com.example.frota.rota.RotaService;
 
 import jakarta.persistence.EntityNotFoundException;
 
+
 @Service
 public class TransporteService {
     private static final Logger logger = LoggerFactory.getLogger(TransporteService.class);
 
-    @Value("${google.maps.api.key}")
-    private String googleMapsApiKey;
-
     @Autowired
     private TransporteRepository transporteRepository;
 
@@ -47,11 +61,36 @@ public class TransporteService {
     @Autowired
     private ClienteService clienteService;
 
-    private static final double VALOR_POR_KM = 5.0;
+    @Autowired
+    private RotaService rotaService;
+
+    @Autowired
+    private TarifarioTransportadoras tarifario;
+
+    @Autowired
+    private MetricasCotacao metricasCotacao;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
-    private static final double VALOR_POR_CAIXA = 10.0;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${frota.transporte.status.tentativas:3}")
+    private int tentativasStatus = 3;
 
-    private static final double VALOR_POR_KG = 1.0;
+    @Autowired
+    @Qualifier("cotacaoExecutor")
+    private Executor cotacaoExecutor;
+
+    @Value("${frota.cotacao.paralelismo:4}")
+    private int paralelismoCotacao;
+
+    static final double VALOR_POR_KM = 5.0;
+
+    static final double VALOR_POR_CAIXA = 10.0;
+
+    static final double VALOR_POR_KG = 1.0;
 
     private static final double FATOR_CUBAGEM = 0.3; // Corrigido: 300kg/m³ = 0.3 kg/L
 
@@ -95,62 +134,159 @@ public class TransporteService {
         return new DetalheTransporteDto(salvo);
     }
     
-    @Transactional
     public DetalheTransporteDto atualizarStatusMotorista(Long id, StatusEntrega novoStatus) {
-        Transporte transporte = transporteRepository.findById(id)
-            .orElseThrow(() -> new EntityNotFoundException("Transporte não encontrado com ID: " + id));
-        
-        transporte.atualizarStatusMotorista(novoStatus);
-        Transporte atualizado = transporteRepository.save(transporte);
-        
-        return new DetalheTransporteDto(atualizado);
+        return atualizarStatusMotorista(id, novoStatus, null);
     }
-    
-    @Transactional
+
+    /**
+     * Atualiza o status do motorista. Com {@code versaoEsperada} (If-Match) a alteração só é
+     * aplicada se o transporte ainda estiver nessa versão; sem ela, uma confirmação
+     * concorrente do cliente faz a alteração ser reaplicada sobre a versão nova.
+     */
+    public DetalheTransporteDto atualizarStatusMotorista(Long id, StatusEntrega novoStatus, Long versaoEsperada) {
+        return alterarStatus(id, versaoEsperada, transporte -> transporte.atualizarStatusMotorista(novoStatus));
+    }
+
     public DetalheTransporteDto atualizarStatusCliente(Long id, StatusEntrega novoStatus) {
-        Transporte transporte = transporteRepository.findById(id)
-            .orElseThrow(() -> new EntityNotFoundException("Transporte não encontrado com ID: " + id));
-        
-        transporte.atualizarStatusCliente(novoStatus);
-        Transporte atualizado = transporteRepository.save(transporte);
-        
-        return new DetalheTransporteDto(atualizado);
+        return atualizarStatusCliente(id, novoStatus, null);
     }
-    
-    @Transactional
+
+    public DetalheTransporteDto atualizarStatusCliente(Long id, StatusEntrega novoStatus, Long versaoEsperada) {
+        return alterarStatus(id, versaoEsperada, transporte -> transporte.atualizarStatusCliente(novoStatus));
+    }
+
     public DetalheTransporteDto atualizarStatus(Long id, StatusEntrega novoStatus) {
+        return atualizarStatus(id, novoStatus, null);
+    }
+
+    public DetalheTransporteDto atualizarStatus(Long id, StatusEntrega novoStatus, Long versaoEsperada) {
         // Método mantido para compatibilidade - atualiza ambos os status
-        Transporte transporte = transporteRepository.findById(id)
-            .orElseThrow(() -> new EntityNotFoundException("Transporte não encontrado com ID: " + id));
-        
-        transporte.atualizarStatusMotorista(novoStatus);
-        transporte.atualizarStatusCliente(novoStatus);
-        Transporte atualizado = transporteRepository.save(transporte);
-        
-        return new DetalheTransporteDto(atualizado);
+        return alterarStatus(id, versaoEsperada, transporte -> {
+            transporte.atualizarStatusMotorista(novoStatus);
+            transporte.atualizarStatusCliente(novoStatus);
+        });
+    }
+
+    /**
+     * Aplica a alteração com controle otimista (@Version). Em transação própria, um
+     * conflito de versão sem If-Match é tentado de novo (até frota.transporte.status.tentativas);
+     * dentro da transação de quem chama, o conflito é propagado.
+     */
+    private DetalheTransporteDto alterarStatus(Long id, Long versaoEsperada, Consumer<Transporte> alteracao) {
+        boolean transacaoPropria = !TransactionSynchronizationManager.isActualTransactionActive();
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    Transporte transporte = transporteRepository.findById(id)
+                        .orElseThrow(() -> new EntityNotFoundException("Transporte não encontrado com ID: " + id));
+                    if (versaoEsperada != null && versaoEsperada != transporte.getVersao()) {
+                        throw new TransporteVersaoException(id, versaoEsperada, transporte.getVersao());
+                    }
+
+                    alteracao.accept(transporte);
+                    Transporte atualizado = transporteRepository.save(transporte);
+                    // Incrementa a versão agora, para o DTO (e o ETag) já saírem com a nova
+                    transporteRepository.flush();
+                    eventPublisher.publishEvent(new StatusTransporteAlteradoEvent(atualizado));
+
+                    return new DetalheTransporteDto(atualizado);
+                });
+            } catch (OptimisticLockingFailureException e) {
+                if (versaoEsperada != null) {
+                    throw new TransporteVersaoException("Transporte " + id + " foi alterado por outra requisição");
+                }
+                if (!transacaoPropria || tentativa >= tentativasStatus) {
+                    throw e;
+                }
+                logger.debug("Conflito de versão no transporte {}, tentativa {}", id, tentativa);
+            }
+        }
+    }
+
+    /**
+     * Passa os transportes de {@code esperado} para {@code novo} (motorista e cliente)
+     * com um único UPDATE. Se algum deles não estiver mais no status esperado, a
+     * transação é desfeita e a {@link TransporteStatusException} traz os ids em
+     * conflito. As entidades recebidas não são alteradas em memória.
+     */
+    @Transactional
+    public void transicionarStatusEmLote(List<Transporte> transportes, StatusEntrega esperado, StatusEntrega novo) {
+        List<Long> ids = transportes.stream().map(Transporte::getId).distinct().toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        StatusEntrega geral = novo == StatusEntrega.ENTREGUE ? StatusEntrega.FINALIZADO : novo;
+
+        int alterados = transporteRepository.transicionarStatus(ids, esperado, novo, geral);
+        if (alterados != ids.size()) {
+            // Os que já estavam no status de destino não são conflito
+            Set<Long> noDestino = new HashSet<>(transporteRepository.findIdsComStatus(ids, geral));
+            List<Long> conflitos = ids.stream().filter(id -> !noDestino.contains(id)).toList();
+            if (!conflitos.isEmpty()) {
+                throw new TransporteStatusException(conflitos, esperado.name(), novo.name());
+            }
+        }
+
+        for (Transporte transporte : transportes) {
+            eventPublisher.publishEvent(new StatusTransporteAlteradoEvent(transporte.getId(),
+                    transporte.getCliente() != null ? transporte.getCliente().getId() : null, novo, novo, geral));
+        }
+    }
+
+    /**
+     * Lista uma página de transportes a partir do cursor {@code aposId} (id do
+     * último transporte da página anterior; nulo para a primeira página)
+     */
+    public PaginaTransporteDto listarPagina(FiltroTransporte filtro, Long aposId, int tamanho) {
+        // Busca um a mais para saber se existe próxima página
+        List<DetalheTransporteDto> transportes = transporteRepository.findPagina(aposId != null ? aposId : 0L,
+                filtro.status(), filtro.clienteId(), filtro.transportadoraId(), Limit.of(tamanho + 1));
+
+        boolean temProxima = transportes.size() > tamanho;
+        List<DetalheTransporteDto> pagina = temProxima ? transportes.subList(0, tamanho) : transportes;
+        Long proximoCursor = temProxima ? pagina.get(pagina.size() - 1).id() : null;
+        return new PaginaTransporteDto(pagina, proximoCursor);
+    }
+
+    /**
+     * Percorre todos os transportes do filtro entregando um DTO por vez ao consumidor.
+     * A consulta é uma projeção (nada fica no contexto de persistência), então a
+     * memória usada não depende do tamanho da tabela.
+     */
+    @Transactional
+    public long exportar(FiltroTransporte filtro, Consumer<DetalheTransporteDto> consumidor) {
+        long total = 0;
+        try (Stream<DetalheTransporteDto> transportes = transporteRepository.streamFiltrados(
+                filtro.status(), filtro.clienteId(), filtro.transportadoraId())) {
+            Iterator<DetalheTransporteDto> iterator = transportes.iterator();
+            while (iterator.hasNext()) {
+                consumidor.accept(iterator.next());
+                total++;
+            }
+        }
+        return total;
     }
 
-    // Retorna lista de DTOs e usa Fetch Join
+    // Retorna lista de DTOs projetados direto da consulta
     public List<DetalheTransporteDto> procurarTodos() {
-        return transporteRepository.findAllWithCaixa().stream()
-                .map(DetalheTransporteDto::new)
-                .toList();
+        return transporteRepository.findAllDetalhes();
     }
     
-    // Retorna lista de DTOs e usa Fetch Join
+    // Retorna lista de DTOs projetados direto da consulta
     public List<DetalheTransporteDto> procurarPorCaixaId(Long caixaId) {
-        return transporteRepository.findAllByCaixaIdWithCaixa(caixaId).stream()
-                .map(DetalheTransporteDto::new)
-                .toList();
+        return transporteRepository.findDetalhesByCaixaId(caixaId);
     }
 
-    // Retorna Optional de DTO e usa Fetch Join
+    // Retorna Optional de DTO projetado direto da consulta
     public Optional<DetalheTransporteDto> procurarPorId(Long id) {
-        return transporteRepository.findByIdWithCaixa(id)
-            .map(DetalheTransporteDto::new);
+        return transporteRepository.findDetalheById(id);
     }
 
 
+    public boolean existe(Long id) {
+        return transporteRepository.existsById(id);
+    }
+
     public Optional<Transporte> procurarPorIdComCaixa(Long id) {
         return transporteRepository.findByIdWithCaixa(id);
     }
@@ -165,116 +301,164 @@ public class TransporteService {
     
     public double calcularFrete(double pesoReal, double pesoCubado, int numeroCaixas, String origem, String destino, 
                                double valorPorKm, double valorPorCaixa, double valorPorKg) {
-        double pesoConsiderado = Math.max(pesoReal, pesoCubado);
+        return calcularFrete(pesoReal, pesoCubado, numeroCaixas, rotaService.calcular(origem, destino),
+                valorPorKm, valorPorCaixa, valorPorKg);
+    }
 
-        Pair<Double, Double> distanciaPedagio = calcularDistanciaPedagio(origem, destino);
-        double distanciaKm = distanciaPedagio.first();
-        double valorPedagio = distanciaPedagio.second();
-        
-        // Log para debug
-        logger.info("Cálculo de frete - Peso real: {}, Peso cubado: {}, Peso considerado: {}", 
-                   pesoReal, pesoCubado, pesoConsiderado);
-        logger.info("Distância: {}km, Pedágio: R${}", distanciaKm, valorPedagio);
-        
-        // Limitar pedágio a um valor razoável (máximo R$ 100 por viagem)
-        valorPedagio = Math.min(valorPedagio, 100.0);
+    /**
+     * Calcula o frete sobre uma rota já resolvida, sem nenhuma consulta remota
+     */
+    public double calcularFrete(double pesoReal, double pesoCubado, int numeroCaixas, Rota rota,
+                               double valorPorKm, double valorPorCaixa, double valorPorKg) {
+        double frete = CalculadoraFrete.calcular(pesoReal, pesoCubado, numeroCaixas, rota.distanciaKm(),
+                rota.pedagio(), valorPorKm, valorPorCaixa, valorPorKg);
 
-        double valorFretePeso = (pesoConsiderado * valorPorKg) + (valorPorKm * distanciaKm) + valorPedagio;
-        double valorFreteCaixa = (numeroCaixas * valorPorCaixa) + (valorPorKm * distanciaKm) + valorPedagio;
-        
-        double freteCalculado = Math.max(valorFretePeso, valorFreteCaixa);
-        
-        // Arredondar para 2 casas decimais
-        BigDecimal freteArredondado = BigDecimal.valueOf(freteCalculado)
-                .setScale(2, RoundingMode.HALF_UP);
-        
-        double freteResultado = freteArredondado.doubleValue();
-        
-        logger.info("Frete por peso: R${}, Frete por caixa: R${}, Frete final: R${}", 
-                   valorFretePeso, valorFreteCaixa, freteResultado);
-        
-        return freteResultado;
+        // Log para debug (por transportadora; só monta os argumentos se o nível estiver ativo)
+        if (logger.isDebugEnabled()) {
+            logger.debug("Cálculo de frete - Peso real: {}, Peso cubado: {}, Distância: {}km, Pedágio: R${}, Frete final: R${}",
+                    pesoReal, pesoCubado, rota.distanciaKm(), rota.pedagio(), frete);
+        }
+        return frete;
     }
 
     public List<TransportadoraFreteDto> procurarDisponiveis(double peso, double comprimento, double largura, 
                                                            double altura, int quantidade, String origem, String destino) {
-        List<Transportadora> transportadorasAtivas = transportadoraRepository.findAllActiveOrderByNome();
-        
-        double pesoCubado = (comprimento * largura * altura) * FATOR_CUBAGEM;
-        
-        return transportadorasAtivas.stream()
-            .map(transportadora -> {
-                double valorKm = transportadora.getPrecoKm() != null ? transportadora.getPrecoKm() : VALOR_POR_KM;
-                double valorCaixa = transportadora.getValorPorCaixa() != null ? transportadora.getValorPorCaixa() : VALOR_POR_CAIXA;
-                double valorKg = transportadora.getValorPorKilo() != null ? transportadora.getValorPorKilo() : VALOR_POR_KG;
-                
-                double valorFrete = calcularFrete(peso, pesoCubado, quantidade, origem, destino, valorKm, valorCaixa, valorKg);
-                
-                return new TransportadoraFreteDto(
-                    transportadora.getId(),
-                    transportadora.getNome(),
-                    transportadora.getCnpj(),
-                    transportadora.getAvaliacao(),
-                    valorFrete
-                );
+        long inicioCotacao = System.nanoTime();
+        TabelaTarifas tarifas = tarifario.atual();
+
+        // A rota é a mesma para todas as transportadoras: resolve uma única vez
+        Rota rota = rotaService.calcular(origem, destino);
+        List<TransportadoraFreteDto> resultado = cotarTransportadoras(tarifas, 0, tarifas.tamanho(),
+                peso, comprimento, largura, altura, quantidade, rota);
+        metricasCotacao.registrarSincrona(inicioCotacao, resultado.size());
+        return resultado;
+    }
+
+    /**
+     * Cota vários envios de uma vez: todas as rotas são resolvidas em uma única
+     * consulta de matriz (origens x destinos) e todos usam a mesma tabela de tarifas.
+     */
+    public List<ResultadoCotacaoFrete> procurarDisponiveisLote(List<DadosCotacaoFrete> cotacoes) {
+        if (cotacoes.isEmpty()) {
+            return List.of();
+        }
+        long inicioCotacao = System.nanoTime();
+        TabelaTarifas tarifas = tarifario.atual();
+
+        List<String> origens = cotacoes.stream().map(DadosCotacaoFrete::origem).distinct().toList();
+        List<String> destinos = cotacoes.stream().map(DadosCotacaoFrete::destino).distinct().toList();
+        Rota[][] matriz = rotaService.calcularMatriz(origens, destinos);
+
+        List<ResultadoCotacaoFrete> resultados = cotacoes.stream()
+            .map(cotacao -> {
+                Rota rota = matriz[origens.indexOf(cotacao.origem())][destinos.indexOf(cotacao.destino())];
+                List<TransportadoraFreteDto> transportadoras = cotarTransportadoras(tarifas, 0, tarifas.tamanho(),
+                        cotacao.peso(), cotacao.comprimento(), cotacao.largura(), cotacao.altura(),
+                        cotacao.quantidade(), rota);
+                return new ResultadoCotacaoFrete(cotacao.origem(), cotacao.destino(), transportadoras);
             })
-            .sorted((a, b) -> Double.compare(a.valorFrete(), b.valorFrete()))
             .toList();
+        metricasCotacao.registrarLote(inicioCotacao, resultados.size(), tarifas.tamanho());
+        return resultados;
     }
 
-
-    public Pair<Double, Double> calcularDistanciaPedagio(String origem, String destino) {
+    /**
+     * Cotação assíncrona: a rota é resolvida no pool de cotação e a precificação
+     * é dividida em faixas da tabela de tarifas executadas em paralelo. Ao fim do
+     * prazo devolve as transportadoras já precificadas e lista as pendentes. Com a
+     * fila do pool cheia a cotação volta incompleta, com todas pendentes.
+     */
+    public CompletableFuture<CotacaoFreteDto> procurarDisponiveisAsync(double peso, double comprimento, double largura,
+                                                                     double altura, int quantidade, String origem,
+                                                                     String destino, Duration prazo) {
+        long inicioCotacao = System.nanoTime();
+        TabelaTarifas tarifas = tarifario.atual();
+        CompletableFuture<Rota> rotaFutura;
         try {
-            // Verificar se a API key está configurada
-            if (googleMapsApiKey == null || googleMapsApiKey.trim().isEmpty() || googleMapsApiKey.equals("${google.maps.api.key}")) {
-                logger.warn("Google Maps API key não configurada, usando valores padrão");
-                return new Pair<>(50.0, 10.0); // 50km, R$10 de pedágio
-            }
-
-            GeoApiContext ctx = new GeoApiContext.Builder()
-                .apiKey(googleMapsApiKey)
-                .build();
+            rotaFutura = CompletableFuture.supplyAsync(() -> rotaService.calcular(origem, destino), cotacaoExecutor);
+        } catch (RejectedExecutionException e) {
+            // As faixas herdam a falha; a rejeição de thenApplyAsync já completa a faixa com erro
+            logger.warn("Pool de cotação sem capacidade, cotação de {} para {} devolvida sem preços", origem, destino);
+            rotaFutura = CompletableFuture.failedFuture(e);
+        }
 
-            DistanceMatrix matrix = DistanceMatrixApi.newRequest(ctx)
-                                        .origins(origem)
-                                        .destinations(destino)
-                                        .mode(TravelMode.DRIVING)
-                                        .await();
+        int tamanhoFaixa = Math.max(1, (int) Math.ceil(tarifas.tamanho() / (double) Math.max(1, paralelismoCotacao)));
+        List<int[]> faixas = new ArrayList<>();
+        List<CompletableFuture<List<TransportadoraFreteDto>>> precificacoes = new ArrayList<>();
+        for (int inicio = 0; inicio < tarifas.tamanho(); inicio += tamanhoFaixa) {
+            int de = inicio;
+            int ate = Math.min(inicio + tamanhoFaixa, tarifas.tamanho());
+            faixas.add(new int[] {de, ate});
+            precificacoes.add(rotaFutura.thenApplyAsync(rota -> cotarTransportadoras(
+                    tarifas, de, ate, peso, comprimento, largura, altura, quantidade, rota), cotacaoExecutor));
+        }
 
-            if (matrix == null || matrix.rows == null || matrix.rows.length == 0
-                    || matrix.rows[0].elements == null || matrix.rows[0].elements.length == 0) {
-                logger.warn("Nenhuma informação retornada pela API, usando valores padrão");
-                return new Pair<>(50.0, 10.0);
-            }
+        return CompletableFuture.allOf(precificacoes.toArray(CompletableFuture[]::new))
+            .completeOnTimeout(null, prazo.toNanos(), TimeUnit.NANOSECONDS)
+            .handle((ignorado, erro) -> consolidarCotacao(tarifas, faixas, precificacoes))
+            .whenComplete((cotacao, erro) -> {
+                if (cotacao != null) {
+                    metricasCotacao.registrarAssincrona(inicioCotacao, cotacao.transportadoras().size(), cotacao.completa());
+                }
+            });
+    }
 
-            var element = matrix.rows[0].elements[0];
-            if (element.distance == null) {
-                logger.warn("Distância não disponível, usando valores padrão");
-                return new Pair<>(50.0, 10.0);
+    private CotacaoFreteDto consolidarCotacao(TabelaTarifas tarifas, List<int[]> faixas,
+                                              List<CompletableFuture<List<TransportadoraFreteDto>>> precificacoes) {
+        List<TransportadoraFreteDto> precificadas = new ArrayList<>();
+        List<Long> pendentes = new ArrayList<>();
+        for (int i = 0; i < faixas.size(); i++) {
+            CompletableFuture<List<TransportadoraFreteDto>> precificacao = precificacoes.get(i);
+            if (precificacao.isDone() && !precificacao.isCompletedExceptionally()) {
+                precificadas.addAll(precificacao.join());
+            } else {
+                for (int j = faixas.get(i)[0]; j < faixas.get(i)[1]; j++) {
+                    pendentes.add(tarifas.id(j));
+                }
             }
+        }
+        precificadas.sort(Comparator.comparingDouble(TransportadoraFreteDto::valorFrete));
+        return new CotacaoFreteDto(precificadas, pendentes.isEmpty(), pendentes);
+    }
 
-            double distanceKm = element.distance.inMeters / 1000.0;
-
-            // Calcular pedágio baseado na distância (aproximadamente R$0.20 por km)
-            double pedagioEstimado = distanceKm * 0.20;
+    /**
+     * Precifica as transportadoras da faixa [inicio, fim) da tabela. O laço de
+     * precificação trabalha só com primitivos; os DTOs são montados no final,
+     * já na ordem de menor frete (ordenação estável, mantém a ordem por nome nos empates).
+     */
+    private List<TransportadoraFreteDto> cotarTransportadoras(TabelaTarifas tarifas, int inicio, int fim, double peso,
+                                                             double comprimento, double largura, double altura,
+                                                             int quantidade, Rota rota) {
+        double pesoCubado = (comprimento * largura * altura) * FATOR_CUBAGEM;
+        int n = fim - inicio;
+        double[] fretes = new double[n];
+        int[] ordem = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            int t = inicio + i;
+            fretes[i] = calcularFrete(peso, pesoCubado, quantidade, rota,
+                    tarifas.precoKm(t), tarifas.valorPorCaixa(t), tarifas.valorPorKilo(t));
             
-            // Se a API retornou fare, usar o menor valor entre fare e estimativa
-            double pedagioFinal = pedagioEstimado;
-            if (element.fare != null) {
-                double fareValue = Double.parseDouble(element.fare.value.toPlainString());
-                // Usar o menor valor e limitar a R$100
-                pedagioFinal = Math.min(Math.min(fareValue, pedagioEstimado), 100.0);
+            // Ordenação por inserção: poucas transportadoras e estável
+            int j = i;
+            while (j > 0 && fretes[ordem[j - 1]] > fretes[i]) {
+                ordem[j] = ordem[j - 1];
+                j--;
             }
+            ordem[j] = i;
+        }
 
-            logger.info("Distância calculada: {}km, Pedágio: R${}", distanceKm, pedagioFinal);
-            return new Pair<>(distanceKm, pedagioFinal);
-            
-        } catch (Exception e) {
-            logger.error("Erro ao calcular distância entre {} e {}", origem, destino, e);
-            // Retornar valores padrão em caso de erro
-            logger.warn("Usando valores padrão devido ao erro");
-            return new Pair<>(50.0, 10.0);
+        List<TransportadoraFreteDto> resultado = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            resultado.add(tarifas.paraDto(inicio + ordem[i], fretes[ordem[i]]));
         }
+        return resultado;
+    }
+
+
+    public Pair<Double, Double> calcularDistanciaPedagio(String origem, String destino) {
+        Rota rota = rotaService.calcular(origem, destino);
+        return new Pair<>(rota.distanciaKm(), rota.pedagio());
     }
 
     public List<Transporte> procurarPorIds(List<Long> ids) {
@@ -0,0 +1,15 @@
+package com.example.frota.viagem;
+
+import java.util.List;
+
+/**
+ * Ordem otimizada das coletas e entregas de uma viagem. {@code distanciaInicialKm}
+ * é a do vizinho mais próximo, antes das melhorias.
+ */
+public record ItinerarioViagem(
+    Long viagemId,
+    List<ParadaItinerario> paradas,
+    double distanciaTotalKm,
+    double distanciaInicialKm
+) {
+}
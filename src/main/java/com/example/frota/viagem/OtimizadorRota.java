@@ -0,0 +1,251 @@
+package com.example.frota.viagem;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ordena as paradas de uma viagem (coleta na origem e entrega no destino de cada
+ * transporte) para reduzir a distância total, sempre com a coleta antes da
+ * entrega do mesmo transporte. O caminho é aberto: começa na primeira parada e
+ * termina na última, sem voltar.
+ *
+ * <p>Ponto de partida: vizinho mais próximo, tentando cada coleta como primeira
+ * parada. Depois aplica 2-opt (inverter um trecho) e or-opt (mover um trecho de
+ * até 3 paradas) enquanto houver melhora ou até o prazo. A matriz pode ser
+ * assimétrica.
+ */
+final class OtimizadorRota {
+
+    private static final double EPSILON = 1e-9;
+    private static final int MAIOR_TRECHO_OR_OPT = 3;
+
+    /**
+     * Parada a visitar; {@code local} é o índice do endereço na matriz de distâncias
+     */
+    record Parada(Long transporteId, TipoParada tipo, int local) {
+    }
+
+    /**
+     * Ordem das paradas (índices da lista recebida) e a distância do caminho
+     * antes e depois das melhorias
+     */
+    record Resultado(int[] ordem, double distanciaInicial, double distancia) {
+    }
+
+    private final double[][] distancias;
+    private final List<Parada> paradas;
+    private final int[] par;
+    private final int n;
+
+    private OtimizadorRota(double[][] distancias, List<Parada> paradas) {
+        this.distancias = distancias;
+        this.paradas = paradas;
+        this.n = paradas.size();
+        this.par = new int[n];
+        Map<Long, Integer> coletas = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            if (paradas.get(i).tipo() == TipoParada.COLETA) {
+                coletas.put(paradas.get(i).transporteId(), i);
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            par[i] = -1;
+            if (paradas.get(i).tipo() == TipoParada.ENTREGA) {
+                Integer coleta = coletas.get(paradas.get(i).transporteId());
+                if (coleta == null) {
+                    throw new IllegalArgumentException("Entrega sem coleta para o transporte " + paradas.get(i).transporteId());
+                }
+                par[i] = coleta;
+                par[coleta] = i;
+            }
+        }
+    }
+
+    static Resultado otimizar(double[][] distancias, List<Parada> paradas, long prazoNanos) {
+        return new OtimizadorRota(distancias, paradas).otimizar(prazoNanos);
+    }
+
+    private Resultado otimizar(long prazoNanos) {
+        if (n == 0) {
+            return new Resultado(new int[0], 0, 0);
+        }
+        int[] rota = vizinhoMaisProximo();
+        double inicial = custo(rota);
+        boolean melhorou = true;
+        while (melhorou && System.nanoTime() - prazoNanos < 0) {
+            melhorou = doisOpt(rota, prazoNanos);
+            melhorou |= orOpt(rota, prazoNanos);
+        }
+        return new Resultado(rota, inicial, custo(rota));
+    }
+
+    private double d(int a, int b) {
+        if (a < 0 || b < 0) {
+            return 0;
+        }
+        return distancias[paradas.get(a).local()][paradas.get(b).local()];
+    }
+
+    private double custo(int[] rota) {
+        double total = 0;
+        for (int k = 0; k + 1 < rota.length; k++) {
+            total += d(rota[k], rota[k + 1]);
+        }
+        return total;
+    }
+
+    private int[] vizinhoMaisProximo() {
+        int[] melhor = null;
+        double melhorCusto = Double.MAX_VALUE;
+        for (int inicio = 0; inicio < n; inicio++) {
+            if (paradas.get(inicio).tipo() == TipoParada.ENTREGA) {
+                continue;
+            }
+            int[] rota = vizinhoMaisProximo(inicio);
+            double custo = custo(rota);
+            if (custo < melhorCusto) {
+                melhorCusto = custo;
+                melhor = rota;
+            }
+        }
+        return melhor;
+    }
+
+    private int[] vizinhoMaisProximo(int inicio) {
+        int[] rota = new int[n];
+        boolean[] visitada = new boolean[n];
+        rota[0] = inicio;
+        visitada[inicio] = true;
+        for (int k = 1; k < n; k++) {
+            int atual = rota[k - 1];
+            int proxima = -1;
+            for (int candidata = 0; candidata < n; candidata++) {
+                if (visitada[candidata] || !liberada(candidata, visitada)) {
+                    continue;
+                }
+                if (proxima < 0 || d(atual, candidata) < d(atual, proxima)) {
+                    proxima = candidata;
+                }
+            }
+            rota[k] = proxima;
+            visitada[proxima] = true;
+        }
+        return rota;
+    }
+
+    // Uma entrega só fica liberada depois da coleta do mesmo transporte
+    private boolean liberada(int parada, boolean[] visitada) {
+        return paradas.get(parada).tipo() != TipoParada.ENTREGA || visitada[par[parada]];
+    }
+
+    /**
+     * Inverte o trecho rota[i..j] quando encurta o caminho. Um trecho que contém a coleta
+     * e a entrega do mesmo transporte não pode ser invertido.
+     */
+    private boolean doisOpt(int[] rota, long prazoNanos) {
+        boolean melhorou = false;
+        int[] posicao = posicoes(rota);
+        for (int i = 0; i < n - 1; i++) {
+            if (System.nanoTime() - prazoNanos > 0) {
+                break;
+            }
+            double ida = 0;
+            double volta = 0;
+            for (int j = i + 1; j < n; j++) {
+                int parJ = par[rota[j]];
+                if (parJ >= 0 && posicao[parJ] >= i && posicao[parJ] < j) {
+                    break;
+                }
+                ida += d(rota[j - 1], rota[j]);
+                volta += d(rota[j], rota[j - 1]);
+                int antes = i > 0 ? rota[i - 1] : -1;
+                int depois = j < n - 1 ? rota[j + 1] : -1;
+                double atual = d(antes, rota[i]) + ida + d(rota[j], depois);
+                double invertido = d(antes, rota[j]) + volta + d(rota[i], depois);
+                if (invertido < atual - EPSILON) {
+                    for (int a = i, b = j; a < b; a++, b--) {
+                        int troca = rota[a];
+                        rota[a] = rota[b];
+                        rota[b] = troca;
+                    }
+                    posicao = posicoes(rota);
+                    melhorou = true;
+                    ida = 0;
+                    volta = 0;
+                    for (int k = i + 1; k <= j; k++) {
+                        ida += d(rota[k - 1], rota[k]);
+                        volta += d(rota[k], rota[k - 1]);
+                    }
+                }
+            }
+        }
+        return melhorou;
+    }
+
+    /**
+     * Move um trecho de 1 a {@link #MAIOR_TRECHO_OR_OPT} paradas, sem inverter, para a
+     * primeira posição que encurta o caminho respeitando coleta antes da entrega
+     */
+    private boolean orOpt(int[] rota, long prazoNanos) {
+        boolean melhorou = false;
+        for (int tamanho = 1; tamanho <= MAIOR_TRECHO_OR_OPT && tamanho < n; tamanho++) {
+            for (int i = 0; i + tamanho <= n; i++) {
+                if (System.nanoTime() - prazoNanos > 0) {
+                    return melhorou;
+                }
+                int fim = i + tamanho - 1;
+                int antes = i > 0 ? rota[i - 1] : -1;
+                int depois = fim < n - 1 ? rota[fim + 1] : -1;
+                double ganhoRemocao = d(antes, rota[i]) + d(rota[fim], depois) - d(antes, depois);
+
+                // Sem o trecho, a rota tem n - tamanho paradas; q é a posição de inserção nela
+                int[] resto = new int[n - tamanho];
+                for (int k = 0, r = 0; k < n; k++) {
+                    if (k < i || k > fim) {
+                        resto[r++] = rota[k];
+                    }
+                }
+                for (int q = 0; q <= resto.length; q++) {
+                    if (q == i) {
+                        continue;
+                    }
+                    int a = q > 0 ? resto[q - 1] : -1;
+                    int b = q < resto.length ? resto[q] : -1;
+                    double acrescimo = d(a, rota[i]) + d(rota[fim], b) - d(a, b);
+                    if (acrescimo - ganhoRemocao < -EPSILON) {
+                        int[] candidata = new int[n];
+                        System.arraycopy(resto, 0, candidata, 0, q);
+                        System.arraycopy(rota, i, candidata, q, tamanho);
+                        System.arraycopy(resto, q, candidata, q + tamanho, resto.length - q);
+                        if (valida(candidata)) {
+                            System.arraycopy(candidata, 0, rota, 0, n);
+                            melhorou = true;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        return melhorou;
+    }
+
+    private boolean valida(int[] rota) {
+        int[] posicao = posicoes(rota);
+        for (int k = 0; k < n; k++) {
+            if (paradas.get(k).tipo() == TipoParada.COLETA && par[k] >= 0 && posicao[k] > posicao[par[k]]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int[] posicoes(int[] rota) {
+        int[] posicao = new int[n];
+        for (int k = 0; k < rota.length; k++) {
+            posicao[rota[k]] = k;
+        }
+        return posicao;
+    }
+
+}
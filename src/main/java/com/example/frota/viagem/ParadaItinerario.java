@@ -0,0 +1,14 @@
+package com.example.frota.viagem;
+
+/**
+ * Parada do itinerário, na ordem em que deve ser feita
+ */
+public record ParadaItinerario(
+    int ordem,
+    TipoParada tipo,
+    Long transporteId,
+    String endereco,
+    double kmDesdeAnterior,
+    double kmAcumulado
+) {
+}
@@ -0,0 +1,6 @@
+package com.example.frota.viagem;
+
+public enum TipoParada {
+    COLETA,
+    ENTREGA
+}
@@ -0,0 +1,7 @@
+package com.example.frota.viagem;
+
+/**
+ * Endereços de um transporte de uma viagem, para o itinerário
+ */
+public record TransporteDaViagemDto(Long viagemId, Long transporteId, String origem, String destino) {
+}
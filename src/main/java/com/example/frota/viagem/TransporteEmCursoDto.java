@@ -0,0 +1,7 @@
+package com.example.frota.viagem;
+
+/**
+ * Transporte que está em uma viagem em curso, com o motorista que o leva
+ */
+public record TransporteEmCursoDto(Long transporteId, Long clienteId, Long motoristaId) {
+}
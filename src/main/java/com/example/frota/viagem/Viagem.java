@@ -15,6 +15,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -25,7 +26,10 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "viagem")
+@Table(name = "viagem", indexes = {
+    // Viagens em curso de um motorista (atualização de rastreamento)
+    @Index(name = "idx_viagem_motorista_finalizada", columnList = "motorista_id, finalizada")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -1,9 +1,11 @@
 package com.example.frota.viagem;
 
 import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,9 +14,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.example.frota.errors.CaminhaoIndisponivelException;
+import com.example.frota.errors.TransporteStatusException;
+import com.example.frota.motorista.HistoricoRotaDto;
+
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 
@@ -46,7 +53,6 @@ public class ViagemController {
 
     // /viagem - Inicia uma nova viagem e agrupa transportes
     @PostMapping
-    @Transactional
     public ResponseEntity<?> registrar(@RequestBody @Valid DadosRegistroViagem dto) {
         try {
             Viagem novaViagem = viagemService.registrarViagem(dto);
@@ -57,19 +63,48 @@ public class ViagemController {
 					.buildAndExpand(novaViagem.getId())
 					.toUri();
             return ResponseEntity.created(location).body(viagemDetalhes);
+        } catch (CaminhaoIndisponivelException | TransporteStatusException e) {
+            // Respondidas pelo GlobalExceptionHandler (CAMINHAO_EM_VIAGEM é 409)
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
     
+    // /viagem/{id}/historico - Trajeto da viagem (toleranciaM > 0 simplifica o trajeto; desde = continuarEm de uma resposta truncada)
+    @GetMapping("/{id}/historico")
+    public ResponseEntity<HistoricoRotaDto> historico(@PathVariable Long id,
+                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+                                                      @RequestParam(defaultValue = "0") double toleranciaM) {
+        return viagemService.procurarHistorico(id, desde, toleranciaM)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // /viagem/{id}/itinerario - Ordem otimizada de coletas e entregas e distância total
+    @GetMapping("/{id}/itinerario")
+    public ResponseEntity<ItinerarioViagem> itinerario(@PathVariable Long id) {
+        return viagemService.otimizarItinerario(id)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // /viagem/itinerarios?ids=1,2 - Itinerários de várias viagens em paralelo (sem ids: as em curso)
+    @GetMapping("/itinerarios")
+    public ResponseEntity<List<ItinerarioViagem>> itinerarios(@RequestParam(required = false) List<Long> ids) {
+        return ResponseEntity.ok(viagemService.otimizarItinerarios(ids));
+    }
+
     // /viagem/{id}/finalizar - Finaliza a viagem, atualiza a KM do caminhão e status dos transportes
     @PutMapping("/{id}/finalizar")
-    @Transactional
     public ResponseEntity<?> finalizar(@PathVariable Long id, @RequestBody @Valid DadosFinalizacaoViagem dados) {
         try {
             Viagem viagemFinalizada = viagemService.finalizarViagem(id, dados);
             DadosDetalhamentoViagem viagemDetalhes = new DadosDetalhamentoViagem(viagemFinalizada);
             return ResponseEntity.ok(viagemDetalhes);
+        } catch (CaminhaoIndisponivelException | TransporteStatusException e) {
+            // Respondidas pelo GlobalExceptionHandler (CAMINHAO_EM_VIAGEM é 409)
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
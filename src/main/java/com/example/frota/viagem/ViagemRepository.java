@@ -1,6 +1,8 @@
 package com.example.frota.viagem;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,4 +11,54 @@ import java.util.List;
 public interface ViagemRepository extends JpaRepository<Viagem, Long> {
     
     List<Viagem> findByCaminhaoId(Long caminhaoId);
-}
\ No newline at end of file
+
+    /**
+     * Viagens em curso (não finalizadas, com caminhão) do motorista, já com os
+     * transportes carregados em uma única consulta. Usa o índice (motorista_id, finalizada).
+     */
+    @Query("""
+            SELECT DISTINCT v FROM Viagem v LEFT JOIN FETCH v.transportes
+            WHERE v.motorista.id = :motoristaId AND v.finalizada = false AND v.caminhao IS NOT NULL""")
+    List<Viagem> findEmCursoByMotoristaIdComTransportes(@Param("motoristaId") Long motoristaId);
+
+    /**
+     * Todos os transportes em viagens em curso, com o cliente e o motorista (sem carregar entidades)
+     */
+    @Query("""
+            SELECT new com.example.frota.viagem.TransporteEmCursoDto(t.id, t.cliente.id, v.motorista.id)
+            FROM Viagem v JOIN v.transportes t
+            WHERE v.finalizada = false AND v.caminhao IS NOT NULL AND v.motorista IS NOT NULL""")
+    List<TransporteEmCursoDto> findTransportesEmCurso();
+
+    /**
+     * Os transportes informados que estão em viagens em curso, com o cliente e o motorista
+     */
+    @Query("""
+            SELECT new com.example.frota.viagem.TransporteEmCursoDto(t.id, t.cliente.id, v.motorista.id)
+            FROM Viagem v JOIN v.transportes t
+            WHERE t.id IN :transportesIds
+            AND v.finalizada = false AND v.caminhao IS NOT NULL AND v.motorista IS NOT NULL""")
+    List<TransporteEmCursoDto> findTransportesEmCursoPorIds(@Param("transportesIds") List<Long> transportesIds);
+
+    /**
+     * Origem e destino dos transportes das viagens informadas
+     */
+    @Query("""
+            SELECT new com.example.frota.viagem.TransporteDaViagemDto(v.id, t.id, t.origem, t.destino)
+            FROM Viagem v JOIN v.transportes t
+            WHERE v.id IN :viagensIds
+            ORDER BY v.id, t.id""")
+    List<TransporteDaViagemDto> findTransportesDasViagens(@Param("viagensIds") List<Long> viagensIds);
+
+    /**
+     * Quais dos ids informados existem
+     */
+    @Query("SELECT v.id FROM Viagem v WHERE v.id IN :ids")
+    List<Long> findIdsExistentes(@Param("ids") List<Long> ids);
+
+    /**
+     * Ids das viagens ainda não finalizadas
+     */
+    @Query("SELECT v.id FROM Viagem v WHERE v.finalizada = false")
+    List<Long> findIdsEmCurso();
+}
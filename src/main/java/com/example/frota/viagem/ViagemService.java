@@ -1,16 +1,34 @@
 package com.example.frota.viagem;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.frota.caminhao.Caminhao;
 import com.example.frota.caminhao.CaminhaoService;
+import com.example.frota.errors.CaminhaoIndisponivelException;
+import com.example.frota.errors.ViagemNotFoundException;
+import com.example.frota.motorista.HistoricoPosicoes;
+import com.example.frota.motorista.HistoricoRotaDto;
 import com.example.frota.motorista.Motorista;
 import com.example.frota.motorista.MotoristaService;
+import com.example.frota.rota.Rota;
+import com.example.frota.rota.RotaService;
 import com.example.frota.transporte.Transporte;
 import com.example.frota.transporte.TransporteService;
 import com.example.frota.transporte.StatusEntrega;
@@ -32,6 +50,20 @@ public class ViagemService {
     @Autowired
     private TransporteService transporteService;
 
+    @Autowired
+    private HistoricoPosicoes historicoPosicoes;
+
+    @Autowired
+    private RotaService rotaService;
+
+    @Autowired
+    @Qualifier("roteirizacaoExecutor")
+    private Executor roteirizacaoExecutor;
+
+    @Value("${frota.roteirizacao.prazo:PT2S}")
+    private Duration prazoRoteirizacao;
+
+    @Transactional
     public Viagem registrarViagem(DadosRegistroViagem dto) {
         Caminhao caminhao = caminhaoService.procurarPorId(dto.caminhaoId())
                 .orElseThrow(() -> new EntityNotFoundException("Caminhão não encontrado com ID: " + dto.caminhaoId()));
@@ -50,6 +82,11 @@ public class ViagemService {
         if (dto.kmSaida() < caminhao.getKmAtual()) {
             throw new IllegalArgumentException("A KM de saída não pode ser menor que a KM atual do caminhão (" + caminhao.getKmAtual() + ").");
         }
+        if (caminhao.isEmViagem()) {
+            throw new CaminhaoIndisponivelException(caminhao.getId());
+        }
+        // O caminhão fica "em viagem" já aqui; se algo abaixo falhar, o rollback desfaz a reserva
+        caminhaoService.reservarParaViagem(caminhao.getId());
 
         List<Transporte> transportes = transporteService.procurarPorIds(dto.transportesIds());
         if (transportes.size() != dto.transportesIds().size()) {
@@ -68,18 +105,19 @@ public class ViagemService {
         
         for (Transporte t : transportes) {
             novaViagem.adicionarTransporte(t);
-            transporteService.atualizarStatus(t.getId(), StatusEntrega.COLETA);
         }
+        // Um único UPDATE para todos; falha (e desfaz a viagem) se algum saiu de SOLICITADO nesse meio tempo
+        transporteService.transicionarStatusEmLote(transportes, StatusEntrega.SOLICITADO, StatusEntrega.COLETA);
 
         // Marcar motorista como indisponível
         motorista.setDisponivel(false);
         motoristaService.salvar(motorista);
 
-        // Se a Viagem for salva, o caminhão fica "em viagem".
         return viagemRepository.save(novaViagem);
     }
     
     //  Finaliza uma viagem
+    @Transactional
     public Viagem finalizarViagem(Long id, DadosFinalizacaoViagem dados) {
         Viagem viagem = viagemRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Viagem não encontrada com ID: " + id));
@@ -102,13 +140,13 @@ public class ViagemService {
         Caminhao caminhao = viagem.getCaminhao();
         caminhao.setKmAtual(dados.kmChegada());
         caminhaoService.salvarOuAtualizar(caminhao); 
+        caminhaoService.liberarDeViagem(caminhao.getId());
 
         // Atualiza o status dos transportes para a próxima fase (EM_PROCESSAMENTO)
-        for (Transporte t : viagem.getTransportes()) {
-            if (t.getStatusGeral() == StatusEntrega.COLETA) {
-                 transporteService.atualizarStatus(t.getId(), StatusEntrega.EM_PROCESSAMENTO);
-            }
-        }
+        List<Transporte> emColeta = viagem.getTransportes().stream()
+                .filter(t -> t.getStatusGeral() == StatusEntrega.COLETA)
+                .toList();
+        transporteService.transicionarStatusEmLote(emColeta, StatusEntrega.COLETA, StatusEntrega.EM_PROCESSAMENTO);
 
         // Marcar motorista como disponível novamente
         Motorista motorista = viagem.getMotorista();
@@ -127,7 +165,102 @@ public class ViagemService {
     public Optional<Viagem> procurarPorId(Long id) {
         return viagemRepository.findById(id);
     }
+
+    /**
+     * Trajeto percorrido na viagem, a partir do histórico de posições do motorista
+     */
+    public Optional<HistoricoRotaDto> procurarHistorico(Long id, LocalDateTime desde, double toleranciaMetros) {
+        return viagemRepository.findById(id)
+            .map(viagem -> historicoPosicoes.trajetoDaViagem(
+                viagem.getMotorista() != null ? viagem.getMotorista().getId() : null, id, desde, toleranciaMetros));
+    }
     
+    /**
+     * Itinerário otimizado de uma viagem: ordem das coletas e entregas e a distância total
+     */
+    public Optional<ItinerarioViagem> otimizarItinerario(Long id) {
+        if (!viagemRepository.existsById(id)) {
+            return Optional.empty();
+        }
+        return Optional.of(montarItinerario(id, viagemRepository.findTransportesDasViagens(List.of(id))));
+    }
+
+    /**
+     * Itinerários de várias viagens (todas as em curso se {@code ids} for vazio),
+     * otimizados em paralelo no pool de roteirização, um por viagem na ordem pedida;
+     * viagem sem transportes tem itinerário vazio. Lança {@link ViagemNotFoundException}
+     * com os ids que não existem. Com a fila do pool cheia a
+     * {@link java.util.concurrent.RejectedExecutionException} vira 503 no {@code GlobalExceptionHandler}.
+     */
+    public List<ItinerarioViagem> otimizarItinerarios(List<Long> ids) {
+        List<Long> viagensIds;
+        if (ids == null || ids.isEmpty()) {
+            viagensIds = viagemRepository.findIdsEmCurso();
+        } else {
+            viagensIds = ids.stream().distinct().toList();
+            Set<Long> existentes = new HashSet<>(viagemRepository.findIdsExistentes(viagensIds));
+            List<Long> desconhecidas = viagensIds.stream().filter(id -> !existentes.contains(id)).toList();
+            if (!desconhecidas.isEmpty()) {
+                throw new ViagemNotFoundException("Viagens não encontradas: " + desconhecidas);
+            }
+        }
+        if (viagensIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<TransporteDaViagemDto>> porViagem = viagemRepository.findTransportesDasViagens(viagensIds)
+            .stream()
+            .collect(Collectors.groupingBy(TransporteDaViagemDto::viagemId, LinkedHashMap::new, Collectors.toList()));
+
+        List<CompletableFuture<ItinerarioViagem>> futuros = viagensIds.stream()
+            .map(id -> porViagem.containsKey(id)
+                ? CompletableFuture.supplyAsync(() -> montarItinerario(id, porViagem.get(id)), roteirizacaoExecutor)
+                : CompletableFuture.completedFuture(montarItinerario(id, List.of())))
+            .toList();
+        return futuros.stream().map(CompletableFuture::join).toList();
+    }
+
+    private ItinerarioViagem montarItinerario(Long viagemId, List<TransporteDaViagemDto> transportes) {
+        List<String> enderecos = new ArrayList<>();
+        Map<String, Integer> indices = new LinkedHashMap<>();
+        List<OtimizadorRota.Parada> paradas = new ArrayList<>();
+        for (TransporteDaViagemDto transporte : transportes) {
+            if (transporte.origem() == null || transporte.destino() == null) {
+                continue;
+            }
+            int origem = indices.computeIfAbsent(transporte.origem(), e -> { enderecos.add(e); return enderecos.size() - 1; });
+            int destino = indices.computeIfAbsent(transporte.destino(), e -> { enderecos.add(e); return enderecos.size() - 1; });
+            paradas.add(new OtimizadorRota.Parada(transporte.transporteId(), TipoParada.COLETA, origem));
+            paradas.add(new OtimizadorRota.Parada(transporte.transporteId(), TipoParada.ENTREGA, destino));
+        }
+
+        // Matriz endereço x endereço pelo cache de rotas; o mesmo endereço é distância zero
+        double[][] distancias = new double[enderecos.size()][enderecos.size()];
+        if (enderecos.size() > 1) {
+            Rota[][] rotas = rotaService.calcularMatriz(enderecos, enderecos);
+            for (int i = 0; i < enderecos.size(); i++) {
+                for (int j = 0; j < enderecos.size(); j++) {
+                    distancias[i][j] = i == j ? 0 : rotas[i][j].distanciaKm();
+                }
+            }
+        }
+
+        OtimizadorRota.Resultado resultado = OtimizadorRota.otimizar(distancias, paradas,
+                System.nanoTime() + prazoRoteirizacao.toNanos());
+
+        List<ParadaItinerario> itinerario = new ArrayList<>(paradas.size());
+        double acumulado = 0;
+        int anterior = -1;
+        for (int k = 0; k < resultado.ordem().length; k++) {
+            OtimizadorRota.Parada parada = paradas.get(resultado.ordem()[k]);
+            double trecho = anterior < 0 ? 0 : distancias[anterior][parada.local()];
+            acumulado += trecho;
+            itinerario.add(new ParadaItinerario(k + 1, parada.tipo(), parada.transporteId(),
+                    enderecos.get(parada.local()), trecho, acumulado));
+            anterior = parada.local();
+        }
+        return new ItinerarioViagem(viagemId, itinerario, resultado.distancia(), resultado.distanciaInicial());
+    }
+
 /*
     public void apagarPorId(Long id) {
         viagemRepository.deleteById(id);
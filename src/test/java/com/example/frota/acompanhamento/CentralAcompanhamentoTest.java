@@ -0,0 +1,313 @@
+package com.example.frota.acompanhamento;
+
+import com.example.frota.errors.RastreamentoSobrecarregadoException;
+import com.example.frota.motorista.IngestaoPosicoes;
+import com.example.frota.motorista.PosicaoMotorista;
+import com.example.frota.transporte.StatusEntrega;
+import com.example.frota.transporte.StatusTransporteAlteradoEvent;
+import com.example.frota.viagem.TransporteEmCursoDto;
+import com.example.frota.viagem.ViagemRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CentralAcompanhamentoTest {
+
+    @Mock
+    private ViagemRepository viagemRepository;
+
+    @Mock
+    private IngestaoPosicoes ingestaoPosicoes;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    @InjectMocks
+    private CentralAcompanhamento centralAcompanhamento;
+
+    @BeforeEach
+    void setUp() {
+        // Intervalos longos: os testes chamam difundirStatus/difundirPosicoes diretamente
+        ReflectionTestUtils.setField(centralAcompanhamento, "intervaloPosicao", Duration.ofHours(1));
+        ReflectionTestUtils.setField(centralAcompanhamento, "intervaloHeartbeat", Duration.ofHours(1));
+        ReflectionTestUtils.setField(centralAcompanhamento, "timeout", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(centralAcompanhamento, "maxConexoes", 10);
+        ReflectionTestUtils.setField(centralAcompanhamento, "threadsEnvio", 1);
+        ReflectionTestUtils.setField(centralAcompanhamento, "filaEnvio", 100);
+        ReflectionTestUtils.setField(centralAcompanhamento, "timeoutEnvio", Duration.ofHours(1));
+        ReflectionTestUtils.setField(centralAcompanhamento, "maxPendentes", 32);
+        lenient().doAnswer(inv -> new EmitterDeTeste()).when(centralAcompanhamento).novoEmitter();
+        centralAcompanhamento.inicializar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        centralAcompanhamento.encerrar();
+    }
+
+    @Test
+    void assinar_LimiteDeConexoesAtingido_DeveRecusarSemContarAConexao() {
+        // Arrange
+        ReflectionTestUtils.setField(centralAcompanhamento, "maxConexoes", 2);
+        EmitterDeTeste primeiro = (EmitterDeTeste) centralAcompanhamento.assinarTransporte(1L);
+        centralAcompanhamento.assinarCliente(7L);
+
+        // Act & Assert
+        assertThrows(RastreamentoSobrecarregadoException.class, () -> centralAcompanhamento.assinarTransporte(2L));
+        assertEquals(2, centralAcompanhamento.conexoesAbertas());
+
+        primeiro.aoCompletar.run();
+        assertEquals(1, centralAcompanhamento.conexoesAbertas());
+        assertDoesNotThrow(() -> centralAcompanhamento.assinarTransporte(2L));
+        assertEquals(2, centralAcompanhamento.conexoesAbertas());
+    }
+
+    @Test
+    void assinar_EmitterConcluidoExpiradoOuComErro_DeveRemoverAAssinatura() {
+        // Arrange
+        EmitterDeTeste concluido = (EmitterDeTeste) centralAcompanhamento.assinarTransporte(1L);
+        EmitterDeTeste expirado = (EmitterDeTeste) centralAcompanhamento.assinarTransporte(1L);
+        EmitterDeTeste comErro = (EmitterDeTeste) centralAcompanhamento.assinarCliente(7L);
+
+        // Act
+        concluido.aoCompletar.run();
+        expirado.aoExpirar.run();
+        expirado.aoCompletar.run(); // O servlet conclui depois do timeout: não pode descontar duas vezes
+        comErro.aoFalhar.accept(new IOException("Conexão encerrada pelo cliente"));
+        centralAcompanhamento.difundirStatus(status(1L, 7L));
+        aguardarEnvios();
+
+        // Assert
+        assertEquals(0, centralAcompanhamento.conexoesAbertas());
+        assertTrue(concluido.enviados.isEmpty());
+        assertTrue(expirado.enviados.isEmpty());
+        assertTrue(comErro.enviados.isEmpty());
+    }
+
+    @Test
+    void difundirStatus_DeveEnviarParaAssinantesDoTransporteEDoCliente() {
+        // Arrange
+        EmitterDeTeste doTransporte = (EmitterDeTeste) centralAcompanhamento.assinarTransporte(1L);
+        EmitterDeTeste doCliente = (EmitterDeTeste) centralAcompanhamento.assinarCliente(7L);
+        EmitterDeTeste outroTransporte = (EmitterDeTeste) centralAcompanhamento.assinarTransporte(2L);
+        EmitterDeTeste outroCliente = (EmitterDeTeste) centralAcompanhamento.assinarCliente(8L);
+        StatusTransporteAlteradoEvent evento = status(1L, 7L);
+
+        // Act
+        centralAcompanhamento.difundirStatus(evento);
+        aguardarEnvios();
+
+        // Assert
+        assertEquals(List.of(evento), doTransporte.dados());
+        assertEquals(List.of(evento), doCliente.dados());
+        assertTrue(outroTransporte.enviados.isEmpty());
+        assertTrue(outroCliente.enviados.isEmpty());
+    }
+
+    @Test
+    void difundirPosicoes_MesmoMotoristaEmVariosTransportes_DeveLerUmaVezENaoReenviarPosicaoRepetida() {
+        // Arrange
+        EmitterDeTeste transporte1 = (EmitterDeTeste) centralAcompanhamento.assinarTransporte(1L);
+        EmitterDeTeste transporte2 = (EmitterDeTeste) centralAcompanhamento.assinarTransporte(2L);
+        when(viagemRepository.findTransportesEmCursoPorIds(anyList())).thenReturn(List.of(
+                new TransporteEmCursoDto(1L, 7L, 5L),
+                new TransporteEmCursoDto(2L, 7L, 5L)));
+        LocalDateTime recebidaEm = LocalDateTime.of(2026, 10, 1, 8, 0);
+        PosicaoMotorista posicao = new PosicaoMotorista(5L, -23.5, -46.6, recebidaEm);
+        PosicaoMotorista seguinte = new PosicaoMotorista(5L, -23.6, -46.7, recebidaEm.plusSeconds(5));
+        when(ingestaoPosicoes.ultimaPosicao(5L)).thenReturn(posicao, posicao, seguinte);
+
+        // Act
+        centralAcompanhamento.difundirPosicoes();
+        centralAcompanhamento.difundirPosicoes();
+        centralAcompanhamento.difundirPosicoes();
+        aguardarEnvios();
+
+        // Assert
+        verify(ingestaoPosicoes, times(3)).ultimaPosicao(5L);
+        verify(viagemRepository, never()).findTransportesEmCurso();
+        assertEquals(List.of(
+                new PosicaoTransporteDto(1L, 5L, -23.5, -46.6, recebidaEm),
+                new PosicaoTransporteDto(1L, 5L, -23.6, -46.7, recebidaEm.plusSeconds(5))), transporte1.dados());
+        assertEquals(List.of(
+                new PosicaoTransporteDto(2L, 5L, -23.5, -46.6, recebidaEm),
+                new PosicaoTransporteDto(2L, 5L, -23.6, -46.7, recebidaEm.plusSeconds(5))), transporte2.dados());
+    }
+
+    @Test
+    void difundirPosicoes_SemAssinantes_NaoDeveConsultarAsViagens() {
+        // Arrange
+        EmitterDeTeste encerrado = (EmitterDeTeste) centralAcompanhamento.assinarCliente(7L);
+        encerrado.aoCompletar.run();
+
+        // Act
+        centralAcompanhamento.difundirPosicoes();
+
+        // Assert
+        verifyNoInteractions(viagemRepository, ingestaoPosicoes);
+    }
+
+    @Test
+    void difundirPosicoes_ComAssinanteDeCliente_DeveUsarAConsultaCompleta() {
+        // Arrange
+        EmitterDeTeste doCliente = (EmitterDeTeste) centralAcompanhamento.assinarCliente(7L);
+        when(viagemRepository.findTransportesEmCurso()).thenReturn(List.of(new TransporteEmCursoDto(1L, 7L, 5L)));
+        LocalDateTime recebidaEm = LocalDateTime.of(2026, 10, 1, 8, 0);
+        when(ingestaoPosicoes.ultimaPosicao(5L)).thenReturn(new PosicaoMotorista(5L, -23.5, -46.6, recebidaEm));
+
+        // Act
+        centralAcompanhamento.difundirPosicoes();
+        aguardarEnvios();
+
+        // Assert
+        assertEquals(List.of(new PosicaoTransporteDto(1L, 5L, -23.5, -46.6, recebidaEm)), doCliente.dados());
+        verify(viagemRepository, never()).findTransportesEmCursoPorIds(anyList());
+    }
+
+    @Test
+    void difundirStatus_AssinanteComEnvioParado_NaoDeveAtrasarOsDemaisEDeveSerDesconectado() throws Exception {
+        // Arrange
+        ((ExecutorService) ReflectionTestUtils.getField(centralAcompanhamento, "envios")).shutdown();
+        ReflectionTestUtils.setField(centralAcompanhamento, "envios", Executors.newFixedThreadPool(2));
+        EmitterDeTeste lento = (EmitterDeTeste) centralAcompanhamento.assinarTransporte(1L);
+        EmitterDeTeste rapido = (EmitterDeTeste) centralAcompanhamento.assinarTransporte(1L);
+        CountDownLatch liberarLento = new CountDownLatch(1);
+        lento.bloqueio = liberarLento;
+        StatusTransporteAlteradoEvent evento = status(1L, null);
+
+        try {
+            // Act
+            centralAcompanhamento.difundirStatus(evento);
+            assertTrue(rapido.recebeu.await(5, TimeUnit.SECONDS));
+            assertTrue(lento.enviando.await(5, TimeUnit.SECONDS));
+            ReflectionTestUtils.setField(centralAcompanhamento, "timeoutEnvio", Duration.ofMillis(1));
+            Thread.sleep(20);
+            centralAcompanhamento.desconectarLentos();
+
+            // Assert
+            assertEquals(1, centralAcompanhamento.conexoesAbertas());
+            assertFalse(lento.concluido.await(100, TimeUnit.MILLISECONDS)); // Concluído por quem escreve, não pela central
+            liberarLento.countDown();
+            assertTrue(lento.concluido.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of(evento), rapido.dados());
+        } finally {
+            liberarLento.countDown();
+        }
+    }
+
+    @Test
+    void difundirStatus_FilaDoAssinanteCheia_DeveDesconectarSoEle() {
+        // Arrange
+        ReflectionTestUtils.setField(centralAcompanhamento, "maxPendentes", 2);
+        EmitterDeTeste lento = (EmitterDeTeste) centralAcompanhamento.assinarTransporte(1L);
+        centralAcompanhamento.assinarTransporte(2L);
+        CountDownLatch liberarLento = new CountDownLatch(1);
+        lento.bloqueio = liberarLento;
+
+        try {
+            // Act
+            for (int i = 0; i < 4; i++) {
+                centralAcompanhamento.difundirStatus(status(1L, null));
+            }
+
+            // Assert
+            assertEquals(1, centralAcompanhamento.conexoesAbertas());
+        } finally {
+            liberarLento.countDown();
+        }
+    }
+
+    // Com uma thread de envio, uma tarefa vazia só roda depois dos envios já enfileirados
+    private void aguardarEnvios() {
+        ExecutorService envios = (ExecutorService) ReflectionTestUtils.getField(centralAcompanhamento, "envios");
+        assertDoesNotThrow(() -> envios.submit(() -> { }).get(5, TimeUnit.SECONDS));
+    }
+
+    private StatusTransporteAlteradoEvent status(Long transporteId, Long clienteId) {
+        return new StatusTransporteAlteradoEvent(transporteId, clienteId,
+                StatusEntrega.ENTREGUE, StatusEntrega.ENTREGUE, StatusEntrega.ENTREGUE);
+    }
+
+    // Guarda os envios e os callbacks, que fora do servlet o SseEmitter nunca dispara
+    private static class EmitterDeTeste extends SseEmitter {
+        private final List<SseEventBuilder> enviados = new CopyOnWriteArrayList<>();
+        private final CountDownLatch recebeu = new CountDownLatch(1);
+        private final CountDownLatch enviando = new CountDownLatch(1);
+        private final CountDownLatch concluido = new CountDownLatch(1);
+        private volatile CountDownLatch bloqueio;
+        private Runnable aoCompletar;
+        private Runnable aoExpirar;
+        private Consumer<Throwable> aoFalhar;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            enviando.countDown();
+            if (bloqueio != null) {
+                try {
+                    bloqueio.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            enviados.add(builder);
+            recebeu.countDown();
+        }
+
+        @Override
+        public void complete() {
+            concluido.countDown();
+        }
+
+        @Override
+        public void onCompletion(Runnable callback) {
+            aoCompletar = callback;
+        }
+
+        @Override
+        public void onTimeout(Runnable callback) {
+            aoExpirar = callback;
+        }
+
+        @Override
+        public void onError(Consumer<Throwable> callback) {
+            aoFalhar = callback;
+        }
+
+        // Objeto de cada evento enviado, sem as linhas de texto do protocolo SSE
+        List<Object> dados() {
+            return enviados.stream()
+                    .flatMap(builder -> builder.build().stream())
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .filter(dado -> !(dado instanceof String))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.frota.caminhao;
+
+import com.example.frota.errors.CaminhaoIndisponivelException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CaminhaoServiceTest {
+
+    @Mock
+    private CaminhaoRepository caminhaoRepository;
+
+    @Mock
+    private IndiceCaminhoesDisponiveis indiceDisponiveis;
+
+    @InjectMocks
+    private CaminhaoService caminhaoService;
+
+    @Test
+    void reservarParaViagem_CaminhaoLivre_DeveReservarEInvalidarIndice() {
+        // Arrange
+        when(caminhaoRepository.reservar(1L)).thenReturn(1);
+
+        // Act
+        caminhaoService.reservarParaViagem(1L);
+
+        // Assert
+        verify(indiceDisponiveis).invalidar();
+    }
+
+    @Test
+    void reservarParaViagem_CaminhaoJaEmViagem_DeveLancarExcecao() {
+        // Arrange
+        when(caminhaoRepository.reservar(1L)).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(CaminhaoIndisponivelException.class, () -> caminhaoService.reservarParaViagem(1L));
+        verify(indiceDisponiveis, never()).invalidar();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.frota.caminhao;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IndiceCaminhoesDisponiveisTest {
+
+    @Mock
+    private CaminhaoRepository caminhaoRepository;
+
+    @InjectMocks
+    private IndiceCaminhoesDisponiveis indice;
+
+    @Test
+    void viaveis_ComFrotaAleatoria_DeveCoincidirComFiltroCompleto() {
+        // Arrange
+        Random random = new Random(11);
+        List<Caminhao> frota = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            frota.add(caminhao((long) i, 500 + random.nextInt(30_000), 2 + random.nextDouble() * 12,
+                    1.5 + random.nextDouble(), 1.5 + random.nextDouble() * 2));
+        }
+        when(caminhaoRepository.findDisponiveis()).thenReturn(frota);
+
+        for (int consulta = 0; consulta < 200; consulta++) {
+            double carga = random.nextDouble() * 32_000;
+            double volume = random.nextDouble() * 60;
+            List<Caminhao> esperado = frota.stream()
+                    .filter(c -> c.getCargaMaxima() >= carga)
+                    .filter(c -> IndiceCaminhoesDisponiveis.volume(c) >= volume)
+                    .sorted(Comparator.comparingDouble(Caminhao::getCargaMaxima)
+                            .thenComparingDouble(IndiceCaminhoesDisponiveis::volume))
+                    .toList();
+
+            // Act
+            List<Caminhao> resultado = indice.viaveis(carga, volume);
+
+            // Assert
+            assertEquals(esperado, resultado);
+            assertEquals(esperado.stream().findFirst(), indice.menorViavel(carga, volume));
+        }
+        verify(caminhaoRepository, times(1)).findDisponiveis();
+    }
+
+    @Test
+    void invalidar_DeveRecarregarNaProximaConsulta() {
+        // Arrange
+        Caminhao pequeno = caminhao(1L, 1_000, 4, 2, 2);
+        Caminhao grande = caminhao(2L, 10_000, 8, 2.5, 2.5);
+        when(caminhaoRepository.findDisponiveis()).thenReturn(List.of(pequeno, grande)).thenReturn(List.of(pequeno));
+        assertEquals(List.of(grande), indice.viaveis(5_000, 1));
+
+        // Act
+        indice.invalidar();
+
+        // Assert
+        assertTrue(indice.viaveis(5_000, 1).isEmpty());
+        verify(caminhaoRepository, times(2)).findDisponiveis();
+    }
+
+    private static Caminhao caminhao(Long id, double cargaMaxima, double comprimento, double largura, double altura) {
+        Caminhao caminhao = new Caminhao();
+        caminhao.setId(id);
+        caminhao.setCargaMaxima(cargaMaxima);
+        caminhao.setComprimento(comprimento);
+        caminhao.setLargura(largura);
+        caminhao.setAltura(altura);
+        return caminhao;
+    }
+}
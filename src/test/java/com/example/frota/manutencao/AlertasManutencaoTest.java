@@ -0,0 +1,185 @@
+package com.example.frota.manutencao;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.frota.caminhao.Caminhao;
+import com.example.frota.caminhao.CaminhaoAlteradoEvent;
+import com.example.frota.caminhao.CaminhaoService;
+import com.example.frota.marca.Marca;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AlertasManutencaoTest {
+
+    @Mock
+    private CaminhaoService caminhaoService;
+
+    @Mock
+    private EstadoManutencaoRepository estadoRepository;
+
+    @Mock
+    private PoliticaManutencaoRepository politicaRepository;
+
+    @InjectMocks
+    private AlertasManutencao alertasManutencao;
+
+    @Test
+    void alertas_FrotaComEstados_DeveClassificarPorGravidade() {
+        // Arrange
+        when(caminhaoService.procurarTodos()).thenReturn(List.of(
+                caminhao(1L, "AAA1A11", 20_000), caminhao(2L, "BBB2B22", 9_500)));
+        when(estadoRepository.findAll()).thenReturn(new ArrayList<>(List.of(
+                new EstadoManutencao(1L, TipoManutencao.OLEO_FILTROS_PASTILHAS, 5_000, null),
+                new EstadoManutencao(1L, TipoManutencao.PNEUS, 0, null),
+                new EstadoManutencao(2L, TipoManutencao.OLEO_FILTROS_PASTILHAS, 0, null))));
+        when(estadoRepository.calcularDoHistorico()).thenReturn(List.of());
+        when(politicaRepository.findAll()).thenReturn(politicasPadrao());
+        alertasManutencao.carregar();
+
+        // Act
+        List<AlertaManutencaoDto> alertas = alertasManutencao.alertas(true);
+
+        // Assert
+        assertEquals(3, alertas.size());
+        assertEquals(NivelAlerta.VENCIDA, alertas.get(0).nivel());
+        assertEquals(1L, alertas.get(0).caminhaoId());
+        assertEquals(NivelAlerta.SEM_REGISTRO, alertas.get(1).nivel());
+        assertEquals(TipoManutencao.PNEUS, alertas.get(1).tipoServico());
+        assertEquals(NivelAlerta.PROXIMA, alertas.get(2).nivel());
+        assertEquals(500.0, alertas.get(2).kmRestante(), 1e-9);
+        assertEquals(2, alertasManutencao.alertas(false).size());
+    }
+
+    @Test
+    void aoAlterarCaminhao_KmDeFimDeViagem_DeveReavaliarSemConsultarOBanco() {
+        // Arrange
+        when(caminhaoService.procurarTodos()).thenReturn(List.of(caminhao(1L, "AAA1A11", 1_000)));
+        when(estadoRepository.findAll()).thenReturn(new ArrayList<>(List.of(
+                new EstadoManutencao(1L, TipoManutencao.OLEO_FILTROS_PASTILHAS, 0, null),
+                new EstadoManutencao(1L, TipoManutencao.PNEUS, 0, null))));
+        when(estadoRepository.calcularDoHistorico()).thenReturn(List.of());
+        when(politicaRepository.findAll()).thenReturn(politicasPadrao());
+        alertasManutencao.carregar();
+        assertTrue(alertasManutencao.alertasDoCaminhao(1L).orElseThrow().isEmpty());
+
+        // Act
+        alertasManutencao.aoAlterarCaminhao(new CaminhaoAlteradoEvent(1L, "AAA1A11", null, null, 10_200, false));
+        List<AlertaManutencaoDto> depoisDaViagem = alertasManutencao.alertasDoCaminhao(1L).orElseThrow();
+        alertasManutencao.registrarManutencao(1L, TipoManutencao.OLEO_FILTROS_PASTILHAS, 10_200, LocalDateTime.now());
+        List<AlertaManutencaoDto> depoisDaManutencao = alertasManutencao.alertasDoCaminhao(1L).orElseThrow();
+
+        // Assert
+        assertEquals(1, depoisDaViagem.size());
+        assertEquals(NivelAlerta.VENCIDA, depoisDaViagem.get(0).nivel());
+        assertTrue(depoisDaManutencao.isEmpty());
+        verify(caminhaoService, times(1)).procurarTodos();
+        verify(estadoRepository, times(1)).findAll();
+    }
+
+    @Test
+    void alertas_PoliticaPorMarcaEModelo_DevePrevalecerSobreAGeral() {
+        // Arrange
+        Caminhao volvo = caminhao(1L, "AAA1A11", 9_000);
+        volvo.setModelo("FH 540");
+        volvo.setMarca(marca(7L));
+        Caminhao outro = caminhao(2L, "BBB2B22", 9_000);
+        when(caminhaoService.procurarTodos()).thenReturn(List.of(volvo, outro));
+        LocalDateTime haDuzentosDias = LocalDateTime.now().minusDays(200);
+        when(estadoRepository.findAll()).thenReturn(new ArrayList<>(List.of(
+                new EstadoManutencao(1L, TipoManutencao.OLEO_FILTROS_PASTILHAS, 0, haDuzentosDias),
+                new EstadoManutencao(2L, TipoManutencao.OLEO_FILTROS_PASTILHAS, 0, haDuzentosDias))));
+        when(estadoRepository.calcularDoHistorico()).thenReturn(List.of());
+        PoliticaManutencao geral = politica(1L, TipoManutencao.OLEO_FILTROS_PASTILHAS, null, null, 20_000.0, null);
+        PoliticaManutencao daMarca = politica(2L, TipoManutencao.OLEO_FILTROS_PASTILHAS, 7L, null, 50_000.0, null);
+        PoliticaManutencao doModelo = politica(3L, TipoManutencao.OLEO_FILTROS_PASTILHAS, 7L, "fh 540", 9_000.0, 180);
+        when(politicaRepository.findAll()).thenReturn(List.of(geral, daMarca, doModelo));
+        alertasManutencao.carregar();
+
+        // Act
+        List<AlertaManutencaoDto> alertas = alertasManutencao.alertas(true);
+
+        // Assert
+        assertEquals(1, alertas.size());
+        assertEquals(1L, alertas.get(0).caminhaoId());
+        assertEquals(NivelAlerta.VENCIDA, alertas.get(0).nivel());
+        assertEquals(0.0, alertas.get(0).kmRestante(), 1e-9);
+        assertEquals(-20L, alertas.get(0).diasRestantes());
+    }
+
+    @Test
+    void carregar_SemPoliticas_DeveCadastrarAsPadrao() {
+        // Arrange
+        when(caminhaoService.procurarTodos()).thenReturn(List.of(caminhao(1L, "AAA1A11", 9_500)));
+        when(estadoRepository.findAll()).thenReturn(new ArrayList<>(List.of(
+                new EstadoManutencao(1L, TipoManutencao.OLEO_FILTROS_PASTILHAS, 0, null),
+                new EstadoManutencao(1L, TipoManutencao.PNEUS, 0, null))));
+        when(estadoRepository.calcularDoHistorico()).thenReturn(List.of());
+        when(politicaRepository.findAll()).thenReturn(List.of());
+        when(politicaRepository.saveAll(anyList())).thenReturn(politicasPadrao());
+
+        // Act
+        alertasManutencao.carregar();
+
+        // Assert
+        verify(politicaRepository).saveAll(anyList());
+        assertEquals(1, alertasManutencao.alertas(true).size());
+    }
+
+    @Test
+    void recarregarPoliticas_UltimaPoliticaRemovida_NaoDeveRecadastrarAsPadrao() {
+        // Arrange
+        when(caminhaoService.procurarTodos()).thenReturn(List.of(caminhao(1L, "AAA1A11", 20_000)));
+        when(estadoRepository.findAll()).thenReturn(new ArrayList<>(List.of(
+                new EstadoManutencao(1L, TipoManutencao.OLEO_FILTROS_PASTILHAS, 0, null),
+                new EstadoManutencao(1L, TipoManutencao.PNEUS, 0, null))));
+        when(estadoRepository.calcularDoHistorico()).thenReturn(List.of());
+        when(politicaRepository.findAll()).thenReturn(politicasPadrao()).thenReturn(List.of());
+        alertasManutencao.carregar();
+        assertFalse(alertasManutencao.alertas(true).isEmpty());
+
+        // Act
+        alertasManutencao.aoAlterarPolitica(new PoliticaManutencaoAlteradaEvent(1L));
+
+        // Assert
+        verify(politicaRepository, never()).saveAll(anyList());
+        assertTrue(alertasManutencao.alertas(true).isEmpty());
+    }
+
+    private static List<PoliticaManutencao> politicasPadrao() {
+        return List.of(politica(1L, TipoManutencao.OLEO_FILTROS_PASTILHAS, null, null, 10_000.0, null),
+                politica(2L, TipoManutencao.PNEUS, null, null, 70_000.0, null));
+    }
+
+    private static PoliticaManutencao politica(Long id, TipoManutencao tipo, Long marcaId, String modelo,
+                                               Double intervaloKm, Integer intervaloDias) {
+        PoliticaManutencao politica = new PoliticaManutencao(tipo, intervaloKm, intervaloDias);
+        politica.setId(id);
+        politica.setMarcaId(marcaId);
+        politica.setModelo(modelo);
+        return politica;
+    }
+
+    private static Marca marca(long id) {
+        Marca marca = new Marca();
+        marca.setId(id);
+        return marca;
+    }
+
+    private static Caminhao caminhao(Long id, String placa, double kmAtual) {
+        Caminhao caminhao = new Caminhao();
+        caminhao.setId(id);
+        caminhao.setPlaca(placa);
+        caminhao.setKmAtual(kmAtual);
+        return caminhao;
+    }
+}
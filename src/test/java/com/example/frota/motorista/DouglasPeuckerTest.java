@@ -0,0 +1,52 @@
+package com.example.frota.motorista;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DouglasPeuckerTest {
+
+    private static PontoRota ponto(double latitude, double longitude, int segundo) {
+        return new PontoRota(latitude, longitude, LocalDateTime.of(2025, 1, 1, 8, 0).plusSeconds(segundo));
+    }
+
+    @Test
+    void simplificar_TrajetoEmLinhaReta_DeveManterSomenteExtremos() {
+        // Arrange
+        List<PontoRota> pontos = new ArrayList<>();
+        for (int i = 0; i <= 100; i++) {
+            pontos.add(ponto(-23.5 + i * 0.001, -46.6, i));
+        }
+
+        // Act
+        List<PontoRota> resultado = DouglasPeucker.simplificar(pontos, 5.0);
+
+        // Assert
+        assertEquals(2, resultado.size());
+        assertEquals(pontos.get(0), resultado.get(0));
+        assertEquals(pontos.get(100), resultado.get(1));
+    }
+
+    @Test
+    void simplificar_TrajetoComCurva_DeveManterAEsquina() {
+        // Arrange: segue para o norte e depois para o leste (~1,1 km cada trecho)
+        List<PontoRota> pontos = new ArrayList<>();
+        for (int i = 0; i <= 10; i++) {
+            pontos.add(ponto(-23.5 + i * 0.001, -46.6, i));
+        }
+        for (int i = 1; i <= 10; i++) {
+            pontos.add(ponto(-23.49, -46.6 + i * 0.001, 10 + i));
+        }
+
+        // Act
+        List<PontoRota> resultado = DouglasPeucker.simplificar(pontos, 10.0);
+
+        // Assert
+        assertEquals(3, resultado.size());
+        assertEquals(pontos.get(10), resultado.get(1));
+    }
+}
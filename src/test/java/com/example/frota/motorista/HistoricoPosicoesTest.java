@@ -0,0 +1,90 @@
+package com.example.frota.motorista;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HistoricoPosicoesTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Mock
+    private HistoricoPosicaoRepository historicoPosicaoRepository;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private HistoricoPosicoes historicoPosicoes;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(historicoPosicoes, "capacidadeBuffer", 10);
+        ReflectionTestUtils.setField(historicoPosicoes, "tamanhoLote", 100);
+        ReflectionTestUtils.setField(historicoPosicoes, "maxPontos", 3);
+        historicoPosicoes.inicializar();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void gravar_FalhaAoBuscarViagensEmCurso_DeveDescartarOLoteSemPropagar() {
+        // Arrange
+        doThrow(new DataAccessResourceFailureException("Conexão perdida"))
+                .when(namedJdbcTemplate).query(anyString(), any(Map.class), any(RowCallbackHandler.class));
+        List<PosicaoMotorista> lote = List.of(new PosicaoMotorista(1L, -23.5, -46.6, LocalDateTime.now()));
+
+        // Act
+        assertDoesNotThrow(() -> historicoPosicoes.gravar(lote));
+
+        // Assert
+        verifyNoInteractions(jdbcTemplate);
+        assertEquals(1.0, meterRegistry.get("frota.historico.posicoes").tag("resultado", "descartada").counter().count());
+    }
+
+    @Test
+    void trajetoDaViagem_MaisPontosQueOMaximo_DeveMarcarTruncadoEIndicarOndeContinuar() {
+        // Arrange
+        LocalDateTime inicio = LocalDateTime.of(2026, 10, 1, 8, 0);
+        List<PontoRota> pontos = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            pontos.add(new PontoRota(-23.5 + i * 0.01, -46.6, inicio.plusMinutes(i)));
+        }
+        when(historicoPosicaoRepository.findPontosPorViagem(eq(9L), any(LocalDateTime.class), eq(Limit.of(4))))
+                .thenReturn(pontos);
+
+        // Act
+        HistoricoRotaDto trajeto = historicoPosicoes.trajetoDaViagem(1L, 9L, null, 0);
+
+        // Assert
+        assertTrue(trajeto.truncado());
+        assertEquals(3, trajeto.pontos().size());
+        assertEquals(inicio.plusMinutes(2), trajeto.pontos().get(2).registradaEm());
+        assertEquals(inicio.plusMinutes(3), trajeto.continuarEm());
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.frota.motorista;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndiceMotoristasDisponiveisTest {
+
+    private IndiceMotoristasDisponiveis indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceMotoristasDisponiveis();
+    }
+
+    @Test
+    void proximos_ComMotoristasAleatorios_DeveCoincidirComBuscaExaustiva() {
+        // Arrange
+        Random random = new Random(7);
+        double[][] posicoes = new double[2_000][];
+        for (int i = 0; i < posicoes.length; i++) {
+            posicoes[i] = new double[] {-24 + random.nextDouble() * 3, -48 + random.nextDouble() * 3};
+            indice.marcarDisponivel((long) i, posicoes[i][0], posicoes[i][1]);
+        }
+        double latitude = -22.9;
+        double longitude = -46.6;
+
+        // Act
+        List<IndiceMotoristasDisponiveis.Vizinho> resultado = indice.proximos(latitude, longitude, 10, 500);
+
+        // Assert
+        List<Long> esperado = IntStream.range(0, posicoes.length).boxed()
+                .sorted(Comparator.comparingDouble(i -> IndiceMotoristasDisponiveis.haversineKm(
+                        latitude, longitude, posicoes[i][0], posicoes[i][1])))
+                .limit(10)
+                .map(Integer::longValue)
+                .toList();
+        assertEquals(esperado, resultado.stream().map(IndiceMotoristasDisponiveis.Vizinho::motoristaId).toList());
+    }
+
+    @Test
+    void atualizarPosicao_MotoristaIndisponivel_NaoDeveEntrarNoIndice() {
+        // Arrange
+        indice.marcarDisponivel(1L, -23.5, -46.6);
+        indice.remover(1L);
+
+        // Act
+        indice.atualizarPosicao(1L, -23.5, -46.6);
+
+        // Assert
+        assertEquals(0, indice.tamanho());
+        assertTrue(indice.proximos(-23.5, -46.6, 5, 500).isEmpty());
+    }
+
+    @Test
+    void atualizarPosicao_MotoristaDisponivel_DeveMoverParaNovaCelula() {
+        // Arrange
+        indice.marcarDisponivel(1L, -23.5, -46.6);
+        indice.marcarDisponivel(2L, -22.0, -47.0);
+
+        // Act
+        indice.atualizarPosicao(1L, -21.9, -47.1);
+
+        // Assert
+        List<IndiceMotoristasDisponiveis.Vizinho> resultado = indice.proximos(-21.9, -47.1, 1, 500);
+        assertEquals(1L, resultado.get(0).motoristaId());
+        assertEquals(0.0, resultado.get(0).distanciaKm(), 1e-9);
+    }
+
+    @Test
+    void atualizarPosicao_DisponivelSemPosicao_DeveEntrarNoIndiceNoPrimeiroPing() {
+        // Arrange
+        indice.marcarDisponivel(1L, null, null);
+        assertTrue(indice.proximos(-23.5, -46.6, 5, 500).isEmpty());
+
+        // Act
+        indice.atualizarPosicao(1L, -23.5, -46.6);
+
+        // Assert
+        List<IndiceMotoristasDisponiveis.Vizinho> resultado = indice.proximos(-23.5, -46.6, 5, 500);
+        assertEquals(1, resultado.size());
+        assertEquals(1L, resultado.get(0).motoristaId());
+    }
+
+    @Test
+    void atualizarPosicao_SemPosicaoERemovido_NaoDeveEntrarNoIndice() {
+        // Arrange
+        indice.marcarDisponivel(1L, null, null);
+        indice.remover(1L);
+
+        // Act
+        indice.atualizarPosicao(1L, -23.5, -46.6);
+
+        // Assert
+        assertEquals(0, indice.tamanho());
+    }
+}
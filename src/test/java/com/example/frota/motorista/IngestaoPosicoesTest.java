@@ -0,0 +1,87 @@
+package com.example.frota.motorista;
+
+import com.example.frota.errors.RastreamentoSobrecarregadoException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IngestaoPosicoesTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private MotoristaRepository motoristaRepository;
+
+    @Mock
+    private HistoricoPosicoes historicoPosicoes;
+
+    @Mock
+    private IndiceMotoristasDisponiveis indiceDisponiveis;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private IngestaoPosicoes ingestaoPosicoes;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(ingestaoPosicoes, "maxPendentes", 1);
+        ReflectionTestUtils.setField(ingestaoPosicoes, "tamanhoLote", 100);
+        ReflectionTestUtils.setField(ingestaoPosicoes, "durabilidade", "buffer");
+        ingestaoPosicoes.inicializar();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void descarregar_ComVariasPosicoesDoMesmoMotorista_DeveGravarSomenteAUltima() {
+        // Arrange
+        when(motoristaRepository.existsById(1L)).thenReturn(true);
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+                .thenReturn(new int[][] {{1}});
+        ingestaoPosicoes.registrar(1L, -23.50, -46.60);
+        ingestaoPosicoes.registrar(1L, -23.51, -46.61);
+        ingestaoPosicoes.registrar(1L, -23.52, -46.62);
+
+        // Act
+        ingestaoPosicoes.descarregar();
+
+        // Assert
+        ArgumentCaptor<List<PosicaoMotorista>> lote = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), lote.capture(), eq(100), any());
+        assertEquals(1, lote.getValue().size());
+        assertEquals(-23.52, lote.getValue().get(0).latitude());
+        verify(motoristaRepository, times(1)).existsById(1L);
+        verify(historicoPosicoes, times(3)).anexar(any());
+        assertNull(ingestaoPosicoes.pendente(1L));
+    }
+
+    @Test
+    void registrar_ComBufferCheio_DeveLancarExcecao() {
+        // Arrange
+        when(motoristaRepository.existsById(anyLong())).thenReturn(true);
+        ingestaoPosicoes.registrar(1L, -23.50, -46.60);
+
+        // Act & Assert
+        assertThrows(RastreamentoSobrecarregadoException.class,
+                () -> ingestaoPosicoes.registrar(2L, -23.50, -46.60));
+        assertEquals(1.0, meterRegistry.get("frota.rastreamento.posicoes").tag("resultado", "rejeitada").counter().count());
+    }
+}
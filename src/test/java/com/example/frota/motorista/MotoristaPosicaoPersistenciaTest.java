@@ -0,0 +1,48 @@
+package com.example.frota.motorista;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class MotoristaPosicaoPersistenciaTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MotoristaRepository motoristaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void salvar_MotoristaLidoAntesDaGravacaoDaPosicao_DeveManterAPosicaoGravada() {
+        // Arrange
+        Motorista motorista = Motorista.builder()
+                .nome("Motorista Teste")
+                .cpf("123.456.789-00")
+                .cnh("12345678901")
+                .latitudeAtual(-23.50)
+                .longitudeAtual(-46.60)
+                .build();
+        Long id = entityManager.persistAndFlush(motorista).getId();
+        Motorista lidoAntes = entityManager.find(Motorista.class, id);
+
+        // Act
+        jdbcTemplate.update(IngestaoPosicoes.SQL_ATUALIZAR, -22.90, -43.20, id);
+        lidoAntes.setDisponivel(true);
+        motoristaRepository.saveAndFlush(lidoAntes);
+        entityManager.clear();
+
+        // Assert
+        Motorista recarregado = entityManager.find(Motorista.class, id);
+        assertTrue(recarregado.getDisponivel());
+        assertEquals(-22.90, recarregado.getLatitudeAtual(), 1e-9);
+        assertEquals(-43.20, recarregado.getLongitudeAtual(), 1e-9);
+    }
+}
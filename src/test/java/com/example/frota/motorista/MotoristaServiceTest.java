@@ -0,0 +1,115 @@
+package com.example.frota.motorista;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MotoristaServiceTest {
+
+    @Mock
+    private MotoristaRepository motoristaRepository;
+
+    @Mock
+    private IngestaoPosicoes ingestaoPosicoes;
+
+    @Mock
+    private IndiceMotoristasDisponiveis indiceDisponiveis;
+
+    @InjectMocks
+    private MotoristaService motoristaService;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void alterarDisponibilidade_EmTransacao_DeveAtualizarOIndiceSoDepoisDoCommit() {
+        // Arrange
+        Motorista motorista = motorista();
+        when(motoristaRepository.findById(1L)).thenReturn(Optional.of(motorista));
+        when(motoristaRepository.save(motorista)).thenReturn(motorista);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        motoristaService.alterarDisponibilidade(1L, true);
+
+        // Assert
+        verifyNoInteractions(indiceDisponiveis);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(indiceDisponiveis).marcarDisponivel(1L, -23.5, -46.6);
+    }
+
+    @Test
+    void alterarDisponibilidade_EntidadeLidaAntesDoFlush_DeveIndexarAUltimaPosicaoDaIngestao() {
+        // Arrange
+        Motorista motorista = motorista();
+        when(motoristaRepository.findById(1L)).thenReturn(Optional.of(motorista));
+        when(motoristaRepository.save(motorista)).thenReturn(motorista);
+        when(ingestaoPosicoes.ultimaPosicao(1L)).thenReturn(new PosicaoMotorista(1L, -22.9, -47.0, LocalDateTime.now()));
+
+        // Act
+        motoristaService.alterarDisponibilidade(1L, true);
+
+        // Assert
+        verify(indiceDisponiveis).marcarDisponivel(1L, -22.9, -47.0);
+    }
+
+    @Test
+    void salvar_TransacaoDesfeita_NaoDeveAlterarOIndice() {
+        // Arrange
+        Motorista motorista = motorista();
+        motorista.setDisponivel(false);
+        when(motoristaRepository.save(motorista)).thenReturn(motorista);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        motoristaService.salvar(motorista);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+        verifyNoInteractions(indiceDisponiveis);
+    }
+
+    @Test
+    void salvar_SemTransacao_DeveAtualizarOIndiceNaHora() {
+        // Arrange
+        Motorista motorista = motorista();
+        motorista.setDisponivel(false);
+        when(motoristaRepository.save(motorista)).thenReturn(motorista);
+
+        // Act
+        motoristaService.salvar(motorista);
+
+        // Assert
+        verify(indiceDisponiveis).remover(1L);
+    }
+
+    private Motorista motorista() {
+        Motorista motorista = Motorista.builder()
+                .id(1L)
+                .nome("João")
+                .ativo(true)
+                .disponivel(true)
+                .build();
+        motorista.setLatitudeAtual(-23.5);
+        motorista.setLongitudeAtual(-46.6);
+        return motorista;
+    }
+}
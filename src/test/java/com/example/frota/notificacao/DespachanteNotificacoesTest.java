@@ -0,0 +1,90 @@
+package com.example.frota.notificacao;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DespachanteNotificacoesTest {
+
+    @Mock
+    private NotificacaoRepository notificacaoRepository;
+
+    @Mock
+    private EnviadorNotificacao enviador;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private DespachanteNotificacoes despachante;
+
+    @BeforeEach
+    void setUp() {
+        when(enviador.nome()).thenReturn("teste");
+        ReflectionTestUtils.setField(despachante, "enviadores", List.of(enviador));
+        ReflectionTestUtils.setField(despachante, "tipoEnviador", "teste");
+        ReflectionTestUtils.setField(despachante, "maxTentativas", 3);
+        ReflectionTestUtils.setField(despachante, "backoffInicial", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(despachante, "backoffMaximo", Duration.ofMinutes(30));
+        despachante.inicializar();
+    }
+
+    private static Notificacao notificacao(long id, String telefone, String mensagem, String chave) {
+        Notificacao notificacao = new Notificacao(telefone, mensagem, chave, LocalDateTime.now());
+        notificacao.setId(id);
+        return notificacao;
+    }
+
+    @Test
+    void despacharLote_DeveAgruparPorTelefoneEDescartarRepetidas() {
+        // Arrange
+        List<Notificacao> lote = List.of(
+                notificacao(1L, "11999990000", "Produto A a caminho", "a-caminho:1"),
+                notificacao(2L, "11999990000", "Produto A a caminho", "a-caminho:1"),
+                notificacao(3L, "11999990000", "Produto B a caminho", "a-caminho:2"),
+                notificacao(4L, "21988880000", "Produto C a caminho", "a-caminho:3"));
+
+        // Act
+        despachante.despacharLote(lote);
+
+        // Assert
+        verify(enviador).enviar("11999990000", List.of("Produto A a caminho", "Produto B a caminho"));
+        verify(enviador).enviar("21988880000", List.of("Produto C a caminho"));
+        verify(notificacaoRepository).marcar(eq(List.of(1L, 3L)), eq(StatusNotificacao.ENVIADA), any());
+        verify(notificacaoRepository).marcar(eq(List.of(4L)), eq(StatusNotificacao.ENVIADA), any());
+        verify(notificacaoRepository).marcar(eq(List.of(2L)), eq(StatusNotificacao.DESCARTADA), any());
+    }
+
+    @Test
+    void despacharLote_ComFalhaNoEnvio_DeveReagendarComBackoff() {
+        // Arrange
+        Notificacao pendente = notificacao(1L, "11999990000", "Produto A a caminho", null);
+        pendente.setTentativas(2);
+        doThrow(new IllegalStateException("indisponível")).when(enviador).enviar(anyString(), anyList());
+
+        // Act
+        despachante.despacharLote(List.of(pendente));
+
+        // Assert
+        verify(notificacaoRepository).reagendar(eq(List.of(1L)), any(LocalDateTime.class), eq(3));
+        verify(notificacaoRepository, never()).marcar(anyList(), eq(StatusNotificacao.ENVIADA), any());
+        assertEquals(Duration.ofMinutes(2), despachante.backoff(2));
+        assertEquals(Duration.ofMinutes(30), despachante.backoff(10));
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.frota.planejamento;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmpacotadorCargaTest {
+
+    private static final long SEM_PRAZO = Long.MAX_VALUE / 2;
+
+    @Test
+    void empacotar_CaixasQuePreenchemOBau_DeveColocarTodasSemSobreposicao() {
+        // Arrange
+        List<EmpacotadorCarga.Item> itens = new ArrayList<>();
+        for (int i = 1; i <= 12; i++) {
+            itens.add(new EmpacotadorCarga.Item(1L, i, 1.0, 0.5, 0.5, 10));
+        }
+        EmpacotadorCarga empacotador = new EmpacotadorCarga(2.0, 1.5, 1.0, 1_000);
+
+        // Act
+        EmpacotadorCarga.Resultado resultado = empacotador.empacotar(itens, System.nanoTime() + SEM_PRAZO, false);
+
+        // Assert
+        assertTrue(resultado.completo());
+        assertEquals(12, resultado.posicionamentos().size());
+        assertEquals(3.0, resultado.volumeOcupado(), 1e-9);
+        assertValido(resultado.posicionamentos(), 2.0, 1.5, 1.0);
+    }
+
+    @Test
+    void empacotar_ComCaixasAleatorias_DeveRespeitarBauPesoEApoio() {
+        // Arrange
+        Random random = new Random(3);
+        List<EmpacotadorCarga.Item> itens = new ArrayList<>();
+        for (int i = 1; i <= 400; i++) {
+            itens.add(new EmpacotadorCarga.Item((long) i, 1, 0.2 + random.nextDouble() * 0.6,
+                    0.2 + random.nextDouble() * 0.4, 0.2 + random.nextDouble() * 0.5, 1 + random.nextDouble() * 30));
+        }
+        EmpacotadorCarga empacotador = new EmpacotadorCarga(7.0, 2.4, 2.5, 5_000);
+
+        // Act
+        EmpacotadorCarga.Resultado resultado = empacotador.empacotar(itens, System.nanoTime() + SEM_PRAZO, false);
+
+        // Assert
+        assertFalse(resultado.posicionamentos().isEmpty());
+        assertEquals(400, resultado.posicionamentos().size() + resultado.naoAlocados().size());
+        assertTrue(resultado.pesoAlocado() <= 5_000);
+        assertValido(resultado.posicionamentos(), 7.0, 2.4, 2.5);
+    }
+
+    @Test
+    void empacotar_CaixaMaiorQueOBau_DeveFicarDeFora() {
+        // Arrange
+        List<EmpacotadorCarga.Item> itens = List.of(
+                new EmpacotadorCarga.Item(1L, 1, 0.5, 0.5, 0.5, 10),
+                new EmpacotadorCarga.Item(2L, 1, 0.5, 0.5, 3.0, 10));
+        EmpacotadorCarga empacotador = new EmpacotadorCarga(4.0, 2.0, 2.0, 1_000);
+
+        // Act
+        EmpacotadorCarga.Resultado resultado = empacotador.empacotar(itens, System.nanoTime() + SEM_PRAZO, false);
+
+        // Assert
+        assertFalse(resultado.completo());
+        assertEquals(1, resultado.posicionamentos().size());
+        assertEquals(2L, resultado.naoAlocados().get(0).transporteId());
+    }
+
+    @Test
+    void empacotar_PrazoEsgotado_DeveDevolverIncompleto() {
+        // Arrange
+        List<EmpacotadorCarga.Item> itens = List.of(new EmpacotadorCarga.Item(1L, 1, 0.5, 0.5, 0.5, 10));
+        EmpacotadorCarga empacotador = new EmpacotadorCarga(4.0, 2.0, 2.0, 1_000);
+
+        // Act
+        EmpacotadorCarga.Resultado resultado = empacotador.empacotar(itens, System.nanoTime() - 1, false);
+
+        // Assert
+        assertFalse(resultado.completo());
+        assertTrue(resultado.posicionamentos().isEmpty());
+    }
+
+    private static void assertValido(List<Posicionamento> posicionamentos, double comprimento, double largura, double altura) {
+        double epsilon = 1e-9;
+        for (int i = 0; i < posicionamentos.size(); i++) {
+            Posicionamento a = posicionamentos.get(i);
+            assertTrue(a.x() >= -epsilon && a.x() + a.comprimento() <= comprimento + epsilon);
+            assertTrue(a.y() >= -epsilon && a.y() + a.largura() <= largura + epsilon);
+            assertTrue(a.z() >= -epsilon && a.z() + a.altura() <= altura + epsilon);
+            double apoio = 0;
+            for (int j = 0; j < posicionamentos.size(); j++) {
+                Posicionamento b = posicionamentos.get(j);
+                double dx = Math.min(a.x() + a.comprimento(), b.x() + b.comprimento()) - Math.max(a.x(), b.x());
+                double dy = Math.min(a.y() + a.largura(), b.y() + b.largura()) - Math.max(a.y(), b.y());
+                double dz = Math.min(a.z() + a.altura(), b.z() + b.altura()) - Math.max(a.z(), b.z());
+                if (i != j) {
+                    assertFalse(dx > epsilon && dy > epsilon && dz > epsilon, "sobreposição entre " + a + " e " + b);
+                }
+                if (Math.abs(b.z() + b.altura() - a.z()) < epsilon && dx > 0 && dy > 0) {
+                    apoio += dx * dy;
+                }
+            }
+            assertTrue(a.z() < epsilon || apoio >= EmpacotadorCarga.APOIO_MINIMO * a.comprimento() * a.largura() - epsilon,
+                    "caixa sem apoio: " + a);
+        }
+    }
+}
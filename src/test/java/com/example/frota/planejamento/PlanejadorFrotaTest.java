@@ -0,0 +1,91 @@
+package com.example.frota.planejamento;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.frota.caminhao.Caminhao;
+import com.example.frota.transporte.Transporte;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlanejadorFrotaTest {
+
+    private PlanejadorFrota planejador;
+
+    @BeforeEach
+    void setUp() {
+        planejador = new PlanejadorFrota();
+        planejador.inicializar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        planejador.encerrar();
+    }
+
+    @Test
+    void planejar_CargaMaiorQueUmCaminhao_DeveUsarDoisEReduzirOSegundo() {
+        // Arrange
+        List<Caminhao> caminhoes = List.of(caminhao(1L, 2.0), caminhao(2L, 2.0), caminhao(3L, 1.0));
+        List<Transporte> transportes = cubos(9);
+
+        // Act
+        PlanejadorFrota.Solucao solucao = planejador.planejar(transportes, caminhoes, 3, Duration.ofSeconds(5));
+
+        // Assert
+        assertTrue(solucao.naoAlocados().isEmpty());
+        assertEquals(2, solucao.cargas().size());
+        assertTrue(solucao.cargas().stream().anyMatch(c -> c.caminhao().getId() == 3L));
+        Set<Long> alocados = new HashSet<>();
+        solucao.cargas().forEach(c -> c.transportesIds().forEach(id -> assertTrue(alocados.add(id))));
+        assertEquals(9, alocados.size());
+    }
+
+    @Test
+    void planejar_PoucosMotoristas_DeveDevolverOQueNaoCoube() {
+        // Arrange
+        List<Caminhao> caminhoes = List.of(caminhao(1L, 2.0), caminhao(2L, 2.0));
+        List<Transporte> transportes = cubos(9);
+
+        // Act
+        PlanejadorFrota.Solucao solucao = planejador.planejar(transportes, caminhoes, 1, Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals(1, solucao.cargas().size());
+        assertEquals(8, solucao.cargas().get(0).transportesIds().size());
+        assertEquals(1, solucao.naoAlocados().size());
+    }
+
+    private static Caminhao caminhao(Long id, double aresta) {
+        Caminhao caminhao = new Caminhao();
+        caminhao.setId(id);
+        caminhao.setPlaca("ABC000" + id);
+        caminhao.setCargaMaxima(1_000);
+        caminhao.setComprimento(aresta);
+        caminhao.setLargura(aresta);
+        caminhao.setAltura(aresta);
+        return caminhao;
+    }
+
+    private static List<Transporte> cubos(int quantidade) {
+        List<Transporte> transportes = new ArrayList<>();
+        for (int i = 1; i <= quantidade; i++) {
+            Transporte transporte = new Transporte();
+            transporte.setId((long) i);
+            transporte.setComprimento(1.0);
+            transporte.setLargura(1.0);
+            transporte.setAltura(1.0);
+            transporte.setPeso(10);
+            transporte.setQuantidade(1);
+            transportes.add(transporte);
+        }
+        return transportes;
+    }
+}
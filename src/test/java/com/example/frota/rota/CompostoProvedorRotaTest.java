@@ -0,0 +1,90 @@
+package com.example.frota.rota;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CompostoProvedorRotaTest {
+
+    @Mock
+    private ProvedorRota local;
+
+    @Mock
+    private ProvedorRota remoto;
+
+    @Mock
+    private RotaCache cache;
+
+    private final List<Runnable> refinamentos = new ArrayList<>();
+
+    private CompostoProvedorRota provedor;
+
+    @BeforeEach
+    void setUp() {
+        Executor executorManual = refinamentos::add;
+        provedor = new CompostoProvedorRota(local, remoto, executorManual, cache);
+    }
+
+    @Test
+    void calcularMatriz_ParesSemEstimativa_NaoDevemSerRefinadosDeNovo() {
+        // Arrange: A->Y não tem estimativa local
+        Rota estimada = new Rota(10.0, 0.0);
+        when(local.calcularMatriz(List.of("A", "B"), List.of("X", "Y")))
+                .thenReturn(new Rota[][] {{estimada, null}, {estimada, estimada}});
+        when(remoto.calcularMatriz(anyList(), anyList()))
+                .thenAnswer(inv -> matriz(inv.<List<String>>getArgument(0).size(), inv.<List<String>>getArgument(1).size()));
+
+        // Act
+        Rota[][] resultado = provedor.calcularMatriz(List.of("A", "B"), List.of("X", "Y"));
+        refinamentos.forEach(Runnable::run);
+
+        // Assert
+        assertNotNull(resultado[0][1]);
+        verify(remoto).calcularMatriz(List.of("A"), List.of("Y"));
+        verify(remoto).calcularMatriz(List.of("A"), List.of("X"));
+        verify(remoto).calcularMatriz(List.of("B"), List.of("X", "Y"));
+        verifyNoMoreInteractions(remoto);
+    }
+
+    @Test
+    void calcular_ParJaEmRefinamentoPelaMatriz_NaoDeveDispararOutroRefinamento() {
+        // Arrange
+        Rota estimada = new Rota(10.0, 0.0);
+        when(local.calcularMatriz(List.of("A", "B"), List.of("X")))
+                .thenReturn(new Rota[][] {{estimada}, {estimada}});
+        when(local.calcular("A", "X")).thenReturn(Optional.of(estimada));
+        when(remoto.calcularMatriz(anyList(), anyList())).thenReturn(matriz(2, 1));
+
+        // Act
+        provedor.calcularMatriz(List.of("A", "B"), List.of("X"));
+        Optional<Rota> rota = provedor.calcular("A", "X");
+        refinamentos.forEach(Runnable::run);
+
+        // Assert
+        assertEquals(Optional.of(estimada), rota);
+        assertEquals(1, refinamentos.size());
+        verify(remoto, times(1)).calcularMatriz(List.of("A", "B"), List.of("X"));
+        verify(cache, times(2)).armazenar(anyString(), eq("X"), any(Rota.class));
+    }
+
+    private static Rota[][] matriz(int origens, int destinos) {
+        Rota[][] matriz = new Rota[origens][destinos];
+        for (Rota[] linha : matriz) {
+            Arrays.fill(linha, new Rota(12.0, 1.0));
+        }
+        return matriz;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.frota.rota;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalProvedorRotaTest {
+
+    private LocalProvedorRota provedor;
+
+    @BeforeEach
+    void setUp() {
+        provedor = new LocalProvedorRota();
+        ReflectionTestUtils.setField(provedor, "fatorCircuito", 1.3);
+        ReflectionTestUtils.setField(provedor, "distanciaMinimaKm", 10.0);
+        ReflectionTestUtils.setField(provedor, "pedagioPorKm", 0.20);
+        provedor.carregarTabelas();
+    }
+
+    @Test
+    void calcular_EntreCapitais_DeveAplicarFatorDeCircuito() {
+        // Act
+        Optional<Rota> rota = provedor.calcular("Av. Paulista, 1000 - São Paulo, SP", "Rio de Janeiro, RJ");
+
+        // Assert
+        assertTrue(rota.isPresent());
+        double linhaReta = LocalProvedorRota.haversineKm(-23.5505, -46.6333, -22.9068, -43.1729);
+        assertEquals(linhaReta * 1.3, rota.get().distanciaKm(), 0.001);
+        assertTrue(rota.get().pedagio() <= 100.0);
+    }
+
+    @Test
+    void calcular_ComApenasCep_DeveUsarCentroideDaUf() {
+        // Act
+        Optional<Rota> rota = provedor.calcular("Rua X, 10, 13083-970", "Rua Y, 20, 80010-000");
+
+        // Assert: SP (São Paulo) -> PR (Curitiba)
+        assertTrue(rota.isPresent());
+        double linhaReta = LocalProvedorRota.haversineKm(-23.5505, -46.6333, -25.4284, -49.2733);
+        assertEquals(linhaReta * 1.3, rota.get().distanciaKm(), 0.001);
+    }
+
+    @Test
+    void calcular_NaMesmaCidade_DeveRespeitarDistanciaMinima() {
+        // Act
+        Optional<Rota> rota = provedor.calcular("Rua A, 100, Campinas - SP", "Rua B, 200, Campinas - SP");
+
+        // Assert
+        assertTrue(rota.isPresent());
+        assertEquals(10.0, rota.get().distanciaKm(), 0.001);
+    }
+
+    @Test
+    void calcular_ComEnderecoDesconhecido_DeveRetornarVazio() {
+        // Act
+        Optional<Rota> rota = provedor.calcular("Rua A, 100", "Rua B, 200");
+
+        // Assert
+        assertTrue(rota.isEmpty());
+    }
+}
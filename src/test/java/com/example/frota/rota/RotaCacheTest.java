@@ -0,0 +1,69 @@
+package com.example.frota.rota;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RotaCacheTest {
+
+    private AtomicLong relogio;
+    private RotaCache cache;
+
+    @BeforeEach
+    void setUp() {
+        relogio = new AtomicLong();
+        cache = new RotaCache(2, Duration.ofMinutes(10), relogio::get);
+    }
+
+    @Test
+    void buscar_ComEnderecoNormalizado_DeveRetornarMesmaRota() {
+        // Arrange
+        Rota rota = new Rota(430.0, 50.0);
+        cache.armazenar("São Paulo, SP", "Rio de Janeiro, RJ", rota);
+
+        // Act
+        Rota resultado = cache.buscar("  sao paulo,   sp ", "RIO DE JANEIRO, RJ");
+
+        // Assert
+        assertEquals(rota, resultado);
+        assertEquals(1, cache.estatisticas().acertos());
+        assertEquals(0, cache.estatisticas().falhas());
+    }
+
+    @Test
+    void buscar_ComEntradaExpirada_DeveRetornarNull() {
+        // Arrange
+        cache.armazenar("A", "B", new Rota(10.0, 2.0));
+        relogio.addAndGet(Duration.ofMinutes(11).toNanos());
+
+        // Act
+        Rota resultado = cache.buscar("A", "B");
+
+        // Assert
+        assertNull(resultado);
+        assertEquals(1, cache.estatisticas().falhas());
+        assertEquals(1, cache.estatisticas().remocoes());
+        assertEquals(0, cache.tamanho());
+    }
+
+    @Test
+    void armazenar_AcimaDaCapacidade_DeveRemoverMenosUsada() {
+        // Arrange
+        cache.armazenar("A", "B", new Rota(10.0, 2.0));
+        cache.armazenar("C", "D", new Rota(20.0, 4.0));
+        cache.buscar("A", "B"); // A|B passa a ser a mais recente
+
+        // Act
+        cache.armazenar("E", "F", new Rota(30.0, 6.0));
+
+        // Assert
+        assertNotNull(cache.buscar("A", "B"));
+        assertNull(cache.buscar("C", "D"));
+        assertEquals(2, cache.tamanho());
+        assertEquals(1, cache.estatisticas().remocoes());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.frota.transporte;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalculadoraFreteTest {
+
+    private static double arredondarComBigDecimal(double valor) {
+        return BigDecimal.valueOf(valor).setScale(2, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    @Test
+    void paraCentavos_ValoresNaMetadeDoCentavo_DeveArredondarComoBigDecimal() {
+        // Arrange
+        double[] valores = {0.125, 1.005, 2.675, 1.115, 10.245, 0.285, 1234.565, 0.0, 99.995};
+
+        for (double valor : valores) {
+            // Act
+            double resultado = CalculadoraFrete.paraCentavos(valor) / 100.0;
+
+            // Assert
+            assertEquals(arredondarComBigDecimal(valor), resultado, "valor " + valor);
+        }
+    }
+
+    @Test
+    void calcular_ComValoresAleatorios_DeveManterArredondamentoDoBigDecimal() {
+        // Arrange
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            double pesoReal = random.nextDouble() * 500;
+            double pesoCubado = random.nextDouble() * 500;
+            int caixas = random.nextInt(50);
+            double distancia = random.nextDouble() * 3000;
+            double pedagio = random.nextDouble() * 150;
+            double valorPorKm = Math.round(random.nextDouble() * 1000) / 100.0;
+
+            double pesoConsiderado = Math.max(pesoReal, pesoCubado);
+            double pedagioLimitado = Math.min(pedagio, 100.0);
+            double esperado = arredondarComBigDecimal(Math.max(
+                    pesoConsiderado * 1.0 + valorPorKm * distancia + pedagioLimitado,
+                    caixas * 10.0 + valorPorKm * distancia + pedagioLimitado));
+
+            // Act
+            double resultado = CalculadoraFrete.calcular(pesoReal, pesoCubado, caixas, distancia, pedagio,
+                    valorPorKm, 10.0, 1.0);
+
+            // Assert
+            assertEquals(esperado, resultado);
+        }
+    }
+}
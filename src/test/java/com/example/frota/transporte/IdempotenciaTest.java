@@ -0,0 +1,125 @@
+package com.example.frota.transporte;
+
+import com.example.frota.errors.IdempotenciaEmAndamentoException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotenciaTest {
+
+    @Mock
+    private ChaveIdempotenciaRepository chaveIdempotenciaRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @InjectMocks
+    private Idempotencia idempotencia;
+
+    // Tabela chave_idempotencia: a chave primária rejeita a segunda reserva
+    private final ConcurrentHashMap<String, ChaveIdempotencia> tabela = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(chaveIdempotenciaRepository.findById(anyString()))
+                .thenAnswer(inv -> Optional.ofNullable(tabela.get(inv.<String>getArgument(0))));
+        lenient().when(chaveIdempotenciaRepository.saveAndFlush(any())).thenAnswer(inv -> {
+            ChaveIdempotencia chave = inv.getArgument(0);
+            if (tabela.putIfAbsent(chave.getChave(), chave) != null) {
+                throw new DataIntegrityViolationException("Duplicate entry " + chave.getChave());
+            }
+            return chave;
+        });
+        lenient().when(chaveIdempotenciaRepository.save(any())).thenAnswer(inv -> {
+            ChaveIdempotencia chave = inv.getArgument(0);
+            tabela.put(chave.getChave(), chave);
+            return chave;
+        });
+    }
+
+    @Test
+    void executar_DuasRequisicoesConcorrentesComAMesmaChave_DeveExecutarAAlteracaoUmaVez() throws Exception {
+        // Arrange
+        AtomicInteger execucoes = new AtomicInteger();
+        CountDownLatch primeiraExecutando = new CountDownLatch(1);
+        CountDownLatch liberarPrimeira = new CountDownLatch(1);
+        Supplier<DetalheTransporteDto> acao = () -> {
+            execucoes.incrementAndGet();
+            primeiraExecutando.countDown();
+            try {
+                liberarPrimeira.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return transporte();
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // Act
+            Future<Idempotencia.Resultado> primeira = executor.submit(
+                    () -> idempotencia.executar("chave-1", "PUT /transporte/1/status/ENTREGUE", acao));
+            assertTrue(primeiraExecutando.await(5, TimeUnit.SECONDS));
+            Future<Idempotencia.Resultado> segunda = executor.submit(
+                    () -> idempotencia.executar("chave-1", "PUT /transporte/1/status/ENTREGUE", acao));
+            Exception erroSegunda = assertThrows(Exception.class, () -> segunda.get(5, TimeUnit.SECONDS));
+            liberarPrimeira.countDown();
+            Idempotencia.Resultado resultadoPrimeira = primeira.get(5, TimeUnit.SECONDS);
+            Idempotencia.Resultado repeticao = idempotencia.executar("chave-1", "PUT /transporte/1/status/ENTREGUE", acao);
+
+            // Assert
+            assertInstanceOf(IdempotenciaEmAndamentoException.class, erroSegunda.getCause());
+            assertEquals(1, execucoes.get());
+            assertFalse(resultadoPrimeira.repetida());
+            assertTrue(repeticao.repetida());
+            assertEquals(resultadoPrimeira.transporte().id(), repeticao.transporte().id());
+        } finally {
+            liberarPrimeira.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void executar_AlteracaoFalha_DeveLiberarAChave() {
+        // Arrange
+        doAnswer(inv -> tabela.remove(inv.<String>getArgument(0))).when(chaveIdempotenciaRepository).deleteById(anyString());
+
+        // Act
+        assertThrows(IllegalArgumentException.class, () -> idempotencia.executar("chave-2", "PUT /transporte/1/status/ENTREGUE",
+                () -> { throw new IllegalArgumentException("Transição inválida"); }));
+        Idempotencia.Resultado novaTentativa = idempotencia.executar("chave-2", "PUT /transporte/1/status/ENTREGUE",
+                this::transporte);
+
+        // Assert
+        assertFalse(novaTentativa.repetida());
+        assertFalse(tabela.get("chave-2").emAndamento());
+    }
+
+    private DetalheTransporteDto transporte() {
+        return new DetalheTransporteDto(1L, "Produto", null, 1L, "Cliente", 1L, "Transportadora",
+                1.0, 1.0, 1.0, 10.0, 1, "Origem", "Destino", 100.0,
+                "ENTREGUE", "ENTREGUE", "ENTREGUE", null, "PAGO", 2L);
+    }
+}
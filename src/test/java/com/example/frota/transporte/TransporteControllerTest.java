@@ -0,0 +1,24 @@
+package com.example.frota.transporte;
+
+import com.example.frota.errors.TransporteVersaoException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransporteControllerTest {
+
+    @Test
+    void versaoDoIfMatch_EtagForte_DeveDevolverAVersao() {
+        // Act
+        Long versao = TransporteController.versaoDoIfMatch("\"3\"");
+
+        // Assert
+        assertEquals(3L, versao);
+    }
+
+    @Test
+    void versaoDoIfMatch_EtagFraca_DeveFalharAPrecondicao() {
+        // Act & Assert
+        assertThrows(TransporteVersaoException.class, () -> TransporteController.versaoDoIfMatch("W/\"3\""));
+    }
+}
@@ -4,21 +4,36 @@ import com.example.frota.cliente.Cliente;
 import com.example.frota.transportadora.Transportadora;
 import com.example.frota.caixa.Caixa;
 import com.example.frota.cliente.ClienteService;
+import com.example.frota.transportadora.TransportadoraRepository;
 import com.example.frota.transportadora.TransportadoraService;
 import com.example.frota.caixa.CaixaService;
 import com.example.frota.errors.TransporteNotFoundException;
+import com.example.frota.errors.TransporteStatusException;
+import com.example.frota.errors.TransporteVersaoException;
+import com.example.frota.rota.Rota;
+import com.example.frota.rota.RotaService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -39,6 +54,24 @@ class TransporteServiceTest {
     @Mock
     private CaixaService caixaService;
 
+    @Mock
+    private RotaService rotaService;
+
+    @Mock
+    private TransportadoraRepository transportadoraRepository;
+
+    @Mock
+    private TarifarioTransportadoras tarifario;
+
+    @Mock
+    private MetricasCotacao metricasCotacao;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private TransporteService transporteService;
 
@@ -144,7 +177,7 @@ class TransporteServiceTest {
     @Test
     void procurarTodos_DeveRetornarLista() {
         // Arrange
-        when(transporteRepository.findAllWithCaixa()).thenReturn(Arrays.asList(transporte));
+        when(transporteRepository.findAllDetalhes()).thenReturn(Arrays.asList(new DetalheTransporteDto(transporte)));
 
         // Act
         List<DetalheTransporteDto> resultado = transporteService.procurarTodos();
@@ -152,20 +185,37 @@ class TransporteServiceTest {
         // Assert
         assertNotNull(resultado);
         assertEquals(1, resultado.size());
-        verify(transporteRepository).findAllWithCaixa();
+        verify(transporteRepository).findAllDetalhes();
+    }
+
+    @Test
+    void listarPagina_ComMaisResultados_DeveRetornarProximoCursor() {
+        // Arrange
+        Transporte outro = new Transporte();
+        outro.setId(2L);
+        FiltroTransporte filtro = new FiltroTransporte(StatusEntrega.SOLICITADO, null, null);
+        when(transporteRepository.findPagina(eq(0L), eq(StatusEntrega.SOLICITADO), isNull(), isNull(), any()))
+                .thenReturn(Arrays.asList(new DetalheTransporteDto(transporte), new DetalheTransporteDto(outro)));
+
+        // Act
+        PaginaTransporteDto resultado = transporteService.listarPagina(filtro, null, 1);
+
+        // Assert
+        assertEquals(1, resultado.transportes().size());
+        assertEquals(1L, resultado.proximoCursor());
     }
 
     @Test
     void procurarPorId_ComIdExistente_DeveRetornarTransporte() {
         // Arrange
-        when(transporteRepository.findByIdWithCaixa(1L)).thenReturn(Optional.of(transporte));
+        when(transporteRepository.findDetalheById(1L)).thenReturn(Optional.of(new DetalheTransporteDto(transporte)));
 
         // Act
         Optional<DetalheTransporteDto> resultado = transporteService.procurarPorId(1L);
 
         // Assert
         assertTrue(resultado.isPresent());
-        verify(transporteRepository).findByIdWithCaixa(1L);
+        verify(transporteRepository).findDetalheById(1L);
     }
 
     @Test
@@ -176,6 +226,7 @@ class TransporteServiceTest {
         int numeroCaixas = 1;
         String origem = "São Paulo, SP";
         String destino = "Rio de Janeiro, RJ";
+        when(rotaService.calcular(origem, destino)).thenReturn(new Rota(430.0, 50.0));
 
         // Act
         double resultado = transporteService.calcularFrete(pesoReal, pesoCubado, numeroCaixas, origem, destino);
@@ -183,4 +234,149 @@ class TransporteServiceTest {
         // Assert
         assertTrue(resultado > 0);
     }
-}
\ No newline at end of file
+
+    @Test
+    void procurarDisponiveis_ComVariasTransportadoras_DeveResolverRotaUmaVez() {
+        // Arrange
+        Transportadora outra = new Transportadora();
+        outra.setId(2L);
+        outra.setNome("Rápido Cargas");
+        outra.setAtivo(true);
+        when(tarifario.atual()).thenReturn(TabelaTarifas.de(Arrays.asList(transportadora, outra), 5.0, 10.0, 1.0));
+        when(rotaService.calcular("Rua A, 100", "Rua B, 200")).thenReturn(new Rota(100.0, 10.0));
+
+        // Act
+        List<TransportadoraFreteDto> resultado = transporteService.procurarDisponiveis(
+                10.0, 0.5, 0.4, 0.3, 2, "Rua A, 100", "Rua B, 200");
+
+        // Assert
+        assertEquals(2, resultado.size());
+        assertTrue(resultado.get(0).valorFrete() <= resultado.get(1).valorFrete());
+        verify(rotaService, times(1)).calcular("Rua A, 100", "Rua B, 200");
+    }
+
+    @Test
+    void procurarDisponiveisAsync_DentroDoPrazo_DeveRetornarCotacaoCompleta() {
+        // Arrange
+        Executor executorDireto = Runnable::run;
+        ReflectionTestUtils.setField(transporteService, "cotacaoExecutor", executorDireto);
+        ReflectionTestUtils.setField(transporteService, "paralelismoCotacao", 2);
+        when(tarifario.atual()).thenReturn(TabelaTarifas.de(Arrays.asList(transportadora), 5.0, 10.0, 1.0));
+        when(rotaService.calcular("Rua A, 100", "Rua B, 200")).thenReturn(new Rota(100.0, 10.0));
+
+        // Act
+        CotacaoFreteDto resultado = transporteService.procurarDisponiveisAsync(
+                10.0, 0.5, 0.4, 0.3, 2, "Rua A, 100", "Rua B, 200", Duration.ofSeconds(5)).join();
+
+        // Assert
+        assertTrue(resultado.completa());
+        assertEquals(1, resultado.transportadoras().size());
+        assertTrue(resultado.transportadorasPendentes().isEmpty());
+        verify(metricasCotacao).registrarAssincrona(anyLong(), eq(1), eq(true));
+    }
+
+    @Test
+    void procurarDisponiveisAsync_PoolSemCapacidade_DeveRetornarTodasPendentes() {
+        // Arrange
+        Executor executorCheio = tarefa -> { throw new TaskRejectedException("Fila de cotação cheia"); };
+        ReflectionTestUtils.setField(transporteService, "cotacaoExecutor", executorCheio);
+        ReflectionTestUtils.setField(transporteService, "paralelismoCotacao", 2);
+        when(tarifario.atual()).thenReturn(TabelaTarifas.de(Arrays.asList(transportadora), 5.0, 10.0, 1.0));
+
+        // Act
+        CotacaoFreteDto resultado = transporteService.procurarDisponiveisAsync(
+                10.0, 0.5, 0.4, 0.3, 2, "Rua A, 100", "Rua B, 200", Duration.ofSeconds(5)).join();
+
+        // Assert
+        assertFalse(resultado.completa());
+        assertTrue(resultado.transportadoras().isEmpty());
+        assertEquals(List.of(1L), resultado.transportadorasPendentes());
+        verify(rotaService, never()).calcular(anyString(), anyString());
+    }
+
+    @Test
+    void procurarDisponiveisAsync_PrecificacaoRejeitada_DeveRetornarFaixaPendente() {
+        // Arrange
+        AtomicInteger submetidas = new AtomicInteger();
+        Executor executorSoARota = tarefa -> {
+            if (submetidas.incrementAndGet() > 1) {
+                throw new TaskRejectedException("Fila de cotação cheia");
+            }
+            tarefa.run();
+        };
+        ReflectionTestUtils.setField(transporteService, "cotacaoExecutor", executorSoARota);
+        ReflectionTestUtils.setField(transporteService, "paralelismoCotacao", 2);
+        when(tarifario.atual()).thenReturn(TabelaTarifas.de(Arrays.asList(transportadora), 5.0, 10.0, 1.0));
+        when(rotaService.calcular("Rua A, 100", "Rua B, 200")).thenReturn(new Rota(100.0, 10.0));
+
+        // Act
+        CotacaoFreteDto resultado = transporteService.procurarDisponiveisAsync(
+                10.0, 0.5, 0.4, 0.3, 2, "Rua A, 100", "Rua B, 200", Duration.ofSeconds(5)).join();
+
+        // Assert
+        assertFalse(resultado.completa());
+        assertEquals(List.of(1L), resultado.transportadorasPendentes());
+    }
+
+    @Test
+    void transicionarStatusEmLote_TodosNoStatusEsperado_DeveUsarUmUnicoUpdate() {
+        // Arrange
+        when(transporteRepository.transicionarStatus(List.of(1L), StatusEntrega.SOLICITADO,
+                StatusEntrega.COLETA, StatusEntrega.COLETA)).thenReturn(1);
+
+        // Act
+        transporteService.transicionarStatusEmLote(List.of(transporte), StatusEntrega.SOLICITADO, StatusEntrega.COLETA);
+
+        // Assert
+        verify(transporteRepository, never()).save(any(Transporte.class));
+        verify(transporteRepository, never()).findIdsComStatus(anyCollection(), any());
+        verify(eventPublisher).publishEvent(any(StatusTransporteAlteradoEvent.class));
+    }
+
+    @Test
+    void transicionarStatusEmLote_ComTransporteForaDoStatus_DeveLancarExcecaoComConflitos() {
+        // Arrange
+        Transporte outro = new Transporte();
+        outro.setId(2L);
+        when(transporteRepository.transicionarStatus(List.of(1L, 2L), StatusEntrega.SOLICITADO,
+                StatusEntrega.COLETA, StatusEntrega.COLETA)).thenReturn(1);
+        when(transporteRepository.findIdsComStatus(List.of(1L, 2L), StatusEntrega.COLETA)).thenReturn(List.of(1L));
+
+        // Act & Assert
+        TransporteStatusException excecao = assertThrows(TransporteStatusException.class, () ->
+                transporteService.transicionarStatusEmLote(List.of(transporte, outro),
+                        StatusEntrega.SOLICITADO, StatusEntrega.COLETA));
+        assertEquals(List.of(2L), excecao.getTransportesIds());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void atualizarStatusMotorista_ComVersaoDesatualizada_DeveLancarExcecao() {
+        // Arrange
+        transporte.setVersao(4L);
+        when(transporteRepository.findById(1L)).thenReturn(Optional.of(transporte));
+
+        // Act & Assert
+        assertThrows(TransporteVersaoException.class,
+                () -> transporteService.atualizarStatusMotorista(1L, StatusEntrega.ENTREGUE, 3L));
+        verify(transporteRepository, never()).save(any(Transporte.class));
+    }
+
+    @Test
+    void atualizarStatusCliente_ComConflitoDeVersaoSemIfMatch_DeveTentarNovamente() {
+        // Arrange
+        when(transporteRepository.findById(1L)).thenReturn(Optional.of(transporte));
+        when(transporteRepository.save(any(Transporte.class))).thenReturn(transporte);
+        doThrow(new ObjectOptimisticLockingFailureException(Transporte.class, 1L))
+                .doNothing()
+                .when(transporteRepository).flush();
+
+        // Act
+        DetalheTransporteDto resultado = transporteService.atualizarStatusCliente(1L, StatusEntrega.ENTREGUE);
+
+        // Assert
+        assertEquals("ENTREGUE", resultado.statusCliente());
+        verify(transporteRepository, times(2)).findById(1L);
+        verify(eventPublisher, times(1)).publishEvent(any(StatusTransporteAlteradoEvent.class));
+    }
+}
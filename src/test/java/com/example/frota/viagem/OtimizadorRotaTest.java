@@ -0,0 +1,85 @@
+package com.example.frota.viagem;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OtimizadorRotaTest {
+
+    private static final long SEM_PRAZO = Long.MAX_VALUE / 2;
+
+    @Test
+    void otimizar_ParadasEmLinha_DeveSeguirALinhaColetandoAntesDeEntregar() {
+        // Arrange: endereços nos km 0, 10, 20 e 30 de uma estrada
+        double[] km = {0, 10, 20, 30};
+        double[][] distancias = distanciasEmLinha(km);
+        List<OtimizadorRota.Parada> paradas = List.of(
+                new OtimizadorRota.Parada(1L, TipoParada.COLETA, 0),
+                new OtimizadorRota.Parada(1L, TipoParada.ENTREGA, 3),
+                new OtimizadorRota.Parada(2L, TipoParada.COLETA, 1),
+                new OtimizadorRota.Parada(2L, TipoParada.ENTREGA, 2));
+
+        // Act
+        OtimizadorRota.Resultado resultado = OtimizadorRota.otimizar(distancias, paradas, System.nanoTime() + SEM_PRAZO);
+
+        // Assert
+        assertEquals(30.0, resultado.distancia(), 1e-9);
+        assertArrayEquals(new int[] {0, 2, 3, 1}, resultado.ordem());
+    }
+
+    @Test
+    void otimizar_ComParadasAleatorias_DeveRespeitarPrecedenciaENaoPiorarOInicial() {
+        // Arrange
+        Random random = new Random(5);
+        int enderecos = 60;
+        double[][] pontos = new double[enderecos][];
+        for (int i = 0; i < enderecos; i++) {
+            pontos[i] = new double[] {random.nextDouble() * 100, random.nextDouble() * 100};
+        }
+        double[][] distancias = new double[enderecos][enderecos];
+        for (int i = 0; i < enderecos; i++) {
+            for (int j = 0; j < enderecos; j++) {
+                distancias[i][j] = Math.hypot(pontos[i][0] - pontos[j][0], pontos[i][1] - pontos[j][1]);
+            }
+        }
+        List<OtimizadorRota.Parada> paradas = new ArrayList<>();
+        for (long t = 0; t < 30; t++) {
+            paradas.add(new OtimizadorRota.Parada(t, TipoParada.COLETA, random.nextInt(enderecos)));
+            paradas.add(new OtimizadorRota.Parada(t, TipoParada.ENTREGA, random.nextInt(enderecos)));
+        }
+
+        // Act
+        OtimizadorRota.Resultado resultado = OtimizadorRota.otimizar(distancias, paradas, System.nanoTime() + SEM_PRAZO);
+
+        // Assert
+        int[] ordem = resultado.ordem();
+        assertEquals(paradas.size(), ordem.length);
+        int[] posicao = new int[ordem.length];
+        for (int k = 0; k < ordem.length; k++) {
+            posicao[ordem[k]] = k;
+        }
+        for (int p = 0; p < paradas.size(); p += 2) {
+            assertTrue(posicao[p] < posicao[p + 1], "entrega antes da coleta do transporte " + paradas.get(p).transporteId());
+        }
+        double custo = 0;
+        for (int k = 0; k + 1 < ordem.length; k++) {
+            custo += distancias[paradas.get(ordem[k]).local()][paradas.get(ordem[k + 1]).local()];
+        }
+        assertEquals(custo, resultado.distancia(), 1e-6);
+        assertTrue(resultado.distancia() <= resultado.distanciaInicial() + 1e-9);
+    }
+
+    private static double[][] distanciasEmLinha(double[] km) {
+        double[][] distancias = new double[km.length][km.length];
+        for (int i = 0; i < km.length; i++) {
+            for (int j = 0; j < km.length; j++) {
+                distancias[i][j] = Math.abs(km[i] - km[j]);
+            }
+        }
+        return distancias;
+    }
+}
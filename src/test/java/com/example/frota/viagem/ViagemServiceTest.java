@@ -0,0 +1,71 @@
+package com.example.frota.viagem;
+
+import com.example.frota.errors.ViagemNotFoundException;
+import com.example.frota.rota.Rota;
+import com.example.frota.rota.RotaService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ViagemServiceTest {
+
+    @Mock
+    private ViagemRepository viagemRepository;
+
+    @Mock
+    private RotaService rotaService;
+
+    @InjectMocks
+    private ViagemService viagemService;
+
+    @BeforeEach
+    void setUp() {
+        Executor executorDireto = Runnable::run;
+        ReflectionTestUtils.setField(viagemService, "roteirizacaoExecutor", executorDireto);
+        ReflectionTestUtils.setField(viagemService, "prazoRoteirizacao", Duration.ofSeconds(1));
+    }
+
+    @Test
+    void otimizarItinerarios_ViagemSemTransportes_DeveRetornarItinerarioVazioNaOrdemPedida() {
+        // Arrange
+        when(viagemRepository.findIdsExistentes(List.of(2L, 1L))).thenReturn(List.of(1L, 2L));
+        when(viagemRepository.findTransportesDasViagens(List.of(2L, 1L))).thenReturn(List.of(
+                new TransporteDaViagemDto(1L, 10L, "Rua A, 100", "Rua B, 200")));
+        Rota[][] rotas = {{new Rota(0, 0), new Rota(12.0, 0)}, {new Rota(12.0, 0), new Rota(0, 0)}};
+        when(rotaService.calcularMatriz(anyList(), anyList())).thenReturn(rotas);
+
+        // Act
+        List<ItinerarioViagem> itinerarios = viagemService.otimizarItinerarios(List.of(2L, 1L, 2L));
+
+        // Assert
+        assertEquals(List.of(2L, 1L), itinerarios.stream().map(ItinerarioViagem::viagemId).toList());
+        assertTrue(itinerarios.get(0).paradas().isEmpty());
+        assertEquals(2, itinerarios.get(1).paradas().size());
+        assertEquals(12.0, itinerarios.get(1).distanciaTotalKm(), 1e-9);
+    }
+
+    @Test
+    void otimizarItinerarios_ComIdInexistente_DeveLancarExcecaoComOsIds() {
+        // Arrange
+        when(viagemRepository.findIdsExistentes(List.of(1L, 8L, 9L))).thenReturn(List.of(1L));
+
+        // Act & Assert
+        ViagemNotFoundException excecao = assertThrows(ViagemNotFoundException.class,
+                () -> viagemService.otimizarItinerarios(List.of(1L, 8L, 9L)));
+        assertTrue(excecao.getMessage().contains("[8, 9]"));
+        verify(viagemRepository, never()).findTransportesDasViagens(anyList());
+    }
+}